@@ -16,6 +16,8 @@
 package eu.solven.cleanthat.engine;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import com.google.common.base.MoreObjects;
@@ -23,7 +25,6 @@ import com.google.common.base.MoreObjects;
 import eu.solven.cleanthat.formatter.ILintFixer;
 import eu.solven.cleanthat.language.IEngineProperties;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -34,12 +35,27 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 @Getter
-@RequiredArgsConstructor
 public class EngineAndLinters implements AutoCloseable {
 
 	final IEngineProperties engineProperties;
 	final List<ILintFixer> linters;
 
+	// The contents of the configuration files loaded while preparing the linters (e.g. a Spotless yaml), by path. An
+	// empty content means the file does not exist.
+	final Map<String, Optional<String>> configContents;
+
+	public EngineAndLinters(IEngineProperties engineProperties,
+			List<ILintFixer> linters,
+			Map<String, Optional<String>> configContents) {
+		this.engineProperties = engineProperties;
+		this.linters = linters;
+		this.configContents = configContents;
+	}
+
+	public EngineAndLinters(IEngineProperties engineProperties, List<ILintFixer> linters) {
+		this(engineProperties, linters, Map.of());
+	}
+
 	@Override
 	public String toString() {
 		var builder = MoreObjects.toStringHelper(this).add("engine", engineProperties.getEngine());
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import eu.solven.cleanthat.engine.java.eclipse.EclipseJavaFormatter;
+import eu.solven.cleanthat.engine.java.eclipse.EclipseJavaFormatterConfiguration;
+
+/**
+ * Benchmarks {@link EclipseJavaFormatter}. It is compiled only with the `eclipse` Maven profile, as `java-eclipse`
+ * relies on a dedicated repository.
+ *
+ * @author Benoit Lacelle
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EclipseJavaFormatterBenchmark {
+
+	@Param({ BenchmarkCorpus.CORPUS_CASES, BenchmarkCorpus.CORPUS_SYNTHETIC })
+	public String corpus;
+
+	EclipseJavaFormatter formatter;
+
+	final List<String> inputs = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		var configuration = EclipseJavaFormatterConfiguration
+				.loadResource(new ClassPathResource("/eclipse/pepper-eclipse-code-formatter.xml"));
+		formatter = new EclipseJavaFormatter(configuration);
+
+		inputs.addAll(BenchmarkCorpus.load(corpus).values());
+	}
+
+	@Benchmark
+	public void doFormat(Blackhole blackhole) throws IOException {
+		for (var input : inputs) {
+			blackhole.consume(formatter.doFormat(input));
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * The source files processed by the benchmarks. The corpus is either the cases used to test each mutator (see
+ * `refactorer-test-helpers`), or a synthetic large file. The synthetic file is deterministic, so results are comparable
+ * from one run to another.
+ *
+ * @author Benoit Lacelle
+ */
+public final class BenchmarkCorpus {
+	public static final String CORPUS_CASES = "cases";
+	public static final String CORPUS_SYNTHETIC = "synthetic";
+
+	// A file of ~2.5k lines, which is larger than most human-written files
+	public static final int SYNTHETIC_NB_METHODS = 100;
+
+	private BenchmarkCorpus() {
+		// hidden
+	}
+
+	/**
+	 * 
+	 * @param corpus
+	 *            either {@link #CORPUS_CASES} or {@link #CORPUS_SYNTHETIC}
+	 * @return a {@link Map} from the fileName to the file content
+	 */
+	public static Map<String, String> load(String corpus) {
+		if (CORPUS_CASES.equals(corpus)) {
+			return loadCases();
+		} else if (CORPUS_SYNTHETIC.equals(corpus)) {
+			return Map.of("SyntheticLargeClass.java", makeSyntheticClass(SYNTHETIC_NB_METHODS));
+		} else {
+			throw new IllegalArgumentException("Unknown corpus: " + corpus);
+		}
+	}
+
+	public static Map<String, String> loadCases() {
+		Resource[] resources;
+		try {
+			resources = new PathMatchingResourcePatternResolver().getResources("classpath*:/benchmarks/cases/*.java");
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		if (resources.length == 0) {
+			throw new IllegalStateException("No case has been packaged. The build is broken");
+		}
+
+		// Sorted to process the files in a deterministic order
+		return Stream.of(resources)
+				.sorted(Comparator.comparing(Resource::getFilename))
+				.collect(Collectors.toMap(Resource::getFilename, r -> {
+					try {
+						return new String(r.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}, (l, r) -> l, LinkedHashMap::new));
+	}
+
+	/**
+	 * 
+	 * @param nbMethods
+	 * @return a large class, with a mix of code which is cleaned by most mutators and code which is left unchanged.
+	 */
+	public static String makeSyntheticClass(int nbMethods) {
+		var header = String.join("\n",
+				"package eu.solven.cleanthat.benchmarks.synthetic;",
+				"",
+				"import java.util.ArrayList;",
+				"import java.util.Collection;",
+				"import java.util.HashMap;",
+				"import java.util.List;",
+				"import java.util.Map;",
+				"import java.util.stream.Collectors;",
+				"",
+				"/**",
+				" * Generated by " + BenchmarkCorpus.class.getName(),
+				" */",
+				"public class SyntheticLargeClass {",
+				"");
+
+		var methods = IntStream.range(0, nbMethods)
+				.mapToObj(BenchmarkCorpus::makeSyntheticMethod)
+				.collect(Collectors.joining("\n"));
+
+		return header + methods + "}\n";
+	}
+
+	private static String makeSyntheticMethod(int index) {
+		return String.join("\n",
+				"	final static public int CONSTANT_" + index + " = " + index + ";",
+				"",
+				"	/**",
+				"	 * Some javadoc for method " + index,
+				"	 *",
+				"	 * @param input",
+				"	 *            some input",
+				"	 */",
+				"	public List<String> method" + index + "(Collection<String> input, String s) {",
+				"		List<String> output = new ArrayList<String>();",
+				"		Map<String, Integer> counts = new HashMap<String, Integer>();",
+				"		if (input.size() == 0) {",
+				"			return output;",
+				"		}",
+				"		if (s.equals(\"someLiteral\") || s.indexOf(\"a\") >= 0) {",
+				"			output.add(s.toString());",
+				"		}",
+				"		for (String item : input) {",
+				"			counts.put(item, new Integer(" + index + "));",
+				"			output.add(item.toLowerCase());",
+				"		}",
+				"		return output.stream().map(x -> x.trim()).collect(Collectors.toList());",
+				"	}",
+				"");
+	}
+
+	/**
+	 * Write the corpus into given folder, typically the root of an in-memory repository.
+	 * 
+	 * @param corpus
+	 * @param folder
+	 */
+	public static void writeTo(Map<String, String> corpus, Path folder) {
+		try {
+			Files.createDirectories(folder);
+			for (var entry : corpus.entrySet()) {
+				Files.writeString(folder.resolve(entry.getKey()), entry.getValue(), StandardCharsets.UTF_8);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.jimfs.Jimfs;
+
+import eu.solven.cleanthat.code_provider.inmemory.FileSystemCodeProvider;
+import eu.solven.cleanthat.codeprovider.CodeProviderHelpers;
+import eu.solven.cleanthat.codeprovider.ICodeProviderWriter;
+import eu.solven.cleanthat.config.ConfigHelpers;
+import eu.solven.cleanthat.config.pojo.CleanthatRepositoryProperties;
+import eu.solven.cleanthat.engine.StringFormatterFactory;
+import eu.solven.cleanthat.engine.java.JavaFormattersFactory;
+import eu.solven.cleanthat.engine.java.refactorer.JavaRefactorerStep;
+import eu.solven.cleanthat.formatter.CodeFormatResult;
+import eu.solven.cleanthat.formatter.CodeFormatterApplier;
+import eu.solven.cleanthat.formatter.CodeProviderFormatter;
+
+/**
+ * Benchmarks {@link CodeProviderFormatter#formatCode(CleanthatRepositoryProperties, ICodeProviderWriter, boolean)}
+ * over an in-memory repository, with the default `javaparser` engine. It covers the listing of the repository, the
+ * loading of each file, the engine pooling and the refactoring itself.
+ *
+ * The run is a dry-run, so the repository is left unchanged from one invocation to another.
+ *
+ * @author Benoit Lacelle
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CodeProviderFormatterBenchmark {
+
+	@Param({ BenchmarkCorpus.CORPUS_CASES, BenchmarkCorpus.CORPUS_SYNTHETIC })
+	public String corpus;
+
+	FileSystem fs;
+	FileSystemCodeProvider codeProvider;
+	CleanthatRepositoryProperties repositoryProperties;
+	CodeProviderFormatter formatter;
+
+	@Setup
+	public void setup() {
+		fs = Jimfs.newFileSystem();
+		var root = CodeProviderHelpers.getRoot(fs);
+		BenchmarkCorpus.writeTo(BenchmarkCorpus.load(corpus), root.resolve("src/main/java"));
+		codeProvider = new FileSystemCodeProvider(root);
+
+		var configHelpers = ConfigHelpers.forTests();
+		var javaFactory = new JavaFormattersFactory(configHelpers);
+
+		var engineProperties = javaFactory.makeDefaultProperties(Set.of(JavaRefactorerStep.ID_REFACTORER));
+		engineProperties.getSourceCode().setIncludes(List.of("glob:**/*.java"));
+		repositoryProperties = CleanthatRepositoryProperties.builder().engine(engineProperties).build();
+
+		var formatterFactory = new StringFormatterFactory(Map.of(javaFactory.getEngine(), javaFactory));
+		formatter = new CodeProviderFormatter(configHelpers, formatterFactory, new CodeFormatterApplier());
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		formatter.close();
+		fs.close();
+	}
+
+	@Benchmark
+	public CodeFormatResult formatCode() {
+		return formatter.formatCode(repositoryProperties, codeProvider, true);
+	}
+}
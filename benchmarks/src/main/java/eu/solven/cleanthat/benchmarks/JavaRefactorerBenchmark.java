@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.config.pojo.ICleanthatStepParametersProperties;
+import eu.solven.cleanthat.engine.java.refactorer.JavaRefactorer;
+import eu.solven.cleanthat.engine.java.refactorer.JavaRefactorerProperties;
+import eu.solven.cleanthat.formatter.LineEnding;
+import eu.solven.cleanthat.formatter.PathAndContent;
+import eu.solven.cleanthat.language.IEngineProperties;
+
+/**
+ * Benchmarks {@link JavaRefactorer}, either with a single mutator or with the SafeAndConsensual composite.
+ *
+ * Any mutator can be benchmarked with `-p mutator=SomeMutatorId`.
+ *
+ * @author Benoit Lacelle
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JavaRefactorerBenchmark {
+
+	@Param({ ICleanthatStepParametersProperties.SAFE_AND_CONSENSUAL,
+			"UseCollectionIsEmpty",
+			"LiteralsFirstInComparisons",
+			"UseDiamondOperator",
+			"ModifierOrder",
+			"UnnecessaryImport",
+			"LocalVariableTypeInference" })
+	public String mutator;
+
+	@Param({ BenchmarkCorpus.CORPUS_CASES, BenchmarkCorpus.CORPUS_SYNTHETIC })
+	public String corpus;
+
+	ExposingJavaRefactorer refactorer;
+
+	final List<PathAndContent> inputs = new ArrayList<>();
+
+	// The output of the mutators, before being fixed by `fixJavaparserUnexpectedChanges`
+	final List<String> rawOutputs = new ArrayList<>();
+
+	/**
+	 * Gives access to the steps of {@link JavaRefactorer#doFormat(PathAndContent)}
+	 */
+	static class ExposingJavaRefactorer extends JavaRefactorer {
+		ExposingJavaRefactorer(IEngineProperties engineProperties, JavaRefactorerProperties properties) {
+			super(engineProperties, properties);
+		}
+
+		String rawApplyTransformers(PathAndContent pathAndContent) {
+			return applyTransformers(pathAndContent);
+		}
+
+		String rawFixJavaparserUnexpectedChanges(String dirtyCode, String cleanCode) throws IOException {
+			return fixJavaparserUnexpectedChanges(dirtyCode, cleanCode);
+		}
+	}
+
+	@Setup
+	public void setup() {
+		var engineProperties = CleanthatEngineProperties.builder().build();
+		// The corpus is generated with '\n' as EOL
+		engineProperties.getSourceCode().setLineEndingAsEnum(LineEnding.LF);
+
+		var properties = new JavaRefactorerProperties();
+		properties.setMutators(List.of(mutator));
+		refactorer = new ExposingJavaRefactorer(engineProperties, properties);
+
+		if (refactorer.getMutatorIds().isEmpty()) {
+			throw new IllegalArgumentException("Unknown mutator: " + mutator);
+		}
+
+		var fs = FileSystems.getDefault();
+		BenchmarkCorpus.load(corpus).forEach((fileName, content) -> {
+			var path = CleanthatPathHelpers.makeContentPath(fs, "src/main/java/" + fileName);
+			var pathAndContent = new PathAndContent(path, content);
+
+			inputs.add(pathAndContent);
+			rawOutputs.add(refactorer.rawApplyTransformers(pathAndContent));
+		});
+	}
+
+	@Benchmark
+	public void doFormat(Blackhole blackhole) throws IOException {
+		for (var input : inputs) {
+			blackhole.consume(refactorer.doFormat(input));
+		}
+	}
+
+	@Benchmark
+	public void fixJavaparserUnexpectedChanges(Blackhole blackhole) throws IOException {
+		for (var i = 0; i < inputs.size(); i++) {
+			var dirtyCode = inputs.get(i).getContent();
+			blackhole.consume(refactorer.rawFixJavaparserUnexpectedChanges(dirtyCode, rawOutputs.get(i)));
+		}
+	}
+}
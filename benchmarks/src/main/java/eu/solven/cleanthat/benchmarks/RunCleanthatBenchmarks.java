@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Runs the JMH benchmarks. It accepts the usual JMH options (e.g. `-p mutator=UseDiamondOperator` or
+ * `JavaRefactorerBenchmark`), but exports the results as JSON by default, so they can be compared between two runs
+ * (e.g. with https://jmh.morethan.io/).
+ *
+ * @author Benoit Lacelle
+ */
+public class RunCleanthatBenchmarks {
+	public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	protected RunCleanthatBenchmarks() {
+		// hidden
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, IOException {
+		var commandLineOptions = new CommandLineOptions(args);
+
+		List<String> withDefaults = new ArrayList<>(Arrays.asList(args));
+		if (!commandLineOptions.getResultFormat().hasValue()) {
+			withDefaults.addAll(List.of("-rf", "json"));
+		}
+		if (!commandLineOptions.getResult().hasValue()) {
+			withDefaults.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+		}
+
+		Main.main(withDefaults.toArray(String[]::new));
+	}
+}
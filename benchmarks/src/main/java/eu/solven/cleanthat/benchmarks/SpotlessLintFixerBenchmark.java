@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.jimfs.Jimfs;
+
+import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.code_provider.inmemory.FileSystemCodeProvider;
+import eu.solven.cleanthat.codeprovider.CodeProviderHelpers;
+import eu.solven.cleanthat.config.ConfigHelpers;
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatRepositoryProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatStepProperties;
+import eu.solven.cleanthat.formatter.CleanthatSession;
+import eu.solven.cleanthat.formatter.PathAndContent;
+import eu.solven.cleanthat.language.spotless.CleanthatSpotlessStepParametersProperties;
+import eu.solven.cleanthat.language.spotless.SpotlessFormattersFactory;
+import eu.solven.cleanthat.language.spotless.SpotlessLintFixer;
+import eu.solven.pepper.resource.PepperResourceHelper;
+
+/**
+ * Benchmarks {@link SpotlessLintFixer}, with the Java steps most often used with CleanThat (`removeUnusedImports`,
+ * `importOrder` and `eclipse`).
+ *
+ * The setup provisions the Spotless steps: it requires an access to Maven Central.
+ *
+ * @author Benoit Lacelle
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SpotlessLintFixerBenchmark {
+
+	@Param({ BenchmarkCorpus.CORPUS_CASES, BenchmarkCorpus.CORPUS_SYNTHETIC })
+	public String corpus;
+
+	FileSystem fs;
+	SpotlessLintFixer lintFixer;
+
+	final List<PathAndContent> inputs = new ArrayList<>();
+
+	@Setup
+	public void setup() throws IOException {
+		fs = Jimfs.newFileSystem();
+		var root = CodeProviderHelpers.getRoot(fs);
+
+		var cleanthatFolder = root.resolve(".cleanthat");
+		Files.createDirectories(cleanthatFolder);
+		Files.writeString(cleanthatFolder.resolve("spotless.yaml"),
+				PepperResourceHelper.loadAsString("/benchmarks/spotless.yaml"),
+				StandardCharsets.UTF_8);
+		Files.writeString(cleanthatFolder.resolve("eclipse_java-stylesheet.xml"),
+				PepperResourceHelper.loadAsString("/benchmarks/eclipse_java_code_formatter.xml"),
+				StandardCharsets.UTF_8);
+
+		var codeProvider = new FileSystemCodeProvider(root);
+		var session = new CleanthatSession(root, codeProvider, CleanthatRepositoryProperties.builder().build());
+
+		var stepProperties = CleanthatStepProperties.builder()
+				.id(CleanthatSpotlessStepParametersProperties.STEP_ID)
+				.parameters(CleanthatSpotlessStepParametersProperties.builder().build())
+				.build();
+		var engineProperties = CleanthatEngineProperties.builder()
+				.engine(CleanthatSpotlessStepParametersProperties.ENGINE_ID)
+				.step(stepProperties)
+				.build();
+
+		var factory = new SpotlessFormattersFactory(ConfigHelpers.forTests(),
+				SpotlessFormattersFactory.makeProvisioner());
+		lintFixer = (SpotlessLintFixer) factory.makeLintFixer(session, engineProperties, stepProperties);
+
+		BenchmarkCorpus.load(corpus).forEach((fileName, content) -> {
+			var path = CleanthatPathHelpers.makeContentPath(fs, "src/main/java/" + fileName);
+			inputs.add(new PathAndContent(path, content));
+		});
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		lintFixer.close();
+		fs.close();
+	}
+
+	@Benchmark
+	public void doFormat(Blackhole blackhole) throws IOException {
+		for (var input : inputs) {
+			blackhole.consume(lintFixer.doFormat(input));
+		}
+	}
+}
@@ -15,6 +15,7 @@
  */
 package eu.solven.cleanthat.code_provider.github;
 
+import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,19 +25,24 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
 
 import eu.solven.cleanthat.code_provider.github.event.CompositeCodeCleanerFactory;
 import eu.solven.cleanthat.code_provider.github.event.ICodeCleanerFactory;
 import eu.solven.cleanthat.config.CleanthatConfigInitializer;
 import eu.solven.cleanthat.config.ConfigHelpers;
+import eu.solven.cleanthat.config.GitService;
 import eu.solven.cleanthat.config.ICleanthatConfigInitializer;
 import eu.solven.cleanthat.config.spring.ConfigSpringConfig;
 import eu.solven.cleanthat.engine.ICodeFormatterApplier;
 import eu.solven.cleanthat.engine.IEngineFormatterFactory;
 import eu.solven.cleanthat.engine.IEngineLintFixerFactory;
 import eu.solven.cleanthat.engine.StringFormatterFactory;
+import eu.solven.cleanthat.formatter.CachingCodeFormatterApplier;
+import eu.solven.cleanthat.formatter.CleanthatWarmup;
 import eu.solven.cleanthat.formatter.CodeFormatterApplier;
 import eu.solven.cleanthat.formatter.CodeProviderFormatter;
+import eu.solven.cleanthat.formatter.FileCleanContentCache;
 import eu.solven.cleanthat.formatter.ICodeProviderFormatter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -50,9 +56,25 @@ import lombok.extern.slf4j.Slf4j;
 @Configuration
 @Import({ ConfigSpringConfig.class })
 public class CodeCleanerSpringConfig {
+	public static final String KEY_CLEAN_CACHE_ENABLED = "cleanthat.clean_cache.enabled";
+	public static final String KEY_CLEAN_CACHE_DIRECTORY = "cleanthat.clean_cache.directory";
+
 	@Bean
-	public ICodeFormatterApplier codeFormatterApplier() {
-		return new CodeFormatterApplier();
+	public ICodeFormatterApplier codeFormatterApplier(Environment env) {
+		var codeFormatterApplier = new CodeFormatterApplier();
+
+		if (!env.getProperty(KEY_CLEAN_CACHE_ENABLED, Boolean.class, false)) {
+			return codeFormatterApplier;
+		}
+
+		var cacheDirectory = Paths.get(env.getProperty(KEY_CLEAN_CACHE_DIRECTORY,
+				Paths.get(System.getProperty("user.home"), ".cleanthat", "cache").toString()));
+		LOGGER.info("Contents known to be clean are cached in {}", cacheDirectory);
+
+		// The cache is closed with this bean, as CachingCodeFormatterApplier is AutoCloseable
+		return new CachingCodeFormatterApplier(codeFormatterApplier,
+				FileCleanContentCache.open(cacheDirectory),
+				GitService.optSafeSha1());
 	}
 
 	@Bean
@@ -71,10 +93,7 @@ public class CodeCleanerSpringConfig {
 	@Bean
 	public ICleanthatConfigInitializer configInitializer(ConfigHelpers configHelpers,
 			List<IEngineLintFixerFactory> factories) {
-		// We exclude OpenRewrite as engine, given it is quite slow and consumes a lot of resources (including through
-		// ClassGraph?)
-		var cleanFactories =
-				factories.stream().filter(f -> !"openrewrite".equals(f.getEngine())).collect(Collectors.toList());
+		var cleanFactories = excludeOpenrewrite(factories);
 		if (cleanFactories.size() != factories.size()) {
 			LOGGER.info("We disabled {} as engine in configInitializer", "openrewrite");
 		}
@@ -82,6 +101,32 @@ public class CodeCleanerSpringConfig {
 		return new CleanthatConfigInitializer(configHelpers.getObjectMapper(), cleanFactories);
 	}
 
+	// We exclude OpenRewrite as engine, given it is quite slow and consumes a lot of resources (including through
+	// ClassGraph?)
+	private static List<IEngineLintFixerFactory> excludeOpenrewrite(List<IEngineLintFixerFactory> factories) {
+		return factories.stream().filter(f -> !"openrewrite".equals(f.getEngine())).collect(Collectors.toList());
+	}
+
+	@Bean
+	public CleanthatWarmup cleanthatWarmup(Environment env,
+			ConfigHelpers configHelpers,
+			List<IEngineLintFixerFactory> factories) {
+		// The warmup relies on the default configuration, like configInitializer
+		var warmup = new CleanthatWarmup(configHelpers, excludeOpenrewrite(factories));
+
+		if (env.getProperty(CleanthatWarmup.KEY_WARMUP_ENABLED, Boolean.class, false)) {
+			// Priming while the context is started makes it part of a JVM snapshot (e.g. AWS Lambda SnapStart)
+			try {
+				warmup.primeDefaults();
+			} catch (RuntimeException e) {
+				// The warmup is an optimization: it must not prevent the application from starting
+				LOGGER.warn("Issue warming-up the engines", e);
+			}
+		}
+
+		return warmup;
+	}
+
 	@Bean
 	public ICodeProviderFormatter codeProviderFormatter(ConfigHelpers configHelpers,
 			IEngineFormatterFactory formatterFactory,
@@ -40,6 +40,16 @@ public interface IEngineLintFixerFactory {
 			IEngineProperties engineProperties,
 			CleanthatStepProperties stepProperties);
 
+	/**
+	 * 
+	 * @return true if the {@link ILintFixer}s depend only on the {@link IEngineProperties}, and not on the
+	 *         {@link CleanthatSession} (e.g. a configuration file in the repository). Such {@link ILintFixer}s may be
+	 *         reused through sessions.
+	 */
+	default boolean isRepositoryIndependent() {
+		return false;
+	}
+
 	/**
 	 * 
 	 * @param steps
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import eu.solven.cleanthat.engine.EngineAndLinters;
+import eu.solven.cleanthat.engine.ICodeFormatterApplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorates a {@link ICodeFormatterApplier} by skipping the contents which are known to be already clean.
+ * 
+ * A content is known clean if the same path with the same content has been left unchanged by the same engine
+ * properties, the same configuration files (e.g. a Spotless yaml, as loaded while preparing the linters) and the same
+ * version of Cleanthat (which fixes the versions of the underlying engines). Only unchanged contents are recorded, as a
+ * changed content may not be a fixed-point of the engine.
+ * 
+ * If the version of Cleanthat is unknown (e.g. git.json is missing, or the build has uncommitted changes), nothing is
+ * cached as the underlying engines may differ from one build to another.
+ * 
+ * @author Benoit Lacelle
+ *
+ */
+@Slf4j
+public class CachingCodeFormatterApplier implements ICodeFormatterApplier, AutoCloseable {
+	final ICodeFormatterApplier decorated;
+	final ICleanContentCache cache;
+	final Optional<String> optCleanthatVersion;
+
+	final ObjectMapper sortedObjectMapper = JsonMapper.builder()
+			.enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+			.build();
+
+	// weakKeys relies on identity: an EngineAndLinters is fingerprinted once, even if it is used for many files
+	final Cache<EngineAndLinters, HashCode> engineToFingerprint = CacheBuilder.newBuilder().weakKeys().build();
+
+	final AtomicInteger nbSkippedAsClean = new AtomicInteger();
+	final AtomicInteger nbProcessed = new AtomicInteger();
+
+	public CachingCodeFormatterApplier(ICodeFormatterApplier decorated,
+			ICleanContentCache cache,
+			Optional<String> optCleanthatVersion) {
+		this.decorated = decorated;
+		this.cache = cache;
+		this.optCleanthatVersion = optCleanthatVersion;
+
+		if (optCleanthatVersion.isEmpty()) {
+			LOGGER.warn("The version of Cleanthat is unknown: contents known to be clean will not be skipped");
+		}
+	}
+
+	public CachingCodeFormatterApplier(ICodeFormatterApplier decorated,
+			ICleanContentCache cache,
+			String cleanthatVersion) {
+		this(decorated, cache, Optional.of(cleanthatVersion));
+	}
+
+	@Override
+	public String applyProcessors(EngineAndLinters engineAndLinters, PathAndContent pathAndContent)
+			throws IOException {
+		if (optCleanthatVersion.isEmpty()) {
+			nbProcessed.incrementAndGet();
+			return decorated.applyProcessors(engineAndLinters, pathAndContent);
+		}
+
+		var content = pathAndContent.getContent();
+		var key = computeKey(engineAndLinters, pathAndContent);
+
+		if (cache.isClean(key)) {
+			nbSkippedAsClean.incrementAndGet();
+			LOGGER.debug("path={} is known clean given engine={}",
+					pathAndContent.getPath(),
+					engineAndLinters.getEngineProperties().getEngine());
+
+			// The linters report the skipped contents with their processed contents
+			engineAndLinters.getLinters()
+					.stream()
+					.filter(ILintFixerWithCleanCache.class::isInstance)
+					.map(ILintFixerWithCleanCache.class::cast)
+					.forEach(linter -> linter.skippedAsCleanCache(pathAndContent));
+			return content;
+		}
+
+		var nbExceptionsBefore = CodeFormatterApplier.NB_EXCEPTIONS.get();
+		var output = decorated.applyProcessors(engineAndLinters, pathAndContent);
+		nbProcessed.incrementAndGet();
+
+		if (content.equals(output)) {
+			if (CodeFormatterApplier.NB_EXCEPTIONS.get() == nbExceptionsBefore) {
+				cache.markClean(key);
+			} else {
+				// A linter may have failed over this content (e.g. a transient issue): it has to be processed again
+				LOGGER.debug("Not caching path={} as some linter failed", pathAndContent.getPath());
+			}
+		}
+
+		return output;
+	}
+
+	protected HashCode computeKey(EngineAndLinters engineAndLinters, PathAndContent pathAndContent) {
+		return Hashing.sha256()
+				.newHasher()
+				.putBytes(getEngineFingerprint(engineAndLinters).asBytes())
+				.putString(pathAndContent.getPath().toString(), StandardCharsets.UTF_8)
+				// Separate the path from the content
+				.putByte((byte) 0)
+				.putString(pathAndContent.getContent(), StandardCharsets.UTF_8)
+				.hash();
+	}
+
+	protected HashCode getEngineFingerprint(EngineAndLinters engineAndLinters) {
+		try {
+			return engineToFingerprint.get(engineAndLinters, () -> {
+				String engineAsJson;
+				try {
+					engineAsJson = sortedObjectMapper.writeValueAsString(engineAndLinters.getEngineProperties());
+				} catch (JsonProcessingException e) {
+					throw new UncheckedIOException(e);
+				}
+
+				var hasher = Hashing.sha256()
+						.newHasher()
+						.putString(optCleanthatVersion.get(), StandardCharsets.UTF_8)
+						.putByte((byte) 0)
+						.putString(engineAsJson, StandardCharsets.UTF_8);
+
+				new TreeMap<>(engineAndLinters.getConfigContents()).forEach((path, optContent) -> {
+					hasher.putByte((byte) 0).putString(path, StandardCharsets.UTF_8);
+
+					// Differentiate a missing file from an empty file
+					if (optContent.isPresent()) {
+						hasher.putByte((byte) 1).putString(optContent.get(), StandardCharsets.UTF_8);
+					} else {
+						hasher.putByte((byte) 2);
+					}
+				});
+
+				return hasher.hash();
+			});
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Issue fingerprinting " + engineAndLinters, e);
+		}
+	}
+
+	public int getSkippedAsClean() {
+		return nbSkippedAsClean.get();
+	}
+
+	public int getProcessed() {
+		return nbProcessed.get();
+	}
+
+	@Override
+	public void close() throws Exception {
+		LOGGER.info("{} contents skipped as known clean, {} contents processed", getSkippedAsClean(), getProcessed());
+
+		if (cache instanceof AutoCloseable) {
+			((AutoCloseable) cache).close();
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.jimfs.Jimfs;
+
+import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.code_provider.inmemory.FileSystemCodeProvider;
+import eu.solven.cleanthat.codeprovider.CodeProviderHelpers;
+import eu.solven.cleanthat.codeprovider.ICodeProvider;
+import eu.solven.cleanthat.config.ConfigHelpers;
+import eu.solven.cleanthat.config.GenerateInitialConfig;
+import eu.solven.cleanthat.config.IncludeExcludeHelpers;
+import eu.solven.cleanthat.config.pojo.CleanthatRepositoryProperties;
+import eu.solven.cleanthat.engine.ICodeFormatterApplier;
+import eu.solven.cleanthat.engine.IEngineLintFixerFactory;
+import eu.solven.cleanthat.language.IEngineProperties;
+import eu.solven.pepper.resource.PepperResourceHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms-up the engines by cleaning a tiny synthetic repository. The first file cleaned by a JVM is much slower than the
+ * following ones, as it loads and initializes many classes (e.g. the mutators, Javaparser type-solvers, the Eclipse
+ * formatter, the provisioning of Spotless steps).
+ * 
+ * Priming at startup moves this cost out of the first actual clean. It also makes it part of a JVM snapshot (e.g. AWS
+ * Lambda SnapStart), or of a class-data archive (AppCDS) when the warmup is the training run.
+ * 
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class CleanthatWarmup {
+	public static final String KEY_WARMUP_ENABLED = "cleanthat.warmup.enabled";
+
+	// From the path in the synthetic repository to the resource holding its content
+	private static final Map<String, String> PATH_TO_RESOURCE =
+			ImmutableMap.<String, String>builder()
+					.put("src/main/java/eu/solven/cleanthat/warmup/Warmup.java", "/warmup/Warmup.java.txt")
+					.put("pom.xml", "/warmup/pom.xml.txt")
+					.put("package.json", "/warmup/package.json.txt")
+					.put("README.md", "/warmup/README.md.txt")
+					.build();
+
+	final ConfigHelpers configHelpers;
+	final Collection<IEngineLintFixerFactory> factories;
+
+	final SourceCodeFormatterHelper formatterHelper = new SourceCodeFormatterHelper();
+	// Issues are logged, and do not interrupt the warmup
+	final ICodeFormatterApplier formatterApplier = new CodeFormatterApplier();
+
+	public CleanthatWarmup(ConfigHelpers configHelpers, Collection<IEngineLintFixerFactory> factories) {
+		this.configHelpers = configHelpers;
+		this.factories = factories;
+	}
+
+	/**
+	 * 
+	 * @param engineProperties
+	 * @return the number of synthetic files cleaned by given engine
+	 */
+	public int prime(IEngineProperties engineProperties) {
+		return withSyntheticRepository(codeProvider -> prime(codeProvider,
+				CleanthatRepositoryProperties.defaultRepository(),
+				engineProperties));
+	}
+
+	/**
+	 * Primes the engines of the default configuration of the synthetic repository, as generated by
+	 * {@link GenerateInitialConfig}.
+	 * 
+	 * @return the number of synthetic files cleaned, summed over the engines
+	 */
+	public int primeDefaults() {
+		return withSyntheticRepository(codeProvider -> {
+			var initialConfig = new GenerateInitialConfig(factories).prepareDefaultConfiguration(codeProvider);
+
+			// Some engines are configured through files (e.g. `.cleanthat/spotless.yaml`)
+			writeFiles(codeProvider.getRepositoryRoot(), initialConfig.getPathToContents());
+
+			var repoProperties = initialConfig.getRepoProperties();
+			return repoProperties.getEngines()
+					.stream()
+					.mapToInt(engine -> prime(codeProvider,
+							repoProperties,
+							configHelpers.mergeEngineProperties(repoProperties, engine)))
+					.sum();
+		});
+	}
+
+	/**
+	 * Some primer over a synthetic repository.
+	 * 
+	 * @author Benoit Lacelle
+	 */
+	@FunctionalInterface
+	protected interface IPrimer {
+		int prime(ICodeProvider codeProvider) throws IOException;
+	}
+
+	protected int withSyntheticRepository(IPrimer primer) {
+		var stopwatch = Stopwatch.createStarted();
+
+		int nbCleaned;
+		try (var fs = Jimfs.newFileSystem()) {
+			var root = CodeProviderHelpers.getRoot(fs);
+
+			writeFiles(root, loadCorpus());
+
+			nbCleaned = primer.prime(new FileSystemCodeProvider(root));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Issue with the synthetic repository", e);
+		}
+
+		LOGGER.info("Warmup has cleaned {} files in {}ms", nbCleaned, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		return nbCleaned;
+	}
+
+	protected Map<String, String> loadCorpus() {
+		Map<String, String> pathToContent = new LinkedHashMap<>();
+		PATH_TO_RESOURCE
+				.forEach((path, resource) -> pathToContent.put(path, PepperResourceHelper.loadAsString(resource)));
+		return pathToContent;
+	}
+
+	protected void writeFiles(Path root, Map<String, String> pathToContent) throws IOException {
+		for (var entry : pathToContent.entrySet()) {
+			var path = CleanthatPathHelpers.resolveChild(root, entry.getKey());
+			Files.createDirectories(path.getParent());
+			Files.writeString(path, entry.getValue(), StandardCharsets.UTF_8);
+		}
+	}
+
+	protected int prime(ICodeProvider codeProvider,
+			CleanthatRepositoryProperties repoProperties,
+			IEngineProperties engineProperties) {
+		var engine = engineProperties.getEngine();
+		var lintFixerFactory = factories.stream()
+				.filter(f -> engine.equals(f.getEngine()))
+				.findAny()
+				.orElseThrow(() -> new IllegalArgumentException("There is no factory for engine=" + engine));
+
+		Set<String> includes = new LinkedHashSet<>(engineProperties.getSourceCode().getIncludes());
+		if (includes.isEmpty()) {
+			includes.addAll(lintFixerFactory.getDefaultIncludes());
+		}
+		var fs = codeProvider.getRepositoryRoot().getFileSystem();
+		var includeMatchers = IncludeExcludeHelpers.prepareMatcher(fs, includes);
+		var excludeMatchers = IncludeExcludeHelpers.prepareMatcher(fs, engineProperties.getSourceCode().getExcludes());
+
+		var session = new CleanthatSession(codeProvider.getRepositoryRoot(), codeProvider, repoProperties);
+		var nbCleaned = new AtomicInteger();
+		try (var engineAndLinters = formatterHelper.compile(engineProperties, session, lintFixerFactory)) {
+			if (engineAndLinters.getLinters().isEmpty()) {
+				// e.g. all steps are skipped: there is nothing to prime
+				LOGGER.info("Warmup has no linter to prime for engine={}", engine);
+				return 0;
+			}
+
+			codeProvider.listFilesForContent(includes, file -> {
+				var path = file.getPath();
+				// Some ICodeProvider lists files not matching the includes
+				if (IncludeExcludeHelpers.findMatching(includeMatchers, path).isEmpty()
+						|| IncludeExcludeHelpers.findMatching(excludeMatchers, path).isPresent()) {
+					return;
+				}
+
+				try {
+					var content = codeProvider.loadContentForPath(path).orElseThrow();
+					formatterApplier.applyProcessors(engineAndLinters, new PathAndContent(path, content));
+				} catch (IOException e) {
+					throw new UncheckedIOException("Issue with path=" + path, e);
+				}
+				nbCleaned.incrementAndGet();
+			});
+		} catch (IOException e) {
+			throw new UncheckedIOException("Issue listing files for engine=" + engine, e);
+		}
+
+		LOGGER.info("Warmup has cleaned {} files with engine={}", nbCleaned, engine);
+		return nbCleaned.get();
+	}
+}
@@ -21,13 +21,15 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -37,12 +39,15 @@ import com.google.common.util.concurrent.AtomicLongMap;
 import com.google.common.util.concurrent.MoreExecutors;
 
 import eu.solven.cleanthat.any_language.ACodeCleaner;
+import eu.solven.cleanthat.codeprovider.BufferingCodeWritingBatch;
 import eu.solven.cleanthat.codeprovider.CodeProviderDecoratingWriter;
 import eu.solven.cleanthat.codeprovider.CodeWritingMetadata;
 import eu.solven.cleanthat.codeprovider.ICodeProvider;
 import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
 import eu.solven.cleanthat.codeprovider.ICodeProviderWriter;
+import eu.solven.cleanthat.codeprovider.ICodeWritingBatch;
 import eu.solven.cleanthat.codeprovider.ICodeWritingMetadata;
+import eu.solven.cleanthat.codeprovider.IContentReCleaner;
 import eu.solven.cleanthat.codeprovider.IUpgradableToHeadFullScan;
 import eu.solven.cleanthat.config.ConfigHelpers;
 import eu.solven.cleanthat.config.ICleanthatConfigConstants;
@@ -62,11 +67,13 @@ import lombok.extern.slf4j.Slf4j;
  * @author Benoit Lacelle
  */
 @Slf4j
-public class CodeProviderFormatter implements ICodeProviderFormatter {
+public class CodeProviderFormatter implements ICodeProviderFormatter, AutoCloseable {
 	private static final String KEY_NB_FILES_FORMATTED = "nb_files_formatted";
 
 	public static final String EOL = "\r\n";
 	private static final int MAX_LOG_MANY_FILES = 128;
+	// The maximum number of files submitted for formatting, but not formatted yet
+	private static final int MAX_IN_FLIGHT_FILES = 4 * Runtime.getRuntime().availableProcessors();
 
 	final IEngineFormatterFactory formatterFactory;
 	final ICodeFormatterApplier formatterApplier;
@@ -75,16 +82,27 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 
 	final ConfigHelpers configHelpers;
 
+	// Engines not depending on the repository content are shared through formatCode calls
+	final EngineAndLintersPool sharedEnginePool;
+
 	public CodeProviderFormatter(ConfigHelpers configHelpers,
 			IEngineFormatterFactory formatterFactory,
-			ICodeFormatterApplier formatterApplier) {
+			ICodeFormatterApplier formatterApplier,
+			EngineAndLintersPool sharedEnginePool) {
 		this.configHelpers = configHelpers;
 		this.formatterFactory = formatterFactory;
 		this.formatterApplier = formatterApplier;
+		this.sharedEnginePool = sharedEnginePool;
 
 		this.sourceCodeFormatterHelper = new SourceCodeFormatterHelper();
 	}
 
+	public CodeProviderFormatter(ConfigHelpers configHelpers,
+			IEngineFormatterFactory formatterFactory,
+			ICodeFormatterApplier formatterApplier) {
+		this(configHelpers, formatterFactory, formatterApplier, new EngineAndLintersPool());
+	}
+
 	@SuppressWarnings("PMD.CognitiveComplexity")
 	@Override
 	public CodeFormatResult formatCode(CleanthatRepositoryProperties repoProperties,
@@ -140,57 +158,86 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 
 		AtomicLongMap<String> languageToNbAddedFiles = AtomicLongMap.create();
 		AtomicLongMap<String> languagesCounters = AtomicLongMap.create();
-		Map<Path, String> pathToMutatedContent = new LinkedHashMap<>();
+		ICodeWritingBatch writingBatch;
+		if (dryRun) {
+			// Nothing will be persisted: the mutated contents are buffered only for the later engines
+			writingBatch = new BufferingCodeWritingBatch(codeWriter);
+		} else {
+			// The mutated contents may be staged out of memory as they are produced
+			writingBatch = codeWriter.openBatch();
+		}
 
 		var cleanthatSession = new CleanthatSession(codeWriter.getRepositoryRoot(), finalCodeWriter, repoProperties);
 
-		repoProperties.getEngines().stream().filter(lp -> !lp.isSkip()).forEach(dirtyLanguageConfig -> {
-			var languageP = prepareLanguageConfiguration(repoProperties, dirtyLanguageConfig);
-
-			// TODO Process all languages in a single pass
-			// Beware about concurrency as multiple processors/languages may impact the same file
-			var languageCounters =
-					processFiles(cleanthatSession, languageToNbAddedFiles, pathToMutatedContent, languageP);
-
-			var details = languageCounters.asMap()
-					.entrySet()
-					.stream()
-					.map(e -> e.getKey() + ": " + e.getValue())
-					.collect(Collectors.joining(EOL));
-
-			prComments.add("engine=" + languageP.getEngine() + EOL + details);
-			languageCounters.asMap().forEach((l, c) -> languagesCounters.addAndGet(l, c));
-		});
+		var engines = repoProperties.getEngines()
+				.stream()
+				.filter(lp -> !lp.isSkip())
+				.map(dirtyLanguageConfig -> prepareEngine(cleanthatSession,
+						prepareLanguageConfiguration(repoProperties, dirtyLanguageConfig)))
+				.collect(Collectors.toList());
 
 		boolean isEmpty;
-		if (languageToNbAddedFiles.isEmpty() && !configIsChanged.get()) {
-			LOGGER.info("Not a single file to commit ({})", codeWriter);
-			isEmpty = true;
-			// } else if (configIsChanged.get()) {
-			// LOGGER.info("(Config change) About to check and possibly commit any files into {} ({})",
-			// codeWriter.getHtmlUrl(),
-			// codeWriter.getTitle());
-			// if (dryRun) {
-			// LOGGER.info("Skip persisting changes as dryRun=true");
-			// isEmpty = true;
-			// } else {
-			// codeWriter.persistChanges(pathToMutatedContent, prComments, repoProperties.getMeta().getLabels());
-			// }
-		} else {
-			LOGGER.info("About to commit+push {} files into {} (configChange={})",
-					languageToNbAddedFiles.sum(),
-					codeWriter,
-					configIsChanged.get());
-			if (dryRun) {
-				// TODO Nice-diff like in eu.solven.cleanthat.engine.java.refactorer.it.ITTestLocalFile
-				LOGGER.info("Skip persisting changes as dryRun=true");
+		try {
+			// All engines are processed in a single pass: each file is listed and loaded once
+			processFiles(cleanthatSession, writingBatch, engines);
+
+			engines.forEach(engine -> {
+				var languageP = engine.engineProperties;
+				var languageCounters = engine.counters;
+				languageToNbAddedFiles.addAndGet(languageP.getEngine(), languageCounters.get(KEY_NB_FILES_FORMATTED));
+
+				var details = languageCounters.asMap()
+						.entrySet()
+						.stream()
+						.map(e -> e.getKey() + ": " + e.getValue())
+						.collect(Collectors.joining(EOL));
+
+				prComments.add("engine=" + languageP.getEngine() + EOL + details);
+				languageCounters.asMap().forEach((l, c) -> languagesCounters.addAndGet(l, c));
+			});
+
+			if (languageToNbAddedFiles.isEmpty() && !configIsChanged.get()) {
+				LOGGER.info("Not a single file to commit ({})", codeWriter);
 				isEmpty = true;
+				// } else if (configIsChanged.get()) {
+				// LOGGER.info("(Config change) About to check and possibly commit any files into {} ({})",
+				// codeWriter.getHtmlUrl(),
+				// codeWriter.getTitle());
+				// if (dryRun) {
+				// LOGGER.info("Skip persisting changes as dryRun=true");
+				// isEmpty = true;
+				// } else {
+				// writingBatch.persist(prComments, repoProperties.getMeta().getLabels());
+				// }
 			} else {
-				ICodeWritingMetadata metadata =
-						new CodeWritingMetadata(prComments, repoProperties.getMeta().getLabels());
-
-				isEmpty = !codeWriter.persistChanges(pathToMutatedContent, metadata);
+				LOGGER.info("About to commit+push {} files into {} (configChange={})",
+						languageToNbAddedFiles.sum(),
+						codeWriter,
+						configIsChanged.get());
+				if (dryRun) {
+					// TODO Nice-diff like in eu.solven.cleanthat.engine.java.refactorer.it.ITTestLocalFile
+					LOGGER.info("Skip persisting changes as dryRun=true");
+					isEmpty = true;
+				} else {
+					// Paths modified concurrently may be cleaned again, instead of being discarded
+					IContentReCleaner reCleaner =
+							(path, content) -> reClean(cleanthatSession, engines, path, content);
+					ICodeWritingMetadata metadata = new CodeWritingMetadata(prComments,
+							repoProperties.getMeta().getLabels(),
+							Optional.of(reCleaner));
+
+					isEmpty = !writingBatch.persist(metadata);
+				}
 			}
+		} finally {
+			// Discard the contents which have not been persisted (e.g. on a failure while cleaning)
+			writingBatch.close();
+
+			// The engines are kept until the changes are persisted, as they may be needed to clean again some paths
+			engines.stream().filter(engine -> engine.enginePool != sharedEnginePool).forEach(engine -> {
+				// This pool is specific to current session
+				engine.enginePool.close();
+			});
 		}
 
 		codeWriter.cleanTmpFiles();
@@ -243,68 +290,91 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 		return cleanEngine;
 	}
 
-	// PMD.CloseResource: False positive as we did not open it ourselves
-	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.CloseResource" })
-	protected AtomicLongMap<String> processFiles(CleanthatSession cleanthatSession,
-			AtomicLongMap<String> engineToNbMutatedFiles,
-			Map<Path, String> pathToMutatedContent,
-			IEngineProperties engineP) {
-		List<AutoCloseable> closeUs = new ArrayList<>();
-		// We rely on a ThreadLocal as Engines may not be threadSafe
-		// Hence, each new thread will compile its own engine
-		ThreadLocal<EngineAndLinters> currentThreadEngine = ThreadLocal.withInitial(() -> {
-			var lintFixer = buildProcessors(engineP, cleanthatSession);
-
-			closeUs.add(lintFixer);
-
-			return lintFixer;
-		});
-
-		try {
-			var languageCounters = processFiles(cleanthatSession, pathToMutatedContent, engineP, currentThreadEngine);
-			engineToNbMutatedFiles.addAndGet(engineP.getEngine(), languageCounters.get(KEY_NB_FILES_FORMATTED));
-
-			return languageCounters;
-		} finally {
-			closeUs.forEach(t -> {
-				try {
-					t.close();
-				} catch (Exception e) {
-					LOGGER.warn("Issue while closing {}", t, e);
-				}
-			});
+	/**
+	 * An engine prepared for a session, with its own counters.
+	 */
+	protected static final class EngineToProcess {
+		final IEngineProperties engineProperties;
+		final List<PathMatcher> includeMatchers;
+		final List<PathMatcher> excludeMatchers;
+		final EngineAndLintersPool enginePool;
+		final AtomicLongMap<String> counters = AtomicLongMap.create();
+
+		EngineToProcess(IEngineProperties engineProperties,
+				List<PathMatcher> includeMatchers,
+				List<PathMatcher> excludeMatchers,
+				EngineAndLintersPool enginePool) {
+			this.engineProperties = engineProperties;
+			this.includeMatchers = includeMatchers;
+			this.excludeMatchers = excludeMatchers;
+			this.enginePool = enginePool;
 		}
 	}
 
-	@SuppressWarnings("PMD.CloseResource")
-	protected AtomicLongMap<String> processFiles(CleanthatSession cleanthatSession,
-			Map<Path, String> pathToMutatedContent,
-			IEngineProperties engineP,
-			ThreadLocal<EngineAndLinters> currentThreadEngine) {
+	protected EngineToProcess prepareEngine(CleanthatSession cleanthatSession, IEngineProperties engineP) {
 		var sourceCodeProperties = engineP.getSourceCode();
 
-		AtomicLongMap<String> languageCounters = AtomicLongMap.create();
-
 		var fs = cleanthatSession.getRepositoryRoot().getFileSystem();
 		var includeMatchers = IncludeExcludeHelpers.prepareMatcher(fs, sourceCodeProperties.getIncludes());
 		var excludeMatchers = IncludeExcludeHelpers.prepareMatcher(fs, sourceCodeProperties.getExcludes());
 
+		// Engines may not be threadSafe: each file borrows an engine from the pool, and each concurrent task will
+		// compile its own engine
+		EngineAndLintersPool enginePool;
+		if (formatterFactory.makeLanguageFormatter(engineP).isRepositoryIndependent()) {
+			enginePool = sharedEnginePool;
+		} else {
+			// The engine depends on the repository content (e.g. a configuration file): it is not reused by later
+			// sessions
+			enginePool = new EngineAndLintersPool(1, Integer.MAX_VALUE);
+		}
+
+		return new EngineToProcess(engineP, includeMatchers, excludeMatchers, enginePool);
+	}
+
+	protected void processFiles(CleanthatSession cleanthatSession,
+			ICodeWritingBatch writingBatch,
+			List<EngineToProcess> engines) {
 		// https://github.com/diffplug/spotless/issues/1555
 		// If too many threads, we would load too many Spotless engines
 		var executor = PepperExecutorsHelper.newShrinkableFixedThreadPool("Cleanthat-CodeFormatter-");
 		CompletionService<Boolean> cs = new ExecutorCompletionService<>(executor);
 
+		// Back-pressure: the listing is paused while too many files are pending, so the pending tasks (and their
+		// contents) do not grow with the size of the repository
+		var inFlight = new Semaphore(MAX_IN_FLIGHT_FILES);
+
+		// Some ICodeProvider materialize only the included files (e.g. when reading an archive)
+		Set<String> includes = new LinkedHashSet<>();
+		engines.forEach(engine -> includes.addAll(engine.engineProperties.getSourceCode().getIncludes()));
+
+		var codeProvider = cleanthatSession.getCodeProvider();
 		try {
-			cleanthatSession.getCodeProvider().listFilesForContent(file -> {
-				var optRunMe = onEachFile(cleanthatSession,
-						pathToMutatedContent,
-						currentThreadEngine,
-						languageCounters,
-						includeMatchers,
-						excludeMatchers,
-						file);
-
-				optRunMe.ifPresent(cs::submit);
+			codeProvider.listFilesForContent(includes, file -> {
+				var optRunMe = onEachFile(cleanthatSession, writingBatch, engines, file);
+
+				optRunMe.ifPresent(runMe -> {
+					// Remote contents are fetched while the previous files are processed
+					codeProvider.prefetchContentForPath(file.getPath());
+
+					try {
+						inFlight.acquire();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RuntimeException(e);
+					}
+
+					cs.submit(() -> {
+						try {
+							return runMe.call();
+						} finally {
+							inFlight.release();
+						}
+					});
+
+					// Consume the completed tasks, so they are not accumulated until the end of the listing
+					pollCompleted(cs);
+				});
 			});
 		} catch (IOException e) {
 			throw new UncheckedIOException("Issue listing files", e);
@@ -313,9 +383,16 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 			if (!MoreExecutors.shutdownAndAwaitTermination(executor, 1, TimeUnit.DAYS)) {
 				LOGGER.warn("Executor not terminated");
 			}
+
+			// The tasks are done: nothing will consume the prefetched contents
+			codeProvider.stopPrefetching();
 		}
 
 		// Once here, we are guaranteed all tasks has been pushed: we can poll until null.
+		pollCompleted(cs);
+	}
+
+	private void pollCompleted(CompletionService<Boolean> cs) {
 		while (true) {
 			try {
 				var polled = cs.poll();
@@ -323,13 +400,8 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 				if (polled == null) {
 					break;
 				}
-				boolean result = polled.get();
-
-				if (result) {
-					languageCounters.incrementAndGet(KEY_NB_FILES_FORMATTED);
-				} else {
-					languageCounters.incrementAndGet("nb_files_already_formatted");
-				}
+				// The counters are incremented by the task itself
+				polled.get();
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				throw new RuntimeException(e);
@@ -337,91 +409,161 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 				throw new RuntimeException("Issue while one of the asynchronous tasks", e);
 			}
 		}
-
-		return languageCounters;
 	}
 
 	private Optional<Callable<Boolean>> onEachFile(CleanthatSession cleanthatSession,
-			Map<Path, String> pathToMutatedContent,
-			ThreadLocal<EngineAndLinters> currentThreadEngine,
-			AtomicLongMap<String> languageCounters,
-			List<PathMatcher> includeMatchers,
-			List<PathMatcher> excludeMatchers,
+			ICodeWritingBatch writingBatch,
+			List<EngineToProcess> engines,
 			ICodeProviderFile file) {
 		var filePath = file.getPath();
 
-		var matchingInclude = IncludeExcludeHelpers.findMatching(includeMatchers, filePath);
-		var matchingExclude = IncludeExcludeHelpers.findMatching(excludeMatchers, filePath);
-		if (matchingInclude.isPresent()) {
-			if (matchingExclude.isEmpty()) {
-				Callable<Boolean> runMe = () -> {
-					var engineSteps = currentThreadEngine.get();
+		List<EngineToProcess> matchingEngines = findMatchingEngines(engines, filePath, true);
 
-					try {
-						return doFormat(cleanthatSession, engineSteps, pathToMutatedContent, filePath);
-					} catch (IOException e) {
-						throw new UncheckedIOException("Issue with file: " + filePath, e);
-					} catch (RuntimeException e) {
-						throw new RuntimeException("Issue with file: " + filePath, e);
-					}
-				};
+		if (matchingEngines.isEmpty()) {
+			return Optional.empty();
+		}
 
-				return Optional.of(runMe);
-			} else {
+		Callable<Boolean> runMe = () -> {
+			try {
+				return doFormat(cleanthatSession, matchingEngines, writingBatch, filePath);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Issue with file: " + filePath, e);
+			} catch (RuntimeException e) {
+				throw new RuntimeException("Issue with file: " + filePath, e);
+			}
+		};
+
+		return Optional.of(runMe);
+	}
+
+	/**
+	 * 
+	 * @return the engines, in the configuration order, accepting given file
+	 */
+	private List<EngineToProcess> findMatchingEngines(List<EngineToProcess> engines,
+			Path filePath,
+			boolean updateCounters) {
+		List<EngineToProcess> matchingEngines = new ArrayList<>();
+
+		engines.forEach(engine -> {
+			var languageCounters = engine.counters;
+
+			var matchingInclude = IncludeExcludeHelpers.findMatching(engine.includeMatchers, filePath);
+			var matchingExclude = IncludeExcludeHelpers.findMatching(engine.excludeMatchers, filePath);
+			if (matchingInclude.isPresent() && matchingExclude.isEmpty()) {
+				matchingEngines.add(engine);
+			} else if (!updateCounters) {
+				LOGGER.trace("path={} is not processed by engine={}", filePath, engine.engineProperties.getEngine());
+			} else if (matchingInclude.isPresent()) {
 				languageCounters.incrementAndGet("nb_files_both_included_excluded");
-				return Optional.empty();
+			} else if (matchingExclude.isPresent()) {
+				languageCounters.incrementAndGet("nb_files_excluded_not_included");
+			} else {
+				languageCounters.incrementAndGet("nb_files_neither_included_nor_excluded");
 			}
-		} else if (matchingExclude.isPresent()) {
-			languageCounters.incrementAndGet("nb_files_excluded_not_included");
-			return Optional.empty();
-		} else {
-			languageCounters.incrementAndGet("nb_files_neither_included_nor_excluded");
-			return Optional.empty();
-		}
+		});
+
+		return matchingEngines;
 	}
 
+	/**
+	 * The file is loaded once, then processed sequentially by each engine, each engine processing the output of the
+	 * previous engine.
+	 * 
+	 * @return true if the file has been mutated
+	 */
 	private boolean doFormat(CleanthatSession cleanthatSession,
-			EngineAndLinters engineAndLinters,
-			Map<Path, String> pathToMutatedContent,
+			List<EngineToProcess> engines,
+			ICodeWritingBatch writingBatch,
 			Path filePath) throws IOException {
-		// Rely on the latest code (possibly formatted by a previous processor)
-		var optCode = loadCodeOptMutated(cleanthatSession.getCodeProvider(), pathToMutatedContent, filePath);
+		var optCode = loadCodeOptMutated(cleanthatSession.getCodeProvider(), writingBatch, filePath);
 
 		if (optCode.isEmpty()) {
 			LOGGER.warn("Skip processing {} as its content is not available", filePath);
+			engines.forEach(engine -> engine.counters.incrementAndGet("nb_files_already_formatted"));
 			return false;
 		}
 		var code = optCode.get();
+		var currentCode = applyEngines(cleanthatSession, engines, filePath, code, true);
 
-		LOGGER.debug("Processing path={}", filePath);
-		var output = doFormat(engineAndLinters, new PathAndContent(filePath, code));
-		if (!Strings.isNullOrEmpty(output) && !code.equals(output)) {
-			LOGGER.info("Path={} successfully cleaned by {}", filePath, engineAndLinters);
-			pathToMutatedContent.put(filePath, output);
+		if (code.equals(currentCode)) {
+			// Either not a single change, or the changes cancelled each other
+			return false;
+		}
+
+		writingBatch.write(filePath, currentCode);
+
+		var nbWritten = writingBatch.size();
+		if (nbWritten > MAX_LOG_MANY_FILES && Integer.bitCount(nbWritten) == 1) {
+			LOGGER.warn("We are about to commit {} files. That's quite a lot.", nbWritten);
+		}
+
+		return true;
+	}
 
-			if (pathToMutatedContent.size() > MAX_LOG_MANY_FILES
-					&& Integer.bitCount(pathToMutatedContent.size()) == 1) {
-				LOGGER.warn("We are about to commit {} files. That's quite a lot.", pathToMutatedContent.size());
+	private String applyEngines(CleanthatSession cleanthatSession,
+			List<EngineToProcess> engines,
+			Path filePath,
+			String code,
+			boolean updateCounters) throws IOException {
+		var currentCode = code;
+
+		for (var engine : engines) {
+			var engineP = engine.engineProperties;
+			var engineAndLinters = engine.enginePool.borrow(engineP, () -> buildProcessors(engineP, cleanthatSession));
+
+			String output;
+			try {
+				LOGGER.debug("Processing path={} with engine={}", filePath, engineP.getEngine());
+				output = doFormat(engineAndLinters, new PathAndContent(filePath, currentCode));
+			} finally {
+				engine.enginePool.release(engineP, engineAndLinters);
 			}
 
-			return true;
-		} else {
-			return false;
+			if (!Strings.isNullOrEmpty(output) && !currentCode.equals(output)) {
+				LOGGER.info("Path={} successfully cleaned by {}", filePath, engineAndLinters);
+				if (updateCounters) {
+					engine.counters.incrementAndGet(KEY_NB_FILES_FORMATTED);
+				}
+				currentCode = output;
+			} else if (updateCounters) {
+				engine.counters.incrementAndGet("nb_files_already_formatted");
+			}
 		}
+
+		return currentCode;
+	}
+
+	/**
+	 * Cleans a single content, given the engines of current session. The counters are not updated, as this is
+	 * typically called once the changes are being persisted.
+	 * 
+	 * @return the cleaned content, or empty if given path is not processed by any engine
+	 */
+	protected Optional<String> reClean(CleanthatSession cleanthatSession,
+			List<EngineToProcess> engines,
+			Path filePath,
+			String code) throws IOException {
+		var matchingEngines = findMatchingEngines(engines, filePath, false);
+		if (matchingEngines.isEmpty()) {
+			return Optional.empty();
+		}
+
+		return Optional.of(applyEngines(cleanthatSession, matchingEngines, filePath, code, false));
 	}
 
 	/**
 	 * The file may be missing for various reasons (e.g. too big to be fetched)
 	 * 
 	 * @param codeProvider
-	 * @param pathToMutatedContent
+	 * @param writingBatch
 	 * @param filePath
 	 * @return an {@link Optional} of the content.
 	 */
 	public Optional<String> loadCodeOptMutated(ICodeProvider codeProvider,
-			Map<Path, String> pathToMutatedContent,
+			ICodeWritingBatch writingBatch,
 			Path filePath) {
-		var optAlreadyMutated = Optional.ofNullable(pathToMutatedContent.get(filePath));
+		var optAlreadyMutated = writingBatch.getPending(filePath);
 
 		if (optAlreadyMutated.isPresent()) {
 			return optAlreadyMutated;
@@ -443,4 +585,9 @@ public class CodeProviderFormatter implements ICodeProviderFormatter {
 	private String doFormat(EngineAndLinters compiledProcessors, PathAndContent pathAndContent) throws IOException {
 		return formatterApplier.applyProcessors(compiledProcessors, pathAndContent);
 	}
+
+	@Override
+	public void close() {
+		sharedEnginePool.close();
+	}
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import eu.solven.cleanthat.codeprovider.ICodeProvider;
+import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
+
+/**
+ * Decorates a {@link ICodeProvider} by recording the contents loaded through it. It is used while compiling the
+ * linters, in order to know the contents of the configuration files they rely on (e.g. a Spotless yaml, an Eclipse
+ * stylesheet).
+ * 
+ * @author Benoit Lacelle
+ *
+ */
+public class ConfigRecordingCodeProvider implements ICodeProvider {
+	final ICodeProvider decorated;
+
+	// Missing contents are recorded too, as adding such a file may change the behavior of the linters
+	final Map<String, Optional<String>> pathToContent = new ConcurrentSkipListMap<>();
+
+	public ConfigRecordingCodeProvider(ICodeProvider decorated) {
+		this.decorated = decorated;
+	}
+
+	@Override
+	public Path getRepositoryRoot() {
+		return decorated.getRepositoryRoot();
+	}
+
+	@Override
+	public void listFilesForContent(Set<String> includes, Consumer<ICodeProviderFile> consumer) throws IOException {
+		decorated.listFilesForContent(includes, consumer);
+	}
+
+	@Override
+	public Optional<String> loadContentForPath(Path path) throws IOException {
+		var optContent = decorated.loadContentForPath(path);
+
+		pathToContent.put(path.toString(), optContent);
+
+		return optContent;
+	}
+
+	@Override
+	public String getRepoUri() {
+		return decorated.getRepoUri();
+	}
+
+	/**
+	 * 
+	 * @return the contents loaded up to now, sorted by path
+	 */
+	public NavigableMap<String, Optional<String>> getRecordedContents() {
+		return new TreeMap<>(pathToContent);
+	}
+
+	@Override
+	public String toString() {
+		return decorated.toString();
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import eu.solven.cleanthat.engine.EngineAndLinters;
+import eu.solven.cleanthat.language.IEngineProperties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A pool of {@link EngineAndLinters}, keyed by {@link IEngineProperties}. Compiling an engine may be expensive (e.g.
+ * provisioning Spotless steps, or instantiating all mutators), while engines may not be thread-safe: an engine is
+ * borrowed for a single file, then released for the next file.
+ * 
+ * The pool is bounded: it holds a limited number of idle engines per key, and a limited number of keys with an LRU
+ * eviction. Evicted engines are closed.
+ * 
+ * @author Benoit Lacelle
+ *
+ */
+@Slf4j
+public class EngineAndLintersPool implements AutoCloseable {
+	public static final int DEFAULT_MAX_KEYS = 16;
+
+	final int maxKeys;
+	final int maxIdlePerKey;
+
+	// accessOrder=true: the eldest entry is the least recently used
+	// Guarded by `this`
+	final LinkedHashMap<IEngineProperties, Deque<EngineAndLinters>> keyToIdle = new LinkedHashMap<>(16, 0.75F, true);
+	boolean closed;
+
+	public EngineAndLintersPool(int maxKeys, int maxIdlePerKey) {
+		// At least one engine is kept idle, else the pool would be pointless
+		this.maxKeys = Math.max(1, maxKeys);
+		this.maxIdlePerKey = Math.max(1, maxIdlePerKey);
+	}
+
+	public EngineAndLintersPool() {
+		this(DEFAULT_MAX_KEYS, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * 
+	 * @param engineProperties
+	 * @param compiler
+	 *            called if there is no idle engine for given properties
+	 * @return an {@link EngineAndLinters} for the exclusive use of the caller, until it is given back through
+	 *         {@link #release(IEngineProperties, EngineAndLinters)}
+	 */
+	public EngineAndLinters borrow(IEngineProperties engineProperties, Supplier<EngineAndLinters> compiler) {
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("This pool is closed");
+			}
+
+			var idle = keyToIdle.get(engineProperties);
+			if (idle != null && !idle.isEmpty()) {
+				return idle.pollFirst();
+			}
+		}
+
+		// Compile out of the lock, as it may be slow
+		LOGGER.debug("Compiling a new engine for engine={}", engineProperties.getEngine());
+		return compiler.get();
+	}
+
+	public void release(IEngineProperties engineProperties, EngineAndLinters engine) {
+		List<EngineAndLinters> closeUs = new ArrayList<>();
+
+		synchronized (this) {
+			if (closed) {
+				closeUs.add(engine);
+			} else {
+				var idle = keyToIdle.computeIfAbsent(engineProperties, k -> new ArrayDeque<>());
+				if (idle.size() >= maxIdlePerKey) {
+					closeUs.add(engine);
+				} else {
+					idle.addFirst(engine);
+				}
+
+				var eldestIterator = keyToIdle.entrySet().iterator();
+				while (keyToIdle.size() > maxKeys) {
+					Map.Entry<IEngineProperties, Deque<EngineAndLinters>> eldest = eldestIterator.next();
+					LOGGER.debug("Evicting engine={}", eldest.getKey().getEngine());
+					closeUs.addAll(eldest.getValue());
+					eldestIterator.remove();
+				}
+			}
+		}
+
+		closeUs.forEach(EngineAndLinters::close);
+	}
+
+	public synchronized int getIdleCount() {
+		return keyToIdle.values().stream().mapToInt(Deque::size).sum();
+	}
+
+	@Override
+	public void close() {
+		List<EngineAndLinters> closeUs = new ArrayList<>();
+
+		synchronized (this) {
+			closed = true;
+			keyToIdle.values().forEach(closeUs::addAll);
+			keyToIdle.clear();
+		}
+
+		closeUs.forEach(EngineAndLinters::close);
+	}
+}
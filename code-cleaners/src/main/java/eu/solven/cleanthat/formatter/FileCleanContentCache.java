@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.hash.HashCode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link ICleanContentCache} persisted in a local folder (e.g. `~/.cleanthat/cache`), so it is shared by successive
+ * runs. Keys are appended to a single file, and loaded in memory on startup. A truncated trailing key (e.g. due to a
+ * crash while writing) is ignored.
+ * 
+ * As keys are never invalidated (e.g. a configuration change leads to new keys), the cache is reset once it holds
+ * `maxKeys` keys: it bounds both the file and the heap.
+ * 
+ * @author Benoit Lacelle
+ *
+ */
+@Slf4j
+public class FileCleanContentCache implements ICleanContentCache, AutoCloseable {
+	public static final String FILENAME = "clean-contents.bin";
+
+	// SHA-256
+	private static final int KEY_LENGTH = 32;
+
+	// 8MB on disk
+	public static final int DEFAULT_MAX_KEYS = 256 * 1024;
+
+	final Path file;
+	final Set<HashCode> cleanKeys = ConcurrentHashMap.newKeySet();
+	final FileChannel appender;
+	final int maxKeys;
+
+	protected FileCleanContentCache(Path file, FileChannel appender, int maxKeys) {
+		this.file = file;
+		this.appender = appender;
+		this.maxKeys = maxKeys;
+	}
+
+	public static FileCleanContentCache open(Path directory) {
+		return open(directory, DEFAULT_MAX_KEYS);
+	}
+
+	public static FileCleanContentCache open(Path directory, int maxKeys) {
+		try {
+			Files.createDirectories(directory);
+			var file = directory.resolve(FILENAME);
+
+			var cache = new FileCleanContentCache(file,
+					FileChannel.open(file,
+							StandardOpenOption.CREATE,
+							StandardOpenOption.WRITE,
+							StandardOpenOption.APPEND),
+					maxKeys);
+			cache.load();
+			return cache;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Issue opening the clean-content cache in " + directory, e);
+		}
+	}
+
+	protected void load() throws IOException {
+		if (Files.size(file) >= (long) maxKeys * KEY_LENGTH) {
+			LOGGER.info("Resetting {} as it holds at least {} keys", file, maxKeys);
+			synchronized (appender) {
+				appender.truncate(0);
+			}
+			return;
+		}
+
+		var bytes = Files.readAllBytes(file);
+
+		var nbKeys = bytes.length / KEY_LENGTH;
+		for (var i = 0; i < nbKeys; i++) {
+			var key = new byte[KEY_LENGTH];
+			System.arraycopy(bytes, i * KEY_LENGTH, key, 0, KEY_LENGTH);
+			cleanKeys.add(HashCode.fromBytes(key));
+		}
+
+		if (bytes.length % KEY_LENGTH != 0) {
+			LOGGER.warn("Ignoring a truncated key in {}", file);
+			// Drop the truncated key, so next keys are aligned
+			synchronized (appender) {
+				appender.truncate((long) nbKeys * KEY_LENGTH);
+			}
+		}
+		LOGGER.info("Loaded {} clean keys from {}", nbKeys, file);
+	}
+
+	@Override
+	public boolean isClean(HashCode key) {
+		return cleanKeys.contains(key);
+	}
+
+	@Override
+	public void markClean(HashCode key) {
+		if (key.bits() != KEY_LENGTH * Byte.SIZE) {
+			throw new IllegalArgumentException("Expected a " + KEY_LENGTH + "bytes key. Was: " + key.bits() + "bits");
+		}
+
+		if (cleanKeys.add(key)) {
+			var buffer = ByteBuffer.wrap(key.asBytes());
+			try {
+				synchronized (appender) {
+					if (cleanKeys.size() > maxKeys) {
+						// Most keys are typically related to previous configurations, or previous contents
+						LOGGER.info("Resetting {} as it holds more than {} keys", file, maxKeys);
+						cleanKeys.clear();
+						cleanKeys.add(key);
+						appender.truncate(0);
+					}
+
+					while (buffer.hasRemaining()) {
+						appender.write(buffer);
+					}
+				}
+			} catch (IOException e) {
+				// The cache is an optimization: we prefer not failing the cleaning process
+				LOGGER.warn("Issue persisting a clean key into {}", file, e);
+			}
+		}
+	}
+
+	public int size() {
+		return cleanKeys.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		appender.close();
+	}
+}
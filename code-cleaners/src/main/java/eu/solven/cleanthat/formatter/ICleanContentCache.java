@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import com.google.common.hash.HashCode;
+
+/**
+ * Remembers which contents are known to be left unchanged by a given configuration. Keys are typically computed by
+ * {@link CachingCodeFormatterApplier}.
+ * 
+ * @author Benoit Lacelle
+ *
+ */
+public interface ICleanContentCache {
+	boolean isClean(HashCode key);
+
+	void markClean(HashCode key);
+}
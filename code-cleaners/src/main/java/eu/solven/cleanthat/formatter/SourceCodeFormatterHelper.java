@@ -37,13 +37,22 @@ public class SourceCodeFormatterHelper {
 	public EngineAndLinters compile(IEngineProperties engineProperties,
 			CleanthatSession cleanthatSession,
 			IEngineLintFixerFactory lintFixerFactory) {
-		var linters = prepareLintFixers(engineProperties, cleanthatSession, lintFixerFactory);
+		// Record the configuration files loaded by the linters (e.g. a Spotless yaml), as they drive their behavior
+		var recordingCodeProvider = new ConfigRecordingCodeProvider(cleanthatSession.getCodeProvider());
+		var recordingSession = new CleanthatSession(cleanthatSession.getRepositoryRoot(),
+				recordingCodeProvider,
+				cleanthatSession.getRepositoryProperties());
+
+		var linters = prepareLintFixers(engineProperties, recordingSession, lintFixerFactory);
 
 		var engine = engineProperties.getEngine();
 		LOGGER.info("engine={} has prepared {} lintFixers", engine, linters.size());
 		linters.forEach(lf -> LOGGER.info("engine={} relies on {}", engine, lf.getClass().getName()));
 
-		return new EngineAndLinters(engineProperties, linters);
+		var configContents = recordingCodeProvider.getRecordedContents();
+		LOGGER.debug("engine={} relies on configurations: {}", engine, configContents.keySet());
+
+		return new EngineAndLinters(engineProperties, linters, configContents);
 	}
 
 	/**
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.google.common.hash.Hashing;
+
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.engine.EngineAndLinters;
+
+public class TestCachingCodeFormatterApplier {
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	final Path path = Path.of("some", "Some.java");
+
+	private EngineAndLinters makeEngine(String engine, ILintFixer lintFixer) {
+		return new EngineAndLinters(CleanthatEngineProperties.builder().engine(engine).build(), List.of(lintFixer));
+	}
+
+	@Test
+	public void testSkipKnownCleanContent() throws Exception {
+		var lintFixer = Mockito.mock(ILintFixer.class);
+		Mockito.when(lintFixer.doFormat(Mockito.anyString())).thenAnswer(invok -> invok.getArgument(0));
+
+		var cacheDirectory = tempFolder.newFolder().toPath();
+		var engine = makeEngine("someEngine", lintFixer);
+		var pathAndContent = new PathAndContent(path, "someCleanContent");
+
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(cacheDirectory),
+				"someVersion")) {
+			Assertions.assertThat(applier.applyProcessors(engine, pathAndContent)).isEqualTo("someCleanContent");
+			Assertions.assertThat(applier.applyProcessors(engine, pathAndContent)).isEqualTo("someCleanContent");
+
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(1);
+			Assertions.assertThat(applier.getSkippedAsClean()).isEqualTo(1);
+		}
+		Mockito.verify(lintFixer, Mockito.times(1)).doFormat(Mockito.anyString());
+
+		// The cache is persisted: a new instance skips the known clean content
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(cacheDirectory),
+				"someVersion")) {
+			Assertions.assertThat(applier.applyProcessors(engine, pathAndContent)).isEqualTo("someCleanContent");
+			Assertions.assertThat(applier.getSkippedAsClean()).isEqualTo(1);
+
+			// Different engine properties: the content has to be processed
+			applier.applyProcessors(makeEngine("otherEngine", lintFixer), pathAndContent);
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(1);
+		}
+
+		// Different cleanthat version: the content has to be processed
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(cacheDirectory),
+				"otherVersion")) {
+			applier.applyProcessors(engine, pathAndContent);
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void testLinterNotifiedOfSkippedContent() throws Exception {
+		var lintFixer = Mockito.mock(ILintFixerWithCleanCache.class);
+		Mockito.when(lintFixer.doFormat(Mockito.anyString())).thenAnswer(invok -> invok.getArgument(0));
+
+		var engine = makeEngine("someEngine", lintFixer);
+		var pathAndContent = new PathAndContent(path, "someCleanContent");
+
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(tempFolder.newFolder().toPath()),
+				"someVersion")) {
+			applier.applyProcessors(engine, pathAndContent);
+			Mockito.verify(lintFixer, Mockito.never()).skippedAsCleanCache(Mockito.any());
+
+			applier.applyProcessors(engine, pathAndContent);
+			Mockito.verify(lintFixer).skippedAsCleanCache(pathAndContent);
+		}
+	}
+
+	@Test
+	public void testConfigContentIsPartOfTheKey() throws Exception {
+		var lintFixer = Mockito.mock(ILintFixer.class);
+		Mockito.when(lintFixer.doFormat(Mockito.anyString())).thenAnswer(invok -> invok.getArgument(0));
+
+		var engineProperties = CleanthatEngineProperties.builder().engine("spotless").build();
+		var pathAndContent = new PathAndContent(path, "someCleanContent");
+
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(tempFolder.newFolder().toPath()),
+				"someVersion")) {
+			applier.applyProcessors(
+					new EngineAndLinters(engineProperties,
+							List.of(lintFixer),
+							Map.of("/.cleanthat/spotless.yaml", Optional.of("someConfig"))),
+					pathAndContent);
+			applier.applyProcessors(
+					new EngineAndLinters(engineProperties,
+							List.of(lintFixer),
+							Map.of("/.cleanthat/spotless.yaml", Optional.of("someConfig"))),
+					pathAndContent);
+			Assertions.assertThat(applier.getSkippedAsClean()).isEqualTo(1);
+
+			// The configuration file has been modified
+			applier.applyProcessors(
+					new EngineAndLinters(engineProperties,
+							List.of(lintFixer),
+							Map.of("/.cleanthat/spotless.yaml", Optional.of("otherConfig"))),
+					pathAndContent);
+			// The configuration file has been removed
+			applier.applyProcessors(
+					new EngineAndLinters(engineProperties,
+							List.of(lintFixer),
+							Map.of("/.cleanthat/spotless.yaml", Optional.empty())),
+					pathAndContent);
+
+			Assertions.assertThat(applier.getSkippedAsClean()).isEqualTo(1);
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void testUnknownVersion() throws Exception {
+		var lintFixer = Mockito.mock(ILintFixer.class);
+		Mockito.when(lintFixer.doFormat(Mockito.anyString())).thenAnswer(invok -> invok.getArgument(0));
+
+		var cache = FileCleanContentCache.open(tempFolder.newFolder().toPath());
+		var engine = makeEngine("someEngine", lintFixer);
+		var pathAndContent = new PathAndContent(path, "someCleanContent");
+
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(), cache, Optional.empty())) {
+			applier.applyProcessors(engine, pathAndContent);
+			applier.applyProcessors(engine, pathAndContent);
+
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(2);
+			Assertions.assertThat(applier.getSkippedAsClean()).isEqualTo(0);
+			Assertions.assertThat(cache.size()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testDoNotCacheChangedContent() throws Exception {
+		var lintFixer = Mockito.mock(ILintFixer.class);
+		Mockito.when(lintFixer.doFormat(Mockito.anyString())).thenReturn("someCleanContent");
+
+		var engine = makeEngine("someEngine", lintFixer);
+		var pathAndContent = new PathAndContent(path, "someDirtyContent");
+
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(tempFolder.newFolder().toPath()),
+				"someVersion")) {
+			Assertions.assertThat(applier.applyProcessors(engine, pathAndContent)).isEqualTo("someCleanContent");
+			Assertions.assertThat(applier.applyProcessors(engine, pathAndContent)).isEqualTo("someCleanContent");
+
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(2);
+			Assertions.assertThat(applier.getSkippedAsClean()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testDoNotCacheOnFailure() throws Exception {
+		var lintFixer = Mockito.mock(ILintFixer.class);
+		Mockito.when(lintFixer.doFormat(Mockito.anyString())).thenThrow(new IllegalStateException("someIssue"));
+
+		var engine = makeEngine("someEngine", lintFixer);
+		var pathAndContent = new PathAndContent(path, "someContent");
+
+		try (var applier = new CachingCodeFormatterApplier(new CodeFormatterApplier(),
+				FileCleanContentCache.open(tempFolder.newFolder().toPath()),
+				"someVersion")) {
+			applier.applyProcessors(engine, pathAndContent);
+			applier.applyProcessors(engine, pathAndContent);
+
+			Assertions.assertThat(applier.getProcessed()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void testIgnoreTruncatedKey() throws IOException {
+		var cacheDirectory = tempFolder.newFolder().toPath();
+		Files.write(cacheDirectory.resolve(FileCleanContentCache.FILENAME), new byte[] { 1, 2, 3 });
+
+		try (var cache = FileCleanContentCache.open(cacheDirectory)) {
+			Assertions.assertThat(cache.size()).isEqualTo(0);
+		}
+		Assertions.assertThat(cacheDirectory.resolve(FileCleanContentCache.FILENAME)).isEmptyFile();
+	}
+
+	@Test
+	public void testResetBeyondMaxKeys() throws IOException {
+		var cacheDirectory = tempFolder.newFolder().toPath();
+
+		var key0 = Hashing.sha256().hashInt(0);
+		var key1 = Hashing.sha256().hashInt(1);
+		var key2 = Hashing.sha256().hashInt(2);
+
+		try (var cache = FileCleanContentCache.open(cacheDirectory, 2)) {
+			cache.markClean(key0);
+			cache.markClean(key1);
+			Assertions.assertThat(cache.size()).isEqualTo(2);
+
+			// The cache is reset, but for the new key
+			cache.markClean(key2);
+			Assertions.assertThat(cache.size()).isEqualTo(1);
+			Assertions.assertThat(cache.isClean(key0)).isFalse();
+			Assertions.assertThat(cache.isClean(key2)).isTrue();
+		}
+		Assertions.assertThat(Files.size(cacheDirectory.resolve(FileCleanContentCache.FILENAME))).isEqualTo(32L);
+
+		try (var cache = FileCleanContentCache.open(cacheDirectory, 2)) {
+			Assertions.assertThat(cache.isClean(key2)).isTrue();
+		}
+
+		// A file holding too many keys (e.g. given a lower maxKeys) is reset on startup
+		try (var cache = FileCleanContentCache.open(cacheDirectory, 1)) {
+			Assertions.assertThat(cache.size()).isEqualTo(0);
+		}
+		Assertions.assertThat(cacheDirectory.resolve(FileCleanContentCache.FILENAME)).isEmptyFile();
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import eu.solven.cleanthat.config.ConfigHelpers;
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatStepProperties;
+import eu.solven.cleanthat.engine.IEngineLintFixerFactory;
+
+public class TestCleanthatWarmup {
+	final IEngineLintFixerFactory factory = Mockito.mock(IEngineLintFixerFactory.class);
+	final CleanthatWarmup warmup = new CleanthatWarmup(ConfigHelpers.forTests(), List.of(factory));
+
+	final List<String> cleanedPaths = new ArrayList<>();
+	final List<Optional<String>> configurations = new ArrayList<>();
+
+	final CleanthatEngineProperties engineProperties = CleanthatEngineProperties.builder()
+			.engine("someEngine")
+			.step(CleanthatStepProperties.builder().id("someStep").build())
+			.build();
+
+	@Before
+	public void prepareFactory() {
+		Mockito.when(factory.getEngine()).thenReturn("someEngine");
+		Mockito.when(factory.getDefaultIncludes()).thenReturn(Set.of("glob:**/*.java"));
+
+		Mockito.when(factory.makeLintFixer(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invok -> {
+			CleanthatSession session = invok.getArgument(0);
+			configurations.add(session.getCodeProvider().loadContentForPath(".cleanthat/someEngine.yaml"));
+
+			return (ILintFixerWithPath) pathAndContent -> {
+				cleanedPaths.add(pathAndContent.getPath().toString());
+				return pathAndContent.getContent();
+			};
+		});
+	}
+
+	@Test
+	public void testPrime() {
+		Assertions.assertThat(warmup.prime(engineProperties)).isEqualTo(1);
+
+		Assertions.assertThat(cleanedPaths).containsExactly("src/main/java/eu/solven/cleanthat/warmup/Warmup.java");
+	}
+
+	@Test
+	public void testPrime_skippedStep() {
+		var skippedStep = CleanthatStepProperties.builder().id("someStep").skip(true).build();
+		var skippingProperties = CleanthatEngineProperties.builder().engine("someEngine").step(skippedStep).build();
+
+		Assertions.assertThat(warmup.prime(skippingProperties)).isEqualTo(0);
+
+		Assertions.assertThat(cleanedPaths).isEmpty();
+		Mockito.verify(factory, Mockito.never()).makeLintFixer(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void testPrime_unknownEngine() {
+		var unknownEngine = CleanthatEngineProperties.builder().engine("unknownEngine").build();
+
+		Assertions.assertThatThrownBy(() -> warmup.prime(unknownEngine))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("unknownEngine");
+	}
+
+	@Test
+	public void testPrimeDefaults() {
+		Mockito.when(factory.makeDefaultProperties(Mockito.anySet())).thenReturn(engineProperties);
+		Mockito.when(factory.makeCustomDefaultFiles(Mockito.any(), Mockito.anySet()))
+				.thenReturn(Map.of(".cleanthat/someEngine.yaml", "someKey: someValue"));
+
+		Assertions.assertThat(warmup.primeDefaults()).isEqualTo(1);
+
+		Assertions.assertThat(cleanedPaths).containsExactly("src/main/java/eu/solven/cleanthat/warmup/Warmup.java");
+		// The custom files are available to the engine
+		Assertions.assertThat(configurations).containsExactly(Optional.of("someKey: someValue"));
+	}
+}
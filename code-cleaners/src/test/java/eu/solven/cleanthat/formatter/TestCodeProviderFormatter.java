@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import eu.solven.cleanthat.code_provider.inmemory.FileSystemCodeProvider;
+import eu.solven.cleanthat.codeprovider.BufferingCodeWritingBatch;
+import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
+import eu.solven.cleanthat.codeprovider.ICodeWritingMetadata;
+import eu.solven.cleanthat.config.ConfigHelpers;
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatRepositoryProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatStepProperties;
+import eu.solven.cleanthat.engine.IEngineFormatterFactory;
+import eu.solven.cleanthat.engine.IEngineLintFixerFactory;
+import eu.solven.cleanthat.language.IEngineProperties;
+
+public class TestCodeProviderFormatter {
+
+	private IEngineLintFixerFactory makeSuffixingEngine(String engine) {
+		var lintFixerFactory = Mockito.mock(IEngineLintFixerFactory.class);
+		Mockito.when(lintFixerFactory.getEngine()).thenReturn(engine);
+		Mockito.when(lintFixerFactory.makeLintFixer(Mockito.any(), Mockito.any(), Mockito.any()))
+				.thenReturn(code -> code + "-" + engine);
+		return lintFixerFactory;
+	}
+
+	private CleanthatEngineProperties makeEngineProperties(String engine, String include) {
+		var engineProperties = CleanthatEngineProperties.builder()
+				.engine(engine)
+				.step(CleanthatStepProperties.builder().id("someStep").build())
+				.build();
+		engineProperties.getSourceCode().setIncludes(List.of(include));
+		return engineProperties;
+	}
+
+	@Test
+	public void testAllEnginesInSinglePass() throws IOException {
+		var codeProvider = Mockito.spy(FileSystemCodeProvider.forTests());
+		var root = codeProvider.getRepositoryRoot();
+		Files.createDirectories(root.resolve("src"));
+		Files.writeString(root.resolve("src/Some.java"), "java");
+		Files.writeString(root.resolve("src/Some.txt"), "txt");
+
+		var formatterFactory = Mockito.mock(IEngineFormatterFactory.class);
+		var javaEngine = makeSuffixingEngine("javaEngine");
+		var anyEngine = makeSuffixingEngine("anyEngine");
+		Mockito.when(formatterFactory.makeLanguageFormatter(Mockito.any(IEngineProperties.class)))
+				.thenAnswer(invok -> {
+					IEngineProperties engineProperties = invok.getArgument(0);
+					if ("javaEngine".equals(engineProperties.getEngine())) {
+						return javaEngine;
+					} else {
+						return anyEngine;
+					}
+				});
+
+		var repoProperties = CleanthatRepositoryProperties.builder()
+				.engine(makeEngineProperties("javaEngine", "glob:**/*.java"))
+				.engine(makeEngineProperties("anyEngine", "glob:**/*"))
+				.build();
+
+		try (var formatter =
+				new CodeProviderFormatter(ConfigHelpers.forTests(), formatterFactory, new CodeFormatterApplier())) {
+			var result = formatter.formatCode(repoProperties, codeProvider, false);
+			Assertions.assertThat(result.isEmpty()).isFalse();
+		}
+
+		// Each engine processed the output of the previous engine
+		Assertions.assertThat(Files.readString(root.resolve("src/Some.java"))).isEqualTo("java-javaEngine-anyEngine");
+		Assertions.assertThat(Files.readString(root.resolve("src/Some.txt"))).isEqualTo("txt-anyEngine");
+
+		// The repository is listed once, and each file is loaded once
+		Mockito.verify(codeProvider, Mockito.times(1))
+				.listFilesForContent(Mockito.<Set<String>>any(), Mockito.<Consumer<ICodeProviderFile>>any());
+		var fs = root.getFileSystem();
+		Mockito.verify(codeProvider, Mockito.times(1)).loadContentForPath(fs.getPath("src", "Some.java"));
+		Mockito.verify(codeProvider, Mockito.times(1)).loadContentForPath(fs.getPath("src", "Some.txt"));
+	}
+
+	@Test
+	public void testReCleanWhilePersisting() throws IOException {
+		var codeProvider = Mockito.spy(FileSystemCodeProvider.forTests());
+		var root = codeProvider.getRepositoryRoot();
+		Files.createDirectories(root.resolve("src"));
+		Files.writeString(root.resolve("src/Some.java"), "java");
+
+		var formatterFactory = Mockito.mock(IEngineFormatterFactory.class);
+		var javaEngine = makeSuffixingEngine("javaEngine");
+		Mockito.when(formatterFactory.makeLanguageFormatter(Mockito.any(IEngineProperties.class)))
+				.thenReturn(javaEngine);
+
+		var repoProperties = CleanthatRepositoryProperties.builder()
+				.engine(makeEngineProperties("javaEngine", "glob:**/*.java"))
+				.build();
+
+		// Buffer the contents, so they are provided to `persistChanges`
+		Mockito.doReturn(new BufferingCodeWritingBatch(codeProvider)).when(codeProvider).openBatch();
+
+		var fs = root.getFileSystem();
+		Map<String, Optional<String>> pathToReCleaned = new LinkedHashMap<>();
+		Mockito.doAnswer(invok -> {
+			ICodeWritingMetadata metadata = invok.getArgument(1);
+			var reCleaner = metadata.getContentReCleaner().get();
+
+			// e.g. a file modified concurrently
+			pathToReCleaned.put("Some.java", reCleaner.reClean(fs.getPath("src", "Some.java"), "concurrent"));
+			pathToReCleaned.put("Some.txt", reCleaner.reClean(fs.getPath("src", "Some.txt"), "concurrent"));
+
+			return invok.callRealMethod();
+		}).when(codeProvider).persistChanges(Mockito.anyMap(), Mockito.any(ICodeWritingMetadata.class));
+
+		try (var formatter =
+				new CodeProviderFormatter(ConfigHelpers.forTests(), formatterFactory, new CodeFormatterApplier())) {
+			var result = formatter.formatCode(repoProperties, codeProvider, false);
+			Assertions.assertThat(result.isEmpty()).isFalse();
+
+			// The counters are not impacted by the re-cleaning
+			Assertions.assertThat(result.getDetails().get("nb_files_formatted")).isEqualTo(1L);
+		}
+
+		Assertions.assertThat(pathToReCleaned)
+				.containsEntry("Some.java", Optional.of("concurrent-javaEngine"))
+				.containsEntry("Some.txt", Optional.empty());
+	}
+}
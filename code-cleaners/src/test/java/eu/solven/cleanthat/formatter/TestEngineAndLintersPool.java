@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.formatter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.engine.EngineAndLinters;
+import eu.solven.cleanthat.language.IEngineProperties;
+
+public class TestEngineAndLintersPool {
+	final AtomicInteger nbCompiled = new AtomicInteger();
+	final AtomicInteger nbClosed = new AtomicInteger();
+
+	private EngineAndLinters compile(IEngineProperties engineProperties) {
+		nbCompiled.incrementAndGet();
+
+		ILintFixer closeable =
+				Mockito.mock(ILintFixer.class, Mockito.withSettings().extraInterfaces(AutoCloseable.class));
+		try {
+			Mockito.doAnswer(invok -> nbClosed.incrementAndGet()).when((AutoCloseable) closeable).close();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+		return new EngineAndLinters(engineProperties, List.of(closeable));
+	}
+
+	@Test
+	public void testReuseIdleEngine() {
+		var engineProperties = CleanthatEngineProperties.builder().engine("someEngine").build();
+
+		try (var pool = new EngineAndLintersPool(2, 2)) {
+			var first = pool.borrow(engineProperties, () -> compile(engineProperties));
+			// The first engine is in use: a second is compiled
+			var second = pool.borrow(engineProperties, () -> compile(engineProperties));
+			Assertions.assertThat(second).isNotSameAs(first);
+			pool.release(engineProperties, first);
+			pool.release(engineProperties, second);
+
+			// Equal properties (but not same instance) share the same engines
+			var equalProperties = CleanthatEngineProperties.builder().engine("someEngine").build();
+			var third = pool.borrow(equalProperties, () -> compile(equalProperties));
+			Assertions.assertThat(third).isIn(first, second);
+			pool.release(equalProperties, third);
+
+			Assertions.assertThat(nbCompiled).hasValue(2);
+			Assertions.assertThat(pool.getIdleCount()).isEqualTo(2);
+		}
+
+		Assertions.assertThat(nbClosed).hasValue(2);
+	}
+
+	@Test
+	public void testBounded() {
+		try (var pool = new EngineAndLintersPool(2, 1)) {
+			var engineProperties = CleanthatEngineProperties.builder().engine("someEngine").build();
+
+			var first = pool.borrow(engineProperties, () -> compile(engineProperties));
+			var second = pool.borrow(engineProperties, () -> compile(engineProperties));
+			pool.release(engineProperties, first);
+			// Only 1 idle engine per key
+			pool.release(engineProperties, second);
+			Assertions.assertThat(nbClosed).hasValue(1);
+
+			var otherProperties = CleanthatEngineProperties.builder().engine("otherEngine").build();
+			pool.release(otherProperties, pool.borrow(otherProperties, () -> compile(otherProperties)));
+			Assertions.assertThat(nbClosed).hasValue(1);
+
+			// Touch someEngine, so that otherEngine is the least recently used
+			pool.release(engineProperties, pool.borrow(engineProperties, () -> compile(engineProperties)));
+
+			var thirdProperties = CleanthatEngineProperties.builder().engine("thirdEngine").build();
+			pool.release(thirdProperties, pool.borrow(thirdProperties, () -> compile(thirdProperties)));
+			// otherEngine has been evicted
+			Assertions.assertThat(nbClosed).hasValue(2);
+
+			Assertions.assertThat(nbCompiled).hasValue(4);
+			pool.release(engineProperties, pool.borrow(engineProperties, () -> compile(engineProperties)));
+			Assertions.assertThat(nbCompiled).hasValue(4);
+		}
+
+		Assertions.assertThat(nbClosed).hasValue(4);
+	}
+}
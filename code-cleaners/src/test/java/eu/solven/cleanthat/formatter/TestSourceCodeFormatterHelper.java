@@ -15,6 +15,52 @@
  */
 package eu.solven.cleanthat.formatter;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import eu.solven.cleanthat.codeprovider.ICodeProvider;
+import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatRepositoryProperties;
+import eu.solven.cleanthat.config.pojo.CleanthatStepProperties;
+import eu.solven.cleanthat.engine.IEngineLintFixerFactory;
+
 public class TestSourceCodeFormatterHelper {
+	final Path configPath = Path.of("/.cleanthat/spotless.yaml");
+	final Path missingPath = Path.of("/.cleanthat/eclipse.xml");
+
+	@Test
+	public void testCompile_recordConfigContents() throws Exception {
+		var codeProvider = Mockito.mock(ICodeProvider.class);
+		Mockito.when(codeProvider.loadContentForPath(configPath)).thenReturn(Optional.of("someConfig"));
+		Mockito.when(codeProvider.loadContentForPath(missingPath)).thenReturn(Optional.empty());
+
+		var factory = Mockito.mock(IEngineLintFixerFactory.class);
+		Mockito.when(factory.makeLintFixer(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invok -> {
+			CleanthatSession session = invok.getArgument(0);
+			session.getCodeProvider().loadContentForPath(configPath);
+			session.getCodeProvider().loadContentForPath(missingPath);
+
+			return Mockito.mock(ILintFixer.class);
+		});
+
+		var engineProperties = CleanthatEngineProperties.builder()
+				.engine("spotless")
+				.step(CleanthatStepProperties.builder().id("someStep").build())
+				.build();
+		var session = new CleanthatSession(Path.of("/"),
+				codeProvider,
+				CleanthatRepositoryProperties.builder().build());
 
+		try (var engineAndLinters = new SourceCodeFormatterHelper().compile(engineProperties, session, factory)) {
+			Assertions.assertThat(engineAndLinters.getLinters()).hasSize(1);
+			Assertions.assertThat(engineAndLinters.getConfigContents())
+					.containsEntry(configPath.toString(), Optional.of("someConfig"))
+					.containsEntry(missingPath.toString(), Optional.empty())
+					.hasSize(2);
+		}
+	}
 }
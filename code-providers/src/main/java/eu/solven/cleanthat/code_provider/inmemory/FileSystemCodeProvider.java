@@ -42,7 +42,9 @@ import eu.solven.cleanthat.codeprovider.DummyCodeProviderFile;
 import eu.solven.cleanthat.codeprovider.ICodeProvider;
 import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
 import eu.solven.cleanthat.codeprovider.ICodeProviderWriter;
+import eu.solven.cleanthat.codeprovider.ICodeWritingBatch;
 import eu.solven.cleanthat.codeprovider.ICodeWritingMetadata;
+import eu.solven.cleanthat.codeprovider.StagingCodeWritingBatch;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -140,29 +142,64 @@ public class FileSystemCodeProvider implements ICodeProviderWriter {
 	public boolean persistChanges(Map<Path, String> pathToMutatedContent, ICodeWritingMetadata codeWritingMetadata) {
 		var hasWritten = new AtomicBoolean();
 		pathToMutatedContent.forEach((inMemoryPath, content) -> {
-			var resolved = resolvePath(inMemoryPath);
-			try {
-				Files.createDirectories(resolved.getParent());
-
-				if (Files.exists(resolved)) {
-					var existingContent = Files.readString(resolved, charset);
-
-					if (existingContent.equals(content)) {
-						LOGGER.info("We skip writing content as same content already present: {}", resolved);
-						return;
-					}
-				}
-
-				LOGGER.info("Write file: {}", resolved);
-				Files.write(resolved, content.getBytes(charset));
+			if (writeContent(inMemoryPath, content, true)) {
 				hasWritten.set(true);
-			} catch (IOException e) {
-				throw new UncheckedIOException("Issue on: " + inMemoryPath + " (resolved into " + resolved + ")", e);
 			}
 		});
 		return hasWritten.get();
 	}
 
+	/**
+	 * The contents are staged in a temporary directory, so they are not accumulated in memory. They are written into
+	 * the root only on persist: a failure while cleaning leaves the root untouched.
+	 */
+	@Override
+	public ICodeWritingBatch openBatch() {
+		return new StagingCodeWritingBatch() {
+
+			@Override
+			protected boolean moveIntoPlace(Path path, String content) {
+				// The content has been computed from current content: no need to check if it is already present
+				return writeContent(path, content, false);
+			}
+
+			@Override
+			protected boolean afterMoved(ICodeWritingMetadata metadata, boolean hasWritten) {
+				return hasWritten;
+			}
+		};
+	}
+
+	/**
+	 * 
+	 * @param inMemoryPath
+	 * @param content
+	 * @param skipIfSame
+	 *            if true, we do not write if the existing content is the same
+	 * @return true if the file has been written
+	 */
+	protected boolean writeContent(Path inMemoryPath, String content, boolean skipIfSame) {
+		var resolved = resolvePath(inMemoryPath);
+		try {
+			Files.createDirectories(resolved.getParent());
+
+			if (skipIfSame && Files.exists(resolved)) {
+				var existingContent = Files.readString(resolved, charset);
+
+				if (existingContent.equals(content)) {
+					LOGGER.info("We skip writing content as same content already present: {}", resolved);
+					return false;
+				}
+			}
+
+			LOGGER.info("Write file: {}", resolved);
+			Files.write(resolved, content.getBytes(charset));
+			return true;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Issue on: " + inMemoryPath + " (resolved into " + resolved + ")", e);
+		}
+	}
+
 	@Override
 	public Optional<String> loadContentForPath(Path path) throws IOException {
 		CleanthatPathHelpers.checkContentPath(path);
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.inmemory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.codeprovider.DummyCodeProviderFile;
+import eu.solven.cleanthat.codeprovider.ICodeProvider;
+import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
+import eu.solven.cleanthat.config.IncludeExcludeHelpers;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An {@link ICodeProvider} over a ZIP archive, like the ones generated by Github for a given ref (with the content in a
+ * single root directory).
+ * 
+ * The archive is read once, in a streaming fashion: nothing is written on disk. Only the text files matching the
+ * include patterns are materialized, in memory, up to a budget. The other entries are only listed: their content has
+ * to be loaded by other means (see {@link #isNotMaterialized(Path)}).
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class ZipArchiveCodeProvider implements ICodeProvider {
+	// Larger entries are not materialized, as they are typically generated files
+	public static final int MAX_ENTRY_SIZE = 4 * 1024 * 1024;
+
+	// Bounds the memory held by the materialized contents, e.g. if all files are included
+	public static final long MAX_MATERIALIZED_CHARS = 64 * 1024 * 1024;
+
+	// The number of leading bytes searched for a NUL byte, to detect binary entries
+	private static final int BINARY_PROBE_SIZE = 8 * 1024;
+
+	final Path root;
+	final String repoUri;
+
+	// All the file entries, in the archive order
+	final List<Path> entries;
+	final Map<Path, String> pathToContent;
+	// The entries whose content is not materialized (e.g. not included, too large, binary)
+	final Set<Path> notMaterialized;
+
+	protected ZipArchiveCodeProvider(Path root,
+			String repoUri,
+			List<Path> entries,
+			Map<Path, String> pathToContent,
+			Set<Path> notMaterialized) {
+		this.root = root;
+		this.repoUri = repoUri;
+		this.entries = List.copyOf(entries);
+		this.pathToContent = Map.copyOf(pathToContent);
+		this.notMaterialized = Set.copyOf(notMaterialized);
+	}
+
+	/**
+	 * 
+	 * @param root
+	 *            the root of the repository, used to build the content paths
+	 * @param repoUri
+	 * @param zipInputStream
+	 *            the ZIP archive. It is read but not closed.
+	 * @param includes
+	 *            a {@link Set} of pattern like 'glob:**\/src/\**\/*.java'. Only the matching entries are materialized.
+	 * @return an {@link ZipArchiveCodeProvider} holding the materialized entries
+	 * @throws IOException
+	 */
+	public static ZipArchiveCodeProvider read(Path root, String repoUri, InputStream zipInputStream, Set<String> includes)
+			throws IOException {
+		return read(root, repoUri, zipInputStream, includes, MAX_MATERIALIZED_CHARS);
+	}
+
+	/**
+	 * 
+	 * @param root
+	 * @param repoUri
+	 * @param zipInputStream
+	 * @param includes
+	 * @param maxMaterializedChars
+	 *            once this number of chars is materialized, the following entries are not materialized
+	 * @return an {@link ZipArchiveCodeProvider} holding the materialized entries
+	 * @throws IOException
+	 */
+	@SuppressWarnings({ "PMD.AssignmentInOperand", "PMD.CloseResource" })
+	public static ZipArchiveCodeProvider read(Path root,
+			String repoUri,
+			InputStream zipInputStream,
+			Set<String> includes,
+			long maxMaterializedChars) throws IOException {
+		var includeMatchers = IncludeExcludeHelpers.prepareMatcher(root.getFileSystem(), includes);
+
+		List<Path> entries = new ArrayList<>();
+		Map<Path, String> pathToContent = new HashMap<>();
+		Set<Path> notMaterialized = new HashSet<>();
+
+		String rootDirectory = null;
+		long nbMaterializedChars = 0;
+
+		// The ZipInputStream is not closed, as it would close the input stream
+		var zipIn = new ZipInputStream(zipInputStream);
+		for (ZipEntry ze; (ze = zipIn.getNextEntry()) != null;) {
+			var entryName = ze.getName();
+
+			var indexOfSlash = entryName.indexOf('/');
+			if (indexOfSlash < 0) {
+				throw new IllegalStateException("We expected a single directory in the root. Entry: " + entryName);
+			}
+			var entryRootDirectory = entryName.substring(0, indexOfSlash);
+			if (rootDirectory == null) {
+				rootDirectory = entryRootDirectory;
+			} else if (!rootDirectory.equals(entryRootDirectory)) {
+				throw new IllegalStateException("We expected a single directory in the root. Were: " + rootDirectory
+						+ " and "
+						+ entryRootDirectory);
+			}
+
+			if (ze.isDirectory()) {
+				continue;
+			}
+
+			// makeContentPath rejects the entries escaping the root (see https://snyk.io/research/zip-slip-vulnerability)
+			var contentPath = CleanthatPathHelpers.makeContentPath(root, entryName.substring(indexOfSlash + 1));
+			entries.add(contentPath);
+
+			if (IncludeExcludeHelpers.findMatching(includeMatchers, contentPath).isEmpty()) {
+				// The content of this entry is skipped by the next `.getNextEntry()`
+				notMaterialized.add(contentPath);
+				continue;
+			} else if (nbMaterializedChars >= maxMaterializedChars) {
+				LOGGER.info("We skip {} as {} chars are already materialized", contentPath, nbMaterializedChars);
+				notMaterialized.add(contentPath);
+				continue;
+			}
+
+			var optContent = readTextEntry(zipIn, contentPath);
+			if (optContent.isPresent()) {
+				pathToContent.put(contentPath, optContent.get());
+				nbMaterializedChars += optContent.get().length();
+			} else {
+				notMaterialized.add(contentPath);
+			}
+		}
+
+		LOGGER.info("Read {} entries from the archive. {} are materialized ({} chars). {} are not materialized",
+				entries.size(),
+				pathToContent.size(),
+				nbMaterializedChars,
+				notMaterialized.size());
+
+		return new ZipArchiveCodeProvider(root, repoUri, entries, pathToContent, notMaterialized);
+	}
+
+	private static Optional<String> readTextEntry(InputStream entryInputStream, Path contentPath) throws IOException {
+		var bytes = entryInputStream.readNBytes(MAX_ENTRY_SIZE + 1);
+
+		if (bytes.length > MAX_ENTRY_SIZE) {
+			LOGGER.info("We skip {} as it is larger than {} bytes", contentPath, MAX_ENTRY_SIZE);
+			return Optional.empty();
+		}
+
+		for (var i = 0; i < Math.min(bytes.length, BINARY_PROBE_SIZE); i++) {
+			if (bytes[i] == 0) {
+				LOGGER.info("We skip {} as it looks binary", contentPath);
+				return Optional.empty();
+			}
+		}
+
+		try {
+			// `.newDecoder()` reports malformed input, while `new String(bytes, UTF_8)` would replace it
+			return Optional.of(StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString());
+		} catch (CharacterCodingException e) {
+			LOGGER.warn("Issue reading {}", contentPath, e);
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public Path getRepositoryRoot() {
+		return root;
+	}
+
+	@Override
+	public void listFilesForContent(Set<String> includes, Consumer<ICodeProviderFile> consumer) throws IOException {
+		List<PathMatcher> includeMatchers = IncludeExcludeHelpers.prepareMatcher(root.getFileSystem(), includes);
+
+		entries.stream()
+				.filter(contentPath -> IncludeExcludeHelpers.findMatching(includeMatchers, contentPath).isPresent())
+				.forEach(contentPath -> consumer.accept(new DummyCodeProviderFile(contentPath, contentPath)));
+	}
+
+	@Override
+	public Optional<String> loadContentForPath(Path path) throws IOException {
+		CleanthatPathHelpers.checkContentPath(path);
+
+		return Optional.ofNullable(pathToContent.get(path));
+	}
+
+	/**
+	 * 
+	 * @param path
+	 * @return true if the path is in the archive, but its content has not been materialized (e.g. as it did not match
+	 *         the include patterns, or it is binary).
+	 */
+	public boolean isNotMaterialized(Path path) {
+		return notMaterialized.contains(path);
+	}
+
+	@Override
+	public String getRepoUri() {
+		return repoUri;
+	}
+
+	@Override
+	public String toString() {
+		return "ZIP archive of " + repoUri;
+	}
+}
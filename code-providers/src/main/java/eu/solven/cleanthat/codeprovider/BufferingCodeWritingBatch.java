@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.codeprovider;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An {@link ICodeWritingBatch} buffering the mutated contents until they are persisted through
+ * {@link ICodeProviderWriterLogic#persistChanges(Map, ICodeWritingMetadata)}.
+ *
+ * @author Benoit Lacelle
+ */
+public class BufferingCodeWritingBatch implements ICodeWritingBatch {
+	final ICodeProviderWriterLogic writerLogic;
+
+	// Written concurrently by the formatting threads
+	final Map<Path, String> pathToMutatedContent = Collections.synchronizedMap(new LinkedHashMap<>());
+
+	public BufferingCodeWritingBatch(ICodeProviderWriterLogic writerLogic) {
+		this.writerLogic = writerLogic;
+	}
+
+	@Override
+	public void write(Path path, String content) {
+		pathToMutatedContent.put(path, content);
+	}
+
+	@Override
+	public Optional<String> getPending(Path path) {
+		return Optional.ofNullable(pathToMutatedContent.get(path));
+	}
+
+	@Override
+	public int size() {
+		return pathToMutatedContent.size();
+	}
+
+	@Override
+	public boolean persist(ICodeWritingMetadata metadata) {
+		Map<Path, String> copy;
+		synchronized (pathToMutatedContent) {
+			copy = new LinkedHashMap<>(pathToMutatedContent);
+		}
+		return writerLogic.persistChanges(copy, metadata);
+	}
+
+	@Override
+	public void close() {
+		pathToMutatedContent.clear();
+	}
+}
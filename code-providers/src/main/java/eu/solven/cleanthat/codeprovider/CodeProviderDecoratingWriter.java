@@ -69,6 +69,16 @@ public class CodeProviderDecoratingWriter implements ICodeProviderWriter {
 		return codeProvider.loadContentForPath(path);
 	}
 
+	@Override
+	public void prefetchContentForPath(Path path) {
+		codeProvider.prefetchContentForPath(path);
+	}
+
+	@Override
+	public void stopPrefetching() {
+		codeProvider.stopPrefetching();
+	}
+
 	@Override
 	public String getRepoUri() {
 		return codeProvider.getRepoUri();
@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.codeprovider;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Default and simple implementation of {@link ICodeWritingMetadata}
@@ -26,10 +27,18 @@ import java.util.List;
 public class CodeWritingMetadata implements ICodeWritingMetadata {
 	final List<String> comments;
 	final List<String> labels;
+	final Optional<IContentReCleaner> optContentReCleaner;
 
-	public CodeWritingMetadata(List<String> comments, List<String> labels) {
+	public CodeWritingMetadata(List<String> comments,
+			List<String> labels,
+			Optional<IContentReCleaner> optContentReCleaner) {
 		this.comments = comments;
 		this.labels = labels;
+		this.optContentReCleaner = optContentReCleaner;
+	}
+
+	public CodeWritingMetadata(List<String> comments, List<String> labels) {
+		this(comments, labels, Optional.empty());
 	}
 
 	@Override
@@ -41,6 +50,11 @@ public class CodeWritingMetadata implements ICodeWritingMetadata {
 		return labels;
 	}
 
+	@Override
+	public Optional<IContentReCleaner> getContentReCleaner() {
+		return optContentReCleaner;
+	}
+
 	public static ICodeWritingMetadata empty() {
 		return new CodeWritingMetadata(List.of(), List.of());
 	}
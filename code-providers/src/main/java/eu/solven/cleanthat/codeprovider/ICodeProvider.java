@@ -61,6 +61,24 @@ public interface ICodeProvider {
 
 	Optional<String> loadContentForPath(Path path) throws IOException;
 
+	/**
+	 * Hints the content of given path will be loaded soon. Remote implementations may start loading it
+	 * asynchronously, so it is available by the time {@link #loadContentForPath(Path)} is called.
+	 * 
+	 * @param path
+	 */
+	default void prefetchContentForPath(Path path) {
+		// By default, contents are loaded lazily
+	}
+
+	/**
+	 * Hints no more content will be prefetched, so the related resources (e.g. threads, contents not loaded yet) can be
+	 * released.
+	 */
+	default void stopPrefetching() {
+		// By default, nothing is prefetched
+	}
+
 	/**
 	 * 
 	 * @param rawPath
@@ -34,4 +34,13 @@ public interface ICodeProviderWriterLogic {
 	 */
 	boolean persistChanges(Map<Path, String> pathToMutatedContent, ICodeWritingMetadata metadata);
 
+	/**
+	 * 
+	 * @return an {@link ICodeWritingBatch} receiving the mutated contents as they are produced. By default, they are
+	 *         buffered in memory until {@link ICodeWritingBatch#persist(ICodeWritingMetadata)}.
+	 */
+	default ICodeWritingBatch openBatch() {
+		return new BufferingCodeWritingBatch(this);
+	}
+
 }
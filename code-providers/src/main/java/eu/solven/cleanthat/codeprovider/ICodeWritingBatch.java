@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.codeprovider;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Receives mutated contents as they are produced, then persists them as a whole. Implementations are thread-safe.
+ *
+ * @author Benoit Lacelle
+ */
+public interface ICodeWritingBatch extends AutoCloseable {
+
+	/**
+	 * 
+	 * @param path
+	 * @param content
+	 *            the mutated content. It may be written right away (e.g. into a FileSystem), or buffered until
+	 *            {@link #persist(ICodeWritingMetadata)}.
+	 */
+	void write(Path path, String content);
+
+	/**
+	 * 
+	 * @param path
+	 * @return the content written for given path, if it is not readable yet through the {@link ICodeProvider}.
+	 */
+	Optional<String> getPending(Path path);
+
+	/**
+	 * 
+	 * @return the number of written paths
+	 */
+	int size();
+
+	/**
+	 * 
+	 * @param metadata
+	 * @return true if some commit has been pushed
+	 */
+	boolean persist(ICodeWritingMetadata metadata);
+
+	/**
+	 * Releases the contents which have not been persisted (e.g. as the cleaning failed).
+	 */
+	@Override
+	default void close() {
+		// By default, there is nothing to release
+	}
+}
@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.codeprovider;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Details around a Content-persistence operation
@@ -26,4 +27,13 @@ import java.util.List;
 public interface ICodeWritingMetadata {
 
 	List<String> getComments();
+
+	/**
+	 * 
+	 * @return an {@link IContentReCleaner} enabling to clean again the paths modified concurrently, instead of
+	 *         discarding them.
+	 */
+	default Optional<IContentReCleaner> getContentReCleaner() {
+		return Optional.empty();
+	}
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.codeprovider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Cleans again a single content. It enables cleaning a content which has been committed concurrently to the cleaning
+ * of the whole change-set, instead of discarding the cleaning of given path.
+ *
+ * @author Benoit Lacelle
+ */
+@FunctionalInterface
+public interface IContentReCleaner {
+	/**
+	 * 
+	 * @param path
+	 * @param content
+	 * @return the cleaned content, or empty if the path is not processed by any engine.
+	 * @throws IOException
+	 */
+	Optional<String> reClean(Path path, String content) throws IOException;
+}
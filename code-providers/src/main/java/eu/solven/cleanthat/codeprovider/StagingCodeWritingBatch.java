@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.codeprovider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.util.FileSystemUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An {@link ICodeWritingBatch} staging the mutated contents into a temporary directory, so they are not accumulated in
+ * memory. They are moved into place only on {@link #persist(ICodeWritingMetadata)}: a failure while cleaning leaves
+ * the target untouched.
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public abstract class StagingCodeWritingBatch implements ICodeWritingBatch {
+	// Sorted, so the contents are moved into place in a stable order
+	final Map<Path, Path> pathToStaged = new ConcurrentSkipListMap<>();
+	final AtomicInteger nbStaged = new AtomicInteger();
+
+	Path stagingDirectory;
+
+	/**
+	 * 
+	 * @param path
+	 * @param content
+	 * @return true if the content has actually been written
+	 */
+	protected abstract boolean moveIntoPlace(Path path, String content);
+
+	/**
+	 * Called once all contents are moved into place
+	 * 
+	 * @param metadata
+	 * @param hasWritten
+	 *            true if some content has actually been written
+	 * @return true if some commit has been pushed
+	 */
+	protected abstract boolean afterMoved(ICodeWritingMetadata metadata, boolean hasWritten);
+
+	protected synchronized Path getStagingDirectory() throws IOException {
+		if (stagingDirectory == null) {
+			stagingDirectory = Files.createTempDirectory("cleanthat-batch");
+			LOGGER.debug("Mutated contents are staged in {}", stagingDirectory);
+		}
+		return stagingDirectory;
+	}
+
+	@Override
+	public void write(Path path, String content) {
+		try {
+			// The staged file name does not depend on the path, which may belong to another FileSystem
+			var staged = getStagingDirectory().resolve(Integer.toString(nbStaged.getAndIncrement()));
+			Files.writeString(staged, content, StandardCharsets.UTF_8);
+
+			var previous = pathToStaged.put(path, staged);
+			if (previous != null) {
+				Files.deleteIfExists(previous);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Issue staging " + path, e);
+		}
+	}
+
+	@Override
+	public Optional<String> getPending(Path path) {
+		var staged = pathToStaged.get(path);
+		if (staged == null) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(Files.readString(staged, StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Issue reading staged " + path, e);
+		}
+	}
+
+	@Override
+	public int size() {
+		return pathToStaged.size();
+	}
+
+	@Override
+	public boolean persist(ICodeWritingMetadata metadata) {
+		try {
+			var hasWritten = false;
+			for (var path : pathToStaged.keySet()) {
+				var content = getPending(path).get();
+				if (moveIntoPlace(path, content)) {
+					hasWritten = true;
+				}
+			}
+
+			return afterMoved(metadata, hasWritten);
+		} finally {
+			close();
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		pathToStaged.clear();
+
+		if (stagingDirectory != null) {
+			try {
+				FileSystemUtils.deleteRecursively(stagingDirectory);
+			} catch (IOException e) {
+				LOGGER.warn("Issue deleting {}", stagingDirectory, e);
+			}
+			stagingDirectory = null;
+		}
+	}
+}
@@ -58,6 +58,47 @@ public class TestFileSystemCodeProvider {
 		});
 	}
 
+	@Test
+	public void testBatch_writtenOnPersist() throws IOException {
+		ICodeProviderWriter cp = new FileSystemCodeProvider(fs.getPath(fs.getSeparator()));
+
+		var batch = cp.openBatch();
+		var path = fs.getPath("root", "directory", "file.txt");
+		batch.write(path, "newContent");
+
+		// The content is staged until the batch is persisted
+		Assertions.assertThat(cp.loadContentForPath(path)).isEmpty();
+		Assertions.assertThat(batch.getPending(path)).contains("newContent");
+		Assertions.assertThat(batch.size()).isEqualTo(1);
+
+		Assertions.assertThat(batch.persist(CodeWritingMetadata.empty())).isTrue();
+		Assertions.assertThat(cp.loadContentForPath(path)).contains("newContent");
+		Assertions.assertThat(batch.getPending(path)).isEmpty();
+
+		Assertions.assertThat(cp.openBatch().persist(CodeWritingMetadata.empty())).isFalse();
+	}
+
+	@Test
+	public void testBatch_failureBeforePersist() throws IOException {
+		ICodeProviderWriter cp = new FileSystemCodeProvider(fs.getPath(fs.getSeparator()));
+
+		var path = fs.getPath("root", "file.txt");
+		Files.createDirectories(cp.getRepositoryRoot().resolve(path).getParent());
+		Files.writeString(cp.getRepositoryRoot().resolve(path), "initialContent");
+
+		var newPath = fs.getPath("root", "newFile.txt");
+		try (var batch = cp.openBatch()) {
+			batch.write(path, "cleanContent");
+			batch.write(newPath, "newContent");
+
+			// Some cleaning failed: the batch is closed without being persisted
+		}
+
+		// The root is left untouched
+		Assertions.assertThat(cp.loadContentForPath(path)).contains("initialContent");
+		Assertions.assertThat(cp.loadContentForPath(newPath)).isEmpty();
+	}
+
 	@Test
 	public void testLoadFileOutOfRoot() throws IOException {
 		var secretPath = fs.getPath(fs.getSeparator(), "secretFile");
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.inmemory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.google.common.jimfs.Jimfs;
+
+import eu.solven.cleanthat.codeprovider.CodeProviderHelpers;
+
+public class TestZipArchiveCodeProvider {
+	final Path root = CodeProviderHelpers.getRoot(Jimfs.newFileSystem());
+
+	private static byte[] makeZip(Map<String, byte[]> entries) throws IOException {
+		var baos = new ByteArrayOutputStream();
+		try (var zipOut = new ZipOutputStream(baos)) {
+			for (var entry : entries.entrySet()) {
+				zipOut.putNextEntry(new ZipEntry(entry.getKey()));
+				zipOut.write(entry.getValue());
+				zipOut.closeEntry();
+			}
+		}
+		return baos.toByteArray();
+	}
+
+	private ZipArchiveCodeProvider read(Map<String, byte[]> entries, Set<String> includes) throws IOException {
+		return ZipArchiveCodeProvider
+				.read(root, "someRepoUri", new ByteArrayInputStream(makeZip(entries)), includes);
+	}
+
+	@Test
+	public void testReadIncluded() throws IOException {
+		var codeProvider = read(Map.of("someRepo-sha1/",
+				new byte[0],
+				"someRepo-sha1/root.txt",
+				"someRoot".getBytes(StandardCharsets.UTF_8),
+				"someRepo-sha1/src/Some.java",
+				"someJava".getBytes(StandardCharsets.UTF_8)), Set.of("glob:**/*.java"));
+
+		List<String> paths = new ArrayList<>();
+		codeProvider.listFilesForContent(file -> paths.add(file.getPath().toString()));
+		Assertions.assertThat(paths).containsExactlyInAnyOrder("root.txt", "src/Some.java");
+
+		paths.clear();
+		codeProvider.listFilesForContent(Set.of("glob:**/*.java"), file -> paths.add(file.getPath().toString()));
+		Assertions.assertThat(paths).containsExactly("src/Some.java");
+
+		Assertions.assertThat(codeProvider.loadContentForPath("src/Some.java")).contains("someJava");
+
+		// The not included files are listed, but not materialized
+		Assertions.assertThat(codeProvider.loadContentForPath("root.txt")).isEmpty();
+		Assertions.assertThat(codeProvider.isNotMaterialized(root.relativize(root.resolve("root.txt")))).isTrue();
+		Assertions.assertThat(codeProvider.isNotMaterialized(root.relativize(root.resolve("src/Some.java")))).isFalse();
+	}
+
+	@Test
+	public void testSkipBinary() throws IOException {
+		var codeProvider = read(Map.of("someRepo-sha1/some.bin", new byte[] { 'a', 0, 'b' }), Set.of("glob:**/*"));
+
+		List<String> paths = new ArrayList<>();
+		codeProvider.listFilesForContent(file -> paths.add(file.getPath().toString()));
+		Assertions.assertThat(paths).containsExactly("some.bin");
+
+		// The binary content has to be loaded by other means
+		Assertions.assertThat(codeProvider.loadContentForPath("some.bin")).isEmpty();
+		Assertions.assertThat(codeProvider.isNotMaterialized(root.relativize(root.resolve("some.bin")))).isTrue();
+	}
+
+	@Test
+	public void testSkipTooLarge() throws IOException {
+		var codeProvider = read(Map.of("someRepo-sha1/large.txt", new byte[ZipArchiveCodeProvider.MAX_ENTRY_SIZE + 1]),
+				Set.of("glob:**/*"));
+
+		Assertions.assertThat(codeProvider.loadContentForPath("large.txt")).isEmpty();
+		Assertions.assertThat(codeProvider.isNotMaterialized(root.relativize(root.resolve("large.txt")))).isTrue();
+	}
+
+	@Test
+	public void testMaxMaterializedChars() throws IOException {
+		var codeProvider = ZipArchiveCodeProvider.read(root,
+				"someRepoUri",
+				new ByteArrayInputStream(makeZip(Map.of("someRepo-sha1/a.txt",
+						"someA".getBytes(StandardCharsets.UTF_8),
+						"someRepo-sha1/b.txt",
+						"someB".getBytes(StandardCharsets.UTF_8)))),
+				Set.of("glob:**/*"),
+				1);
+
+		// Only the first entry is materialized, whatever the order of the archive
+		var nbMaterialized = List.of("a.txt", "b.txt")
+				.stream()
+				.filter(p -> !codeProvider.isNotMaterialized(root.relativize(root.resolve(p))))
+				.count();
+		Assertions.assertThat(nbMaterialized).isEqualTo(1);
+	}
+
+	@Test
+	public void testSkipNotUtf8() throws IOException {
+		var codeProvider = read(Map.of("someRepo-sha1/latin1.txt", "é".getBytes(StandardCharsets.ISO_8859_1)),
+				Set.of("glob:**/*"));
+
+		Assertions.assertThat(codeProvider.loadContentForPath("latin1.txt")).isEmpty();
+	}
+
+	@Test
+	public void testZipSlip() throws IOException {
+		Assertions
+				.assertThatThrownBy(() -> read(Map.of("someRepo-sha1/../../evil.txt", new byte[] { 'a' }),
+						Set.of("glob:**/*")))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testMultipleRoots() throws IOException {
+		Assertions
+				.assertThatThrownBy(() -> read(Map.of("someRepo-sha1/a.txt",
+						new byte[] { 'a' },
+						"otherRepo-sha1/b.txt",
+						new byte[] { 'b' }), Set.of("glob:**/*")))
+				.isInstanceOf(IllegalStateException.class);
+	}
+}
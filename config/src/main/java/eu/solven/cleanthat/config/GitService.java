@@ -18,6 +18,7 @@ package eu.solven.cleanthat.config;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
@@ -39,6 +40,11 @@ import lombok.extern.slf4j.Slf4j;
 public class GitService implements IGitService, InitializingBean {
 
 	private static final String KEY_GIT_COMMIT_ID = "git.commit.id";
+	private static final String KEY_GIT_DIRTY = "git.dirty";
+
+	// The commit id in git.fallback.json
+	public static final String FALLBACK_SHA1 = "missing_git.json";
+	public static final String ERROR_SHA1 = "error";
 
 	@Override
 	public void afterPropertiesSet() throws IOException {
@@ -80,8 +86,32 @@ public class GitService implements IGitService, InitializingBean {
 			gitService.afterPropertiesSet();
 		} catch (IOException e) {
 			LOGGER.warn("Issue fetching git.sha1", e);
-			return "error";
+			return ERROR_SHA1;
 		}
 		return gitService.getSha1();
 	}
+
+	/**
+	 * 
+	 * @return the sha1 of current build, or empty if it does not identify the code (e.g. git.json is missing, or the
+	 *         build has uncommitted changes)
+	 */
+	public static Optional<String> optSafeSha1() {
+		Map<String, ?> properties;
+		try {
+			properties = new GitService().getProperties();
+		} catch (IOException e) {
+			LOGGER.warn("Issue fetching git.sha1", e);
+			return Optional.empty();
+		}
+
+		var sha1 = PepperMapHelper.getRequiredString(properties, KEY_GIT_COMMIT_ID);
+		if (FALLBACK_SHA1.equals(sha1)) {
+			return Optional.empty();
+		} else if (Boolean.parseBoolean(String.valueOf(properties.get(KEY_GIT_DIRTY)))) {
+			LOGGER.info("sha1={} is dirty: it does not identify the code", sha1);
+			return Optional.empty();
+		}
+		return Optional.of(sha1);
+	}
 }
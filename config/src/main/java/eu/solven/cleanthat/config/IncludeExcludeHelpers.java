@@ -18,10 +18,13 @@ package eu.solven.cleanthat.config;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -97,4 +100,74 @@ public class IncludeExcludeHelpers {
 			}
 		}).collect(Collectors.toList());
 	}
+
+	/**
+	 * Enables pruning the directories which can not hold any included file, without listing their content (e.g. `target/`
+	 * when all includes are under `src/`). The predicate is conservative: it may accept a directory holding no included
+	 * file, but it never rejects a directory holding an included file.
+	 * 
+	 * @param globOrRegex
+	 *            the includes, with the same syntax as {@link #prepareMatcher(FileSystem, Collection)}
+	 * @return a {@link Predicate} over raw directory paths (with '/' as separator, and without leading '/'), true if
+	 *         given directory may hold a file matching any of the includes.
+	 */
+	public static Predicate<String> makeDirectoryPredicate(Collection<String> globOrRegex) {
+		List<String[]> globsSegments = new ArrayList<>();
+
+		for (String r : globOrRegex) {
+			if (r.startsWith("regex:")) {
+				// We do not analyze regexes: any directory may hold a match
+				return directory -> true;
+			}
+
+			var glob = r.startsWith("glob:") ? r.substring("glob:".length()) : r;
+			if (glob.startsWith("/")) {
+				glob = glob.substring(1);
+			}
+
+			if (glob.indexOf('{') >= 0 || glob.indexOf('[') >= 0 || glob.indexOf('\\') >= 0) {
+				// Groups and escapes may hold a '/': we do not split such globs
+				return directory -> true;
+			}
+
+			globsSegments.add(glob.split("/"));
+		}
+
+		return directory -> {
+			var directorySegments = directory.split("/");
+			return globsSegments.stream().anyMatch(globSegments -> mayHoldMatch(globSegments, directorySegments));
+		};
+	}
+
+	private static boolean mayHoldMatch(String[] globSegments, String[] directorySegments) {
+		for (var i = 0; i < directorySegments.length; i++) {
+			var globSegment = globSegments[i];
+			if (globSegment.contains("**")) {
+				// '**' crosses directories: any deeper directory may hold a match
+				return true;
+			} else if (i == globSegments.length - 1) {
+				// The glob last segment matches a file: the directory is deeper than any match
+				return false;
+			} else if (!matchesSegment(globSegment, directorySegments[i])) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	// '*' and '?' do not cross directories: they can be applied segment by segment
+	private static boolean matchesSegment(String globSegment, String directoryName) {
+		var regex = new StringBuilder();
+		for (var c : globSegment.toCharArray()) {
+			if (c == '*') {
+				regex.append(".*");
+			} else if (c == '?') {
+				regex.append('.');
+			} else {
+				regex.append(Pattern.quote(Character.toString(c)));
+			}
+		}
+		return directoryName.matches(regex.toString());
+	}
 }
@@ -57,4 +57,39 @@ public class TestIncludeExcludeHelpers {
 
 		Assertions.assertThat(optMatcher).isPresent();
 	}
+
+	@Test
+	public void testDirectoryPredicate_literalPrefix() {
+		var predicate = IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("glob:src/main/java/**/*.java"));
+
+		Assertions.assertThat(predicate).accepts("src", "src/main", "src/main/java", "src/main/java/eu/solven");
+		Assertions.assertThat(predicate).rejects("target", "node_modules", "src/test", "src/main/resources");
+	}
+
+	@Test
+	public void testDirectoryPredicate_rootFiles() {
+		var predicate = IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("pom.xml", "glob:*.md"));
+
+		Assertions.assertThat(predicate).rejects("src", "target", "docs/md");
+	}
+
+	@Test
+	public void testDirectoryPredicate_wildcards() {
+		var predicate = IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("glob:module-*/src/*.java"));
+
+		Assertions.assertThat(predicate).accepts("module-a", "module-a/src");
+		Assertions.assertThat(predicate).rejects("target", "module-a/target", "module-a/src/main");
+	}
+
+	@Test
+	public void testDirectoryPredicate_anyDirectory() {
+		Assertions.assertThat(IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("glob:**/*.java")))
+				.accepts("target", "a/b/c");
+		Assertions.assertThat(IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("**")))
+				.accepts("target", "a/b/c");
+		Assertions.assertThat(IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("regex:src/.*")))
+				.accepts("target");
+		Assertions.assertThat(IncludeExcludeHelpers.makeDirectoryPredicate(Arrays.asList("glob:{src,test}/*.java")))
+				.accepts("target");
+	}
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.jgit;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.PackProtocolException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.transport.FilterSpec;
+import org.eclipse.jgit.transport.RefSpec;
+
+import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.codeprovider.DummyCodeProviderFile;
+import eu.solven.cleanthat.codeprovider.ICodeProvider;
+import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
+import eu.solven.cleanthat.config.IncludeExcludeHelpers;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A read-only {@link ICodeProvider} over a single commit, fetched with a depth of 1 into a bare repository: there is
+ * no working tree. The blobs larger than a limit are filtered out of the fetch (a partial clone).
+ * 
+ * Contents are read lazily from the object database, hence only for the files which are actually loaded.
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class JGitShallowCodeProvider implements ICodeProvider, AutoCloseable {
+	// Larger blobs are not fetched, as they are typically binaries or generated files
+	public static final int DEFAULT_BLOB_LIMIT = 4 * 1024 * 1024;
+
+	// The ref holding the fetched commit
+	private static final String FETCHED_REF = "refs/cleanthat/fetched";
+
+	final Path root;
+	final String repoUri;
+	final Repository repository;
+	final JGitTreeReader treeReader;
+
+	protected JGitShallowCodeProvider(Path root, String repoUri, Repository repository, RevTree tree, int blobLimit) {
+		this.root = root;
+		this.repoUri = repoUri;
+		this.repository = repository;
+		this.treeReader = new JGitTreeReader(repository, tree, blobLimit);
+	}
+
+	/**
+	 * 
+	 * @param gitDir
+	 *            the folder of the bare repository
+	 * @param root
+	 *            the root of the repository, used to build the content paths
+	 * @param authTransportUrl
+	 * @param sha1
+	 *            the commit to fetch. The remote has to accept it as `want` (e.g. Github does, for reachable commits)
+	 * @param blobLimit
+	 *            the blobs larger than this size (in bytes) are not fetched
+	 * @return a {@link JGitShallowCodeProvider} over the commit
+	 */
+	@SuppressWarnings("PMD.CloseResource")
+	public static JGitShallowCodeProvider fetch(Path gitDir,
+			Path root,
+			String authTransportUrl,
+			String sha1,
+			int blobLimit) {
+		LOGGER.info("Fetching sha1={} with depth=1 into {}", sha1, gitDir);
+
+		FilterSpec filterSpec;
+		try {
+			// https://git-scm.com/docs/git-rev-list#Documentation/git-rev-list.txt---filterltfilter-specgt
+			filterSpec = FilterSpec.fromFilterLine("blob:limit=" + blobLimit);
+		} catch (PackProtocolException e) {
+			throw new IllegalArgumentException("Invalid blobLimit: " + blobLimit, e);
+		}
+
+		Git jgit;
+		try {
+			jgit = Git.init().setBare(true).setDirectory(gitDir.toFile()).call();
+		} catch (GitAPIException e) {
+			throw new IllegalArgumentException("Issue initializing " + gitDir, e);
+		}
+
+		try {
+			var fetch = jgit.fetch()
+					.setRemote(authTransportUrl)
+					.setRefSpecs(new RefSpec(sha1 + ":" + FETCHED_REF))
+					.setDepth(1)
+					.setTransportConfigCallback(transport -> transport.setFilterSpec(filterSpec));
+			JGitCodeProvider.makeCredentialsProvider(authTransportUrl).ifPresent(fetch::setCredentialsProvider);
+			fetch.call();
+
+			var repository = jgit.getRepository();
+			var tree = repository.parseCommit(ObjectId.fromString(sha1)).getTree();
+
+			return new JGitShallowCodeProvider(root, removeUserInfo(authTransportUrl), repository, tree, blobLimit);
+		} catch (GitAPIException e) {
+			// The repository is returned open only on success
+			jgit.close();
+			throw new IllegalArgumentException("Issue fetching sha1=" + sha1, e);
+		} catch (IOException e) {
+			jgit.close();
+			throw new IllegalStateException("Issue reading sha1=" + sha1, e);
+		} catch (RuntimeException e) {
+			jgit.close();
+			throw e;
+		}
+	}
+
+	// The transport URL may hold a token, which must not be exposed
+	static String removeUserInfo(String authTransportUrl) {
+		var rawUserInfo = URI.create(authTransportUrl).getRawUserInfo();
+		if (rawUserInfo == null) {
+			return authTransportUrl;
+		} else {
+			return authTransportUrl.replace(rawUserInfo + "@", "");
+		}
+	}
+
+	@Override
+	public Path getRepositoryRoot() {
+		return root;
+	}
+
+	@Override
+	public void listFilesForContent(Set<String> includes, Consumer<ICodeProviderFile> consumer) throws IOException {
+		var includeMatchers = IncludeExcludeHelpers.prepareMatcher(root.getFileSystem(), includes);
+
+		treeReader.walk(includes, treeWalk -> {
+			var contentPath = CleanthatPathHelpers.makeContentPath(root, treeWalk.getPathString());
+
+			if (IncludeExcludeHelpers.findMatching(includeMatchers, contentPath).isPresent()) {
+				consumer.accept(new DummyCodeProviderFile(contentPath, treeWalk.getObjectId(0)));
+			}
+		});
+	}
+
+	@Override
+	public Optional<String> loadContentForPath(Path path) throws IOException {
+		return treeReader.loadContent(CleanthatPathHelpers.makeContentRawPath(root, path));
+	}
+
+	@Override
+	public String getRepoUri() {
+		return repoUri;
+	}
+
+	@Override
+	public void close() {
+		repository.close();
+	}
+
+	@Override
+	public String toString() {
+		return "Shallow fetch of " + repoUri + " in " + repository.getDirectory();
+	}
+}
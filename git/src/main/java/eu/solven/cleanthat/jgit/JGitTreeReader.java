@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.jgit;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.jgit.errors.LargeObjectException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.treewalk.TreeWalk;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Walks a {@link RevTree} and reads its blobs straight from the object database, without any working tree.
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+class JGitTreeReader {
+	final Repository repository;
+	final RevTree tree;
+	final int blobLimit;
+
+	// The blobs met by the walks, so a later load does not walk the tree again
+	final Map<String, ObjectId> rawPathToBlobId = new ConcurrentHashMap<>();
+
+	JGitTreeReader(Repository repository, RevTree tree, int blobLimit) {
+		this.repository = repository;
+		this.tree = tree;
+		this.blobLimit = blobLimit;
+	}
+
+	/**
+	 * 
+	 * @param includes
+	 *            pushed down as a {@link org.eclipse.jgit.treewalk.filter.TreeFilter}. The walked paths still have to
+	 *            be checked against these patterns.
+	 * @param onFile
+	 *            called on each file, with the {@link TreeWalk} positioned on it
+	 * @throws IOException
+	 */
+	void walk(Collection<String> includes, Consumer<TreeWalk> onFile) throws IOException {
+		// A single ObjectReader for the whole walk
+		try (var reader = repository.newObjectReader(); var treeWalk = new TreeWalk(repository, reader)) {
+			treeWalk.addTree(tree);
+			treeWalk.setRecursive(true);
+			treeWalk.setFilter(TreeFilterHelpers.fromIncludes(includes));
+
+			while (treeWalk.next()) {
+				if (FileMode.GITLINK.equals(treeWalk.getFileMode(0))) {
+					// A submodule has no blob in this repository
+					continue;
+				}
+
+				rawPathToBlobId.put(treeWalk.getPathString(), treeWalk.getObjectId(0));
+				onFile.accept(treeWalk);
+			}
+		}
+	}
+
+	/**
+	 * 
+	 * @param rawPath
+	 *            a path relative to the root of the repository, with '/' as separator
+	 * @return the content of the blob, decoded as UTF-8, or empty if there is no such blob, or it is not available
+	 *         (e.g. filtered out of a partial clone)
+	 * @throws IOException
+	 */
+	Optional<String> loadContent(String rawPath) throws IOException {
+		var blobId = rawPathToBlobId.get(rawPath);
+
+		if (blobId == null) {
+			var treeWalk = TreeWalk.forPath(repository, rawPath, tree);
+			if (treeWalk == null) {
+				return Optional.empty();
+			}
+
+			// Not a try-with-resources, as SpotBugs reports the null-check generated by javac
+			try {
+				if ((treeWalk.getFileMode(0).getBits() & FileMode.TYPE_MASK) != FileMode.TYPE_FILE) {
+					// e.g. a directory or a submodule
+					return Optional.empty();
+				}
+				blobId = treeWalk.getObjectId(0);
+			} finally {
+				treeWalk.close();
+			}
+		}
+
+		// ObjectReader is not thread-safe, while contents are loaded concurrently: each load has its own reader
+		try (var reader = repository.newObjectReader()) {
+			var loader = reader.open(blobId, Constants.OBJ_BLOB);
+
+			if (loader.getSize() > blobLimit) {
+				LOGGER.warn("We skip {} as it is larger than {} bytes", rawPath, blobLimit);
+				return Optional.empty();
+			} else if (loader.isLarge()) {
+				// Large blobs are not cached by JGit: they are decoded as they are inflated, without a whole byte[]
+				try (var stream = loader.openStream();
+						var streamReader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+					var writer = new StringWriter();
+					streamReader.transferTo(writer);
+					return Optional.of(writer.toString());
+				}
+			}
+
+			// The cached bytes are not copied for small blobs
+			return Optional.of(new String(loader.getCachedBytes(), StandardCharsets.UTF_8));
+		} catch (MissingObjectException | LargeObjectException e) {
+			LOGGER.warn("We skip {} as it is not available or larger than {} bytes", rawPath, blobLimit);
+			LOGGER.debug("We skip {}", rawPath, e);
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.jgit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.OrTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * Helps pushing include patterns (see {@link eu.solven.cleanthat.config.IncludeExcludeHelpers}) down to a
+ * {@link TreeFilter}, so a {@link org.eclipse.jgit.treewalk.TreeWalk} does not descend into the excluded subtrees.
+ * 
+ * The {@link TreeFilter} accepts a superset of the included paths: the include patterns still have to be checked on
+ * each accepted path.
+ *
+ * @author Benoit Lacelle
+ */
+public class TreeFilterHelpers {
+	private static final String WILDCARDS = "*?[{\\";
+
+	protected TreeFilterHelpers() {
+		// hidden
+	}
+
+	/**
+	 * 
+	 * @param includes
+	 *            a {@link Collection} of pattern like 'glob:**\/src/\**\/*.java' or 'regex:.*\/src/.*\/[^/]*\.java'
+	 * @return a {@link TreeFilter} accepting at least the included paths
+	 */
+	public static TreeFilter fromIncludes(Collection<String> includes) {
+		if (includes.isEmpty()) {
+			return TreeFilter.ALL;
+		}
+
+		List<TreeFilter> filters = new ArrayList<>();
+		for (String include : includes) {
+			Optional<TreeFilter> optFilter = fromInclude(include);
+			if (optFilter.isEmpty()) {
+				// This include can not be pushed down: all paths have to be walked
+				return TreeFilter.ALL;
+			}
+			filters.add(optFilter.get());
+		}
+
+		if (filters.size() == 1) {
+			return filters.get(0);
+		} else {
+			return OrTreeFilter.create(filters);
+		}
+	}
+
+	/**
+	 * 
+	 * @param include
+	 * @return a {@link TreeFilter} accepting at least the paths matching the include, or empty if it can not be
+	 *         expressed as a {@link TreeFilter}
+	 */
+	static Optional<TreeFilter> fromInclude(String include) {
+		String glob;
+		if (include.startsWith("regex:")) {
+			return Optional.empty();
+		} else if (include.startsWith("glob:")) {
+			glob = include.substring("glob:".length());
+		} else {
+			// See IncludeExcludeHelpers.prepareMatcher: the default syntax is glob
+			glob = include;
+		}
+
+		if (glob.isEmpty() || glob.startsWith("/")) {
+			return Optional.empty();
+		}
+
+		// The leading directories, before any wildcard, restrict the walked subtrees
+		var literalPrefix = glob.substring(0, indexOfWildcard(glob));
+		var lastSlashInPrefix = literalPrefix.lastIndexOf('/');
+		Optional<TreeFilter> optDirectory;
+		if (lastSlashInPrefix > 0) {
+			optDirectory = Optional.of(PathFilter.create(literalPrefix.substring(0, lastSlashInPrefix)));
+		} else {
+			optDirectory = Optional.empty();
+		}
+
+		// The literal end of the last segment restricts the file names (e.g. '.java' in '*.java')
+		var lastSegment = glob.substring(glob.lastIndexOf('/') + 1);
+		Optional<TreeFilter> optSuffix;
+		if (indexOfWildcard(lastSegment) == lastSegment.length()) {
+			optSuffix = Optional.of(PathSuffixFilter.create(lastSegment));
+		} else if (lastSegment.startsWith("*") && lastSegment.length() >= 2
+				&& indexOfWildcard(lastSegment.substring(1)) == lastSegment.length() - 1) {
+			optSuffix = Optional.of(PathSuffixFilter.create(lastSegment.substring(1)));
+		} else {
+			optSuffix = Optional.empty();
+		}
+
+		if (optDirectory.isPresent() && optSuffix.isPresent()) {
+			return Optional.of(AndTreeFilter.create(optDirectory.get(), optSuffix.get()));
+		} else if (optDirectory.isPresent()) {
+			return optDirectory;
+		} else {
+			return optSuffix;
+		}
+	}
+
+	/**
+	 * 
+	 * @param glob
+	 * @return the index of the first wildcard, or the length of the glob if there is none
+	 */
+	private static int indexOfWildcard(String glob) {
+		for (var i = 0; i < glob.length(); i++) {
+			if (WILDCARDS.indexOf(glob.charAt(i)) >= 0) {
+				return i;
+			}
+		}
+		return glob.length();
+	}
+}
@@ -15,17 +15,24 @@
  */
 package eu.solven.cleanthat.jgit;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.assertj.core.api.Assertions;
 import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.treewalk.TreeWalk;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.google.common.jimfs.Jimfs;
 
+import eu.solven.cleanthat.codeprovider.CodeWritingMetadata;
 import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
 
 public class TestJGitCodeProvider {
@@ -50,4 +57,40 @@ public class TestJGitCodeProvider {
 		Assertions.assertThat(codeProvider.resolvePath(Paths.get("root/folder/file")).toString().replace('\\', '/'))
 				.isEqualTo("/git_root/git_folder/root/folder/file");
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testReadFromObjectDatabase() throws IOException, GitAPIException {
+		var workingDir = Files.createTempDirectory("cleanthat-TestJGitCodeProvider");
+		var jgit = Git.init().setDirectory(workingDir.toFile()).call();
+
+		Files.createDirectories(workingDir.resolve("src/main/java/some_package"));
+		Files.writeString(workingDir.resolve("src/main/java/some_package/Some.java"), "someJava");
+		Files.writeString(workingDir.resolve("root.txt"), "someRoot");
+		jgit.add().addFilepattern(".").call();
+		var commit = jgit.commit().setMessage("Initial").setSign(false).call();
+
+		var codeProvider = JGitCodeProvider.wrap(workingDir, jgit, commit.getName(), false);
+
+		List<String> paths = new ArrayList<>();
+		codeProvider.listFilesForContent(Set.of("glob:src/main/java/**/*.java"),
+				file -> paths.add(file.getPath().toString()));
+		Assertions.assertThat(paths).containsExactly("src/main/java/some_package/Some.java");
+
+		// The working directory is not read: the content comes from the commit
+		Files.delete(workingDir.resolve("root.txt"));
+		Assertions.assertThat(codeProvider.loadContentForPath("root.txt")).contains("someRoot");
+		Assertions.assertThat(codeProvider.loadContentForPath("src/main/java/some_package/Some.java")).contains("someJava");
+		Assertions.assertThat(codeProvider.loadContentForPath("src/main/java")).isEmpty();
+		Assertions.assertThat(codeProvider.loadContentForPath("unknown.txt")).isEmpty();
+
+		// Written contents are staged until persisted
+		var batch = codeProvider.openBatch();
+		batch.write(Paths.get("src/main/java/some_package/Some.java"), "cleanJava");
+		Assertions.assertThat(Files.readString(workingDir.resolve("src/main/java/some_package/Some.java")))
+				.isEqualTo("someJava");
+
+		// Persisted contents are read from the working directory
+		Assertions.assertThat(batch.persist(CodeWritingMetadata.empty())).isTrue();
+		Assertions.assertThat(codeProvider.loadContentForPath("src/main/java/some_package/Some.java")).contains("cleanJava");
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.jgit;
+
+import java.util.List;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.eclipse.jgit.treewalk.filter.PathSuffixFilter;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.junit.Test;
+
+public class TestTreeFilterHelpers {
+	@Test
+	public void testSuffix() {
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("glob:**/*.java")).containsInstanceOf(PathSuffixFilter.class);
+		// Implicit glob
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("**/*.java")).containsInstanceOf(PathSuffixFilter.class);
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("glob:**/pom.xml")).containsInstanceOf(PathSuffixFilter.class);
+	}
+
+	@Test
+	public void testDirectory() {
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("glob:src/main/java/**/*.java"))
+				.hasValueSatisfying(f -> Assertions.assertThat(f.toString())
+						.isEqualTo("(PATH(\"src/main/java\") AND PathSuffixFilter)"));
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("glob:src/**"))
+				.hasValueSatisfying(f -> Assertions.assertThat(f.toString()).isEqualTo("PATH(\"src\")"));
+	}
+
+	@Test
+	public void testNotPushedDown() {
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("regex:.*\\.java")).isEmpty();
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("glob:**/*.{java,kt}")).isEmpty();
+		Assertions.assertThat(TreeFilterHelpers.fromInclude("glob:**/*")).isEmpty();
+
+		Assertions.assertThat(TreeFilterHelpers.fromIncludes(List.of("glob:**/*.java", "regex:.*\\.kt")))
+				.isSameAs(TreeFilter.ALL);
+		Assertions.assertThat(TreeFilterHelpers.fromIncludes(Set.of())).isSameAs(TreeFilter.ALL);
+	}
+}
@@ -24,11 +24,13 @@ import java.util.function.Consumer;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeEntry;
 
 import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
 import eu.solven.cleanthat.codeprovider.DummyCodeProviderFile;
 import eu.solven.cleanthat.codeprovider.ICodeProvider;
 import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
+import eu.solven.cleanthat.config.IncludeExcludeHelpers;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -44,13 +46,16 @@ public abstract class AGithubSha1CodeProvider extends AGithubCodeProvider implem
 
 	final GithubSha1CodeProviderHelper helper;
 
+	final GithubBlobPrefetcher blobPrefetcher;
+
 	public AGithubSha1CodeProvider(Path repositoryRoot, String token, GHRepository repo) {
 		super(repositoryRoot);
 		this.token = token;
 
 		this.repo = repo;
 
-		this.helper = new GithubSha1CodeProviderHelper(this);
+		this.helper = new GithubSha1CodeProviderHelper(repositoryRoot, this);
+		this.blobPrefetcher = new GithubBlobPrefetcher(repo);
 	}
 
 	@Override
@@ -76,15 +81,23 @@ public abstract class AGithubSha1CodeProvider extends AGithubCodeProvider implem
 
 		if (tree.isTruncated()) {
 			// https://github.community/t/github-get-tree-api-limits-and-recursivity/1300
-			LOGGER.info(
-					"Tree.isTruncated()=={} -> We will not rely on API to fetch each files, but rather create a local copy (wget zip, git clone, ...)",
-					true);
-			helper.listFilesLocally(consumer);
+			// We need only the filenames: walking the trees is much cheaper than a local copy (wget zip, git clone, ...)
+			LOGGER.info("Tree.isTruncated()=={} -> We will walk the trees, one directory at a time", true);
+			walkTrees(sha, patterns, consumer);
 		} else {
 			processTree(tree, consumer);
 		}
 	}
 
+	protected void walkTrees(String sha, Set<String> patterns, Consumer<ICodeProviderFile> consumer)
+			throws IOException {
+		var isWalkableDirectory = IncludeExcludeHelpers.makeDirectoryPredicate(patterns);
+
+		new GithubTreeWalker(repo).walkBlobs(sha,
+				isWalkableDirectory,
+				(rawPath, ghTreeEntry) -> acceptBlob(rawPath, ghTreeEntry, consumer));
+	}
+
 	@Override
 	public void listFilesForContent(Set<String> patterns, Consumer<ICodeProviderFile> consumer) throws IOException {
 		// https://stackoverflow.com/questions/25022016/get-all-file-names-from-a-github-repo-through-the-github-api
@@ -100,7 +113,7 @@ public abstract class AGithubSha1CodeProvider extends AGithubCodeProvider implem
 			LOGGER.info(
 					"Tree.size()=={} -> We will not rely on API to fetch each files, but rather create a local copy (wget zip, git clone, ...)",
 					treeSize);
-			helper.listFilesLocally(consumer);
+			helper.listFilesLocally(patterns, consumer);
 		} else {
 			processTree(tree, consumer);
 		}
@@ -114,8 +127,7 @@ public abstract class AGithubSha1CodeProvider extends AGithubCodeProvider implem
 		// https://stackoverflow.com/questions/25022016/get-all-file-names-from-a-github-repo-through-the-github-api
 		tree.getTree().forEach(ghTreeEntry -> {
 			if ("blob".equals(ghTreeEntry.getType())) {
-				Path contentPath = CleanthatPathHelpers.makeContentPath(getRepositoryRoot(), ghTreeEntry.getPath());
-				consumer.accept(new DummyCodeProviderFile(contentPath, ghTreeEntry));
+				acceptBlob(ghTreeEntry.getPath(), ghTreeEntry, consumer);
 			} else if ("tree".equals(ghTreeEntry.getType())) {
 				LOGGER.debug("Discard tree as original call for tree was recursive: {}", ghTreeEntry);
 
@@ -133,16 +145,42 @@ public abstract class AGithubSha1CodeProvider extends AGithubCodeProvider implem
 		});
 	}
 
+	private void acceptBlob(String rawPath, GHTreeEntry ghTreeEntry, Consumer<ICodeProviderFile> consumer) {
+		Path contentPath = CleanthatPathHelpers.makeContentPath(getRepositoryRoot(), rawPath);
+		if (ghTreeEntry.getSize() <= GithubBlobPrefetcher.MAX_BLOB_SIZE) {
+			blobPrefetcher.registerBlob(contentPath, ghTreeEntry.getSha());
+		}
+		consumer.accept(new DummyCodeProviderFile(contentPath, ghTreeEntry));
+	}
+
+	@Override
+	public void prefetchContentForPath(Path contentPath) {
+		if (helper.localClone.get() == null) {
+			blobPrefetcher.prefetch(contentPath);
+		}
+	}
+
+	@Override
+	public void stopPrefetching() {
+		blobPrefetcher.close();
+	}
+
 	@Override
 	public Optional<String> loadContentForPath(Path contentPath) throws IOException {
 		CleanthatPathHelpers.checkContentPath(contentPath);
 
-		if (helper.localClone.get() != null) {
+		if (helper.localClone.get() != null && !helper.isNotMaterializedLocally(contentPath)) {
 			// Switch to a raw path as the underlying ICodeProvider has a different root
 			var contentRawPath = contentPath.toString();
 			// We have a local clone: load the file from it
 			return helper.localClone.get().loadContentForPath(contentRawPath);
 		} else {
+			// Either there is no local clone, or the local clone did not materialize this path
+			var optPrefetched = blobPrefetcher.consumePrefetched(contentPath);
+			if (optPrefetched.isPresent()) {
+				return optPrefetched;
+			}
+
 			try {
 				String rawPath = CleanthatPathHelpers.makeContentRawPath(getRepositoryRoot(), contentPath);
 				return Optional.of(loadContent(repo, rawPath, getSha1()));
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.code_provider;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import org.kohsuke.github.GHRepository;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import eu.solven.pepper.thread.PepperExecutorsHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches the blobs of a Github repository ahead of their loading, given their blob SHA (as listed by a tree or a
+ * diff). The number of concurrent calls is bounded, and the prefetching is turned off when the rate-limit is nearly
+ * exhausted.
+ * 
+ * A prefetched content is released once loaded, so the memory footprint is bounded by the number of files being
+ * processed. {@link #close()} releases the threads and the contents not loaded yet: later prefetches would start a new
+ * executor.
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class GithubBlobPrefetcher implements AutoCloseable {
+	// Github recommends not to do too many concurrent calls, to prevent hitting secondary rate-limits
+	// https://docs.github.com/en/rest/guides/best-practices-for-using-the-rest-api#avoid-concurrent-requests
+	public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+	// Below this number of remaining calls, we keep the rate-limit for the required calls (e.g. writing the commit)
+	public static final int MIN_REMAINING_RATE_LIMIT = 500;
+
+	// The contents API can not provide larger files: we stick to this limit to process the same files
+	// https://docs.github.com/en/rest/repos/contents#get-repository-content
+	public static final long MAX_BLOB_SIZE = 1024 * 1024;
+
+	final GHRepository repo;
+	final int maxConcurrency;
+
+	final Map<Path, String> pathToBlobSha = new ConcurrentHashMap<>();
+	final Map<String, ListenableFuture<String>> blobShaToContent = new ConcurrentHashMap<>();
+
+	// Lazy as most providers are never asked to prefetch
+	private ListeningExecutorService executor;
+
+	public GithubBlobPrefetcher(GHRepository repo, int maxConcurrency) {
+		this.repo = repo;
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public GithubBlobPrefetcher(GHRepository repo) {
+		this(repo, DEFAULT_MAX_CONCURRENCY);
+	}
+
+	/**
+	 * 
+	 * @param contentPath
+	 * @param blobSha
+	 *            the SHA of the blob of given path, as listed by a tree or a diff.
+	 */
+	public void registerBlob(Path contentPath, String blobSha) {
+		pathToBlobSha.put(contentPath, blobSha);
+	}
+
+	/**
+	 * Starts fetching given path, if its blob is known.
+	 * 
+	 * @param contentPath
+	 * @return true if the content is being fetched.
+	 */
+	public boolean prefetch(Path contentPath) {
+		var blobSha = pathToBlobSha.get(contentPath);
+		if (blobSha == null) {
+			LOGGER.debug("No blob registered for {}", contentPath);
+			return false;
+		} else if (!isRateLimitAllowingPrefetch()) {
+			return false;
+		}
+
+		blobShaToContent.computeIfAbsent(blobSha, sha -> getExecutor().submit(() -> loadBlob(repo, sha)));
+		return true;
+	}
+
+	/**
+	 * 
+	 * @param contentPath
+	 * @return the prefetched content of given path, or empty if it has not been prefetched.
+	 * @throws FileIsTooBigException
+	 *             if the file is too big to be processed.
+	 */
+	public Optional<String> consumePrefetched(Path contentPath) throws FileIsTooBigException {
+		var blobSha = pathToBlobSha.get(contentPath);
+		if (blobSha == null) {
+			return Optional.empty();
+		}
+
+		var future = blobShaToContent.remove(blobSha);
+		if (future == null) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while fetching " + contentPath, e);
+		} catch (CancellationException e) {
+			LOGGER.debug("Prefetching has been cancelled for {}", contentPath, e);
+			return Optional.empty();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof FileIsTooBigException) {
+				throw (FileIsTooBigException) e.getCause();
+			}
+
+			// The caller will fallback on a plain loading
+			LOGGER.debug("Issue prefetching {}", contentPath, e);
+			return Optional.empty();
+		}
+	}
+
+	protected synchronized ListeningExecutorService getExecutor() {
+		if (executor == null) {
+			executor = PepperExecutorsHelper.newShrinkableFixedThreadPool(maxConcurrency, "Cleanthat-GithubBlob-");
+		}
+		return executor;
+	}
+
+	/**
+	 * Cancels the pending prefetches, and releases the threads.
+	 */
+	@Override
+	public synchronized void close() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+
+		// The cancelled contents would be loaded on-demand
+		blobShaToContent.values().forEach(future -> future.cancel(true));
+		blobShaToContent.clear();
+	}
+
+	protected boolean isRateLimitAllowingPrefetch() {
+		var github = repo.getRoot();
+		if (github == null) {
+			return true;
+		}
+
+		var remaining = github.lastRateLimit().getCore().getRemaining();
+		if (remaining < MIN_REMAINING_RATE_LIMIT) {
+			LOGGER.debug("Skip prefetching as the rate-limit is nearly exhausted (remaining={})", remaining);
+			return false;
+		}
+		return true;
+	}
+
+	public static String loadBlob(GHRepository repo, String blobSha) throws IOException {
+		var blob = repo.getBlob(blobSha);
+
+		if (blob.getSize() > MAX_BLOB_SIZE) {
+			throw new FileIsTooBigException("blob=" + blobSha, blob.getSize());
+		}
+
+		try (var reader = new InputStreamReader(blob.read(), Charsets.UTF_8)) {
+			return CharStreams.toString(reader);
+		}
+	}
+}
@@ -15,31 +15,21 @@
  */
 package eu.solven.cleanthat.code_provider.github.code_provider;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
-import org.eclipse.jgit.api.Git;
 import org.kohsuke.github.GHRepository;
 import org.springframework.util.FileSystemUtils;
 
-import com.google.common.collect.Iterables;
-
-import eu.solven.cleanthat.code_provider.local.FileSystemGitCodeProvider;
+import eu.solven.cleanthat.code_provider.inmemory.ZipArchiveCodeProvider;
 import eu.solven.cleanthat.codeprovider.ICodeProvider;
 import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
-import eu.solven.cleanthat.jgit.JGitCodeProvider;
-import eu.solven.pepper.logging.PepperLogHelper;
+import eu.solven.cleanthat.jgit.JGitShallowCodeProvider;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -58,9 +48,12 @@ public class GithubSha1CodeProviderHelper {
 	final AtomicReference<ICodeProvider> localClone = new AtomicReference<>();
 	final AtomicReference<Path> localTmpFolder = new AtomicReference<>();
 
+	// The root of the content paths, used by the local copy when it does not have its own root
+	final Path repositoryRoot;
 	final IGithubSha1CodeProvider sha1CodeProvider;
 
-	public GithubSha1CodeProviderHelper(IGithubSha1CodeProvider sha1CodeProvider) {
+	public GithubSha1CodeProviderHelper(Path repositoryRoot, IGithubSha1CodeProvider sha1CodeProvider) {
+		this.repositoryRoot = repositoryRoot;
 		this.sha1CodeProvider = sha1CodeProvider;
 	}
 
@@ -72,18 +65,40 @@ public class GithubSha1CodeProviderHelper {
 		return localClone.get() != null;
 	}
 
-	public void listFilesLocally(Consumer<ICodeProviderFile> consumer) throws IOException {
-		ensureLocalClone();
+	/**
+	 * 
+	 * @param includes
+	 *            the include patterns of the first call are used to select the files materialized by the local copy.
+	 *            The other files are loaded on-demand (see {@link #isNotMaterializedLocally(Path)}).
+	 * @param consumer
+	 * @throws IOException
+	 */
+	public void listFilesLocally(Set<String> includes, Consumer<ICodeProviderFile> consumer) throws IOException {
+		ensureLocalClone(includes);
 
-		localClone.get().listFilesForContent(consumer);
+		localClone.get().listFilesForContent(includes, consumer);
 	}
 
 	/**
 	 * 
+	 * @param contentPath
+	 * @return true if the local copy knows given path, but did not materialize its content (e.g. as it was not
+	 *         included by the first listing, or it is too large). Such a content has to be loaded on-demand.
+	 */
+	public boolean isNotMaterializedLocally(Path contentPath) {
+		var localCodeProvider = localClone.get();
+		return localCodeProvider instanceof ZipArchiveCodeProvider
+				&& ((ZipArchiveCodeProvider) localCodeProvider).isNotMaterialized(contentPath);
+	}
+
+	/**
+	 * 
+	 * @param includes
+	 *            the files to materialize, if the local copy is an archive. Only the first call materializes files.
 	 * @return true if we indeed clone locally. False if already cloned locally
 	 */
 	@SuppressWarnings("PMD.CloseResource")
-	protected boolean ensureLocalClone() {
+	protected boolean ensureLocalClone(Set<String> includes) {
 		// TODO Tests against multiple calls: the repo shall be cloned only once
 		synchronized (this) {
 			if (localClone.get() != null) {
@@ -91,121 +106,81 @@ public class GithubSha1CodeProviderHelper {
 				return false;
 			}
 
-			// https://github.community/t/cloning-private-repo-with-a-github-app-private-key/14726
-			Path workingDir;
-			try {
-				workingDir = Files.createTempDirectory("cleanthat-clone");
-			} catch (IOException e) {
-				throw new UncheckedIOException(e);
-			}
-			localTmpFolder.set(workingDir);
-
 			ICodeProvider localCodeProvider;
 			if (ZIP_ELSE_CLONE) {
-				ICodeProvider zippedLocalRef;
 				try {
-					zippedLocalRef = downloadGitRefLocally(workingDir);
+					// The archive is read in memory: nothing is written in /tmp
+					localCodeProvider = downloadGitRefLocally(includes);
 				} catch (IOException e) {
 					throw new UncheckedIOException(e);
 				}
-				// localCodeProvider = new CodeProviderDecoratingWriter(zippedLocalRef, () -> sha1CodeProvider);
-				localCodeProvider = zippedLocalRef;
 			} else {
-				Git jgit = cloneGitRepoLocally(workingDir);
-				localCodeProvider = JGitCodeProvider.wrap(workingDir, jgit, sha1CodeProvider.getSha1(), true);
+				// https://github.community/t/cloning-private-repo-with-a-github-app-private-key/14726
+				Path workingDir;
+				try {
+					workingDir = Files.createTempDirectory("cleanthat-clone");
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				localTmpFolder.set(workingDir);
+
+				localCodeProvider = fetchGitRefLocally(workingDir);
 			}
 			return localClone.compareAndSet(null, localCodeProvider);
 		}
 	}
 
-	protected Git cloneGitRepoLocally(Path tmpDir) {
+	/**
+	 * Only current sha1 is fetched (depth=1), without a working tree. Blobs are read lazily from the object database.
+	 * 
+	 * @param tmpDir
+	 * @return an {@link ICodeProvider} over a shallow fetch of current sha1
+	 */
+	protected ICodeProvider fetchGitRefLocally(Path tmpDir) {
 		GHRepository repo = sha1CodeProvider.getRepo();
-		LOGGER.info("Cloning the repo {} into {}", repo.getFullName(), tmpDir);
+		LOGGER.info("Fetching the repo {} into {}", repo.getFullName(), tmpDir);
 
 		String rawTransportUrl = repo.getHttpTransportUrl();
 		String authTransportUrl = "https://x-access-token:" + sha1CodeProvider.getToken()
 				+ "@"
 				+ rawTransportUrl.substring("https://".length());
 
-		// It seems we are not allowed to give a sha1 as name
-		return JGitCodeProvider.makeGitRepo(tmpDir, authTransportUrl, sha1CodeProvider.getRef());
+		return JGitShallowCodeProvider.fetch(tmpDir,
+				repositoryRoot,
+				authTransportUrl,
+				sha1CodeProvider.getSha1(),
+				JGitShallowCodeProvider.DEFAULT_BLOB_LIMIT);
 	}
 
-	protected ICodeProvider downloadGitRefLocally(Path tmpDir) throws IOException {
+	/**
+	 * The ZIP is streamed from Github: only the included text files are materialized, in memory.
+	 * 
+	 * @param includes
+	 * @return an {@link ICodeProvider} over the ZIP of current sha1
+	 * @throws IOException
+	 */
+	protected ICodeProvider downloadGitRefLocally(Set<String> includes) throws IOException {
 		String ref = sha1CodeProvider.getSha1();
 
-		// We save the repository zip in this hardcoded file
-		var zipPath = tmpDir.resolve("repository.zip");
-
-		// if (!Files.exists(zipPath)) {
-		// throw new IllegalStateException("We expect the path to exists: " + zipPath);
-		// }
-		Files.createDirectories(zipPath.getParent());
-
 		GHRepository repo = sha1CodeProvider.getRepo();
-		LOGGER.info("Downloading the repo={} ref={} into {}", repo.getFullName(), ref, zipPath);
+		LOGGER.info("Streaming the ZIP of repo={} ref={}", repo.getFullName(), ref);
 
 		try {
 			// https://stackoverflow.com/questions/8377081/github-api-download-zip-or-tarball-link
 			// https://docs.github.com/en/rest/reference/repos#download-a-repository-archive-zip
-			repo.readZip(inputStream -> {
-				long nbBytes = Files.copy(inputStream, zipPath, StandardCopyOption.REPLACE_EXISTING);
-				LOGGER.info("We wrote a ZIP of size={} into {}", PepperLogHelper.humanBytes(nbBytes), zipPath);
-				return tmpDir;
-			}, ref);
+			return repo.readZip(inputStream -> ZipArchiveCodeProvider
+					.read(repositoryRoot, repo.getGitTransportUrl(), inputStream, includes),
+					ref);
 		} catch (IOException e) {
 			throw new UncheckedIOException("Issue downloading a ZIP for " + ref, e);
 		}
-
-		var repoPath = tmpDir.resolve("repository");
-
-		// TODO We may want not to unzip the file, but it would probably lead to terrible performance
-		LOGGER.info("Unzipping the repo={} ref={} into {}", repo.getFullName(), ref, repoPath);
-		try (var fis = Files.newInputStream(zipPath)) {
-			unzip(fis, repoPath);
-		} catch (FileNotFoundException e) {
-			throw new RuntimeException("Issue with " + tmpDir, e);
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
-		}
-
-		// Github will generate a ZIP with the content in a root directory
-		List<Path> zipRoots;
-		try {
-			zipRoots = Files.list(repoPath).collect(Collectors.toList());
-		} catch (IOException e) {
-			throw new UncheckedIOException(e);
-		}
-
-		if (zipRoots.size() != 1) {
-			throw new IllegalStateException("We expected a single directory in the root. Were: " + zipRoots);
-		}
-
-		return new FileSystemGitCodeProvider(Iterables.getOnlyElement(zipRoots));
 	}
 
-	// https://stackoverflow.com/questions/10633595/java-zip-how-to-unzip-folder
-	@SuppressWarnings("PMD.AssignmentInOperand")
-	private static void unzip(InputStream is, Path targetDir) throws IOException {
-		targetDir = targetDir.toAbsolutePath();
-		try (var zipIn = new ZipInputStream(is)) {
-			for (ZipEntry ze; (ze = zipIn.getNextEntry()) != null;) {
-				var resolvedPath = targetDir.resolve(ze.getName()).normalize();
-				if (!resolvedPath.startsWith(targetDir)) {
-					// see: https://snyk.io/research/zip-slip-vulnerability
-					throw new RuntimeException("Entry with an illegal path: " + ze.getName());
-				}
-				if (ze.isDirectory()) {
-					Files.createDirectories(resolvedPath);
-				} else {
-					Files.createDirectories(resolvedPath.getParent());
-					Files.copy(zipIn, resolvedPath);
-				}
-			}
+	public void cleanTmpFiles() {
+		if (localClone.get() instanceof JGitShallowCodeProvider) {
+			((JGitShallowCodeProvider) localClone.get()).close();
 		}
-	}
 
-	public void cleanTmpFiles() {
 		var workingDir = localTmpFolder.get();
 		if (workingDir != null) {
 			LOGGER.info("Removing recursively the folder: {}", workingDir);
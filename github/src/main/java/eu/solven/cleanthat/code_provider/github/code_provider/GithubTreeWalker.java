@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.code_provider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeEntry;
+
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import eu.solven.pepper.thread.PepperExecutorsHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Walks Git trees through the Git Trees API, one directory at a time (breadth-first). It enables listing the blobs
+ * differing between two trees, without the limits of the compare API (300 files), and without fetching the identical
+ * sub-trees (as their SHA are equal). The blobs are emitted as soon as their directory is fetched.
+ * 
+ * It also enables listing all blobs of a tree when the recursive Git Trees API truncates its result: the directories of a
+ * same depth are then fetched concurrently, and the directories which can not hold a relevant file are not fetched.
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class GithubTreeWalker {
+	private static final String TYPE_BLOB = "blob";
+	private static final String TYPE_TREE = "tree";
+
+	final GHRepository repo;
+
+	// Lazy as most walks are sequential. The threads are released when idle
+	final Supplier<ListeningExecutorService> executorSupplier;
+
+	public GithubTreeWalker(GHRepository repo, int maxConcurrency) {
+		this.repo = repo;
+
+		this.executorSupplier = Suppliers.memoize(
+				() -> PepperExecutorsHelper.newShrinkableFixedThreadPool(maxConcurrency, "Cleanthat-GithubTree-"));
+	}
+
+	public GithubTreeWalker(GHRepository repo) {
+		this(repo, GithubBlobPrefetcher.DEFAULT_MAX_CONCURRENCY);
+	}
+
+	/**
+	 * A directory to walk: its path, its SHA in the head, and optionally its SHA in the base.
+	 */
+	private static final class DirectoryToWalk {
+		final String rawPathPrefix;
+		final Optional<String> optBaseSha;
+		final String headSha;
+
+		DirectoryToWalk(String rawPathPrefix, Optional<String> optBaseSha, String headSha) {
+			this.rawPathPrefix = rawPathPrefix;
+			this.optBaseSha = optBaseSha;
+			this.headSha = headSha;
+		}
+	}
+
+	/**
+	 * 
+	 * @param baseTreeish
+	 *            the SHA of a tree, or of a commit, considered as base
+	 * @param headTreeish
+	 *            the SHA of a tree, or of a commit, considered as head
+	 * @param onChangedBlob
+	 *            receives the raw path (without leading '/') of each blob which is added or modified in the head, with
+	 *            its entry
+	 * @throws IOException
+	 */
+	public void walkChangedBlobs(String baseTreeish, String headTreeish, BiConsumer<String, GHTreeEntry> onChangedBlob)
+			throws IOException {
+		walk(Optional.of(baseTreeish), headTreeish, onChangedBlob);
+	}
+
+	protected void walk(Optional<String> optBaseTreeish,
+			String headTreeish,
+			BiConsumer<String, GHTreeEntry> onBlob) throws IOException {
+		// Walk breadth-first with a queue, as a recursion could lead to very deep stacks
+		Deque<DirectoryToWalk> queue = new ArrayDeque<>();
+		queue.add(new DirectoryToWalk("", optBaseTreeish, headTreeish));
+
+		var nbFetchedTrees = 0;
+		while (!queue.isEmpty()) {
+			var directory = queue.poll();
+
+			Map<String, GHTreeEntry> nameToBaseEntry = new HashMap<>();
+			if (directory.optBaseSha.isPresent()) {
+				fetchTree(directory.optBaseSha.get()).getTree()
+						.forEach(baseEntry -> nameToBaseEntry.put(baseEntry.getPath(), baseEntry));
+				nbFetchedTrees++;
+			}
+
+			var headTree = fetchTree(directory.headSha);
+			nbFetchedTrees++;
+
+			for (var headEntry : headTree.getTree()) {
+				var baseEntry = nameToBaseEntry.get(headEntry.getPath());
+				if (baseEntry != null && baseEntry.getSha().equals(headEntry.getSha())) {
+					// Same content (including the whole sub-tree if this is a directory)
+					continue;
+				}
+
+				var rawPath = directory.rawPathPrefix + headEntry.getPath();
+				if (TYPE_BLOB.equals(headEntry.getType())) {
+					onBlob.accept(rawPath, headEntry);
+				} else if (TYPE_TREE.equals(headEntry.getType())) {
+					Optional<String> optBaseSubTree;
+					if (baseEntry != null && TYPE_TREE.equals(baseEntry.getType())) {
+						optBaseSubTree = Optional.of(baseEntry.getSha());
+					} else {
+						optBaseSubTree = Optional.empty();
+					}
+					queue.add(new DirectoryToWalk(rawPath + "/", optBaseSubTree, headEntry.getSha()));
+				} else {
+					// e.g. a submodule (type=commit)
+					LOGGER.debug("Discard: {}", headEntry);
+				}
+			}
+		}
+
+		LOGGER.info("Walked {} through {} trees", headTreeish, nbFetchedTrees);
+	}
+
+	/**
+	 * 
+	 * @param treeish
+	 *            the SHA of a tree, or of a commit
+	 * @param isWalkableDirectory
+	 *            receives the raw path (without leading '/' nor trailing '/') of each directory: false if this directory
+	 *            (and its sub-directories) must not be fetched.
+	 * @param onBlob
+	 *            receives the raw path (without leading '/') of each blob in a walked directory, with its entry. It is
+	 *            always called from the calling thread.
+	 * @throws IOException
+	 */
+	public void walkBlobs(String treeish, Predicate<String> isWalkableDirectory, BiConsumer<String, GHTreeEntry> onBlob)
+			throws IOException {
+		// Walk breadth-first, one depth at a time, fetching concurrently the directories of a same depth
+		List<DirectoryToWalk> depth = List.of(new DirectoryToWalk("", Optional.empty(), treeish));
+
+		var nbFetchedTrees = 0;
+		var nbPrunedTrees = 0;
+		while (!depth.isEmpty()) {
+			var headTrees = fetchTrees(depth);
+			nbFetchedTrees += depth.size();
+
+			List<DirectoryToWalk> nextDepth = new ArrayList<>();
+			for (var i = 0; i < depth.size(); i++) {
+				var directory = depth.get(i);
+
+				for (var headEntry : headTrees.get(i).getTree()) {
+					var rawPath = directory.rawPathPrefix + headEntry.getPath();
+					if (TYPE_BLOB.equals(headEntry.getType())) {
+						onBlob.accept(rawPath, headEntry);
+					} else if (TYPE_TREE.equals(headEntry.getType())) {
+						if (isWalkableDirectory.test(rawPath)) {
+							nextDepth.add(new DirectoryToWalk(rawPath + "/", Optional.empty(), headEntry.getSha()));
+						} else {
+							LOGGER.debug("Prune: {}", rawPath);
+							nbPrunedTrees++;
+						}
+					} else {
+						// e.g. a submodule (type=commit)
+						LOGGER.debug("Discard: {}", headEntry);
+					}
+				}
+			}
+
+			depth = nextDepth;
+		}
+
+		LOGGER.info("Walked {} through {} trees ({} pruned)", treeish, nbFetchedTrees, nbPrunedTrees);
+	}
+
+	private List<GHTree> fetchTrees(List<DirectoryToWalk> directories) throws IOException {
+		if (directories.size() == 1) {
+			// Typically the root: no need for a thread
+			return List.of(fetchTree(directories.get(0).headSha));
+		}
+
+		var executor = executorSupplier.get();
+
+		List<ListenableFuture<GHTree>> futures = new ArrayList<>(directories.size());
+		directories.forEach(directory -> futures.add(executor.submit(() -> fetchTree(directory.headSha))));
+
+		try {
+			return Futures.allAsList(futures).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while walking trees", e);
+		} catch (ExecutionException e) {
+			// Do not keep fetching the other trees
+			futures.forEach(f -> f.cancel(true));
+
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			} else if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			throw new IllegalStateException("Issue walking trees", e);
+		}
+	}
+
+	protected GHTree fetchTree(String treeish) throws IOException {
+		var tree = repo.getTree(treeish);
+		if (tree.isTruncated()) {
+			// Happens only for a directory with a huge number of direct children
+			LOGGER.warn("The tree {} is truncated", treeish);
+		}
+		return tree;
+	}
+}
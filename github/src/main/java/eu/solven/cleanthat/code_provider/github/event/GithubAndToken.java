@@ -15,19 +15,41 @@
  */
 package eu.solven.cleanthat.code_provider.github.event;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.kohsuke.github.GHAppInstallation;
+import org.kohsuke.github.GHMarketplacePlan;
 import org.kohsuke.github.GHPermissionType;
+import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 
+import com.google.common.base.Suppliers;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
 /**
- * Wraps a Github instance and a token
+ * Wraps a Github instance and a token.
+ * 
+ * As instances are cached by {@link GithubAppFactory} for the lifetime of the token, it also caches the metadata
+ * related to the installation (e.g. its marketplace plan, its repositories), for a shorter duration.
  * 
  * @author Benoit Lacelle
  *
  */
+// https://github.com/spotbugs/spotbugs/issues/2695
+@SuppressFBWarnings("CT_CONSTRUCTOR_THROW")
 public class GithubAndToken {
+	// The repository metadata (e.g. its visibility, its default branch) and the marketplace plan rarely change
+	private static final long METADATA_TTL_MINUTES = 10;
+
 	private final GitHub github;
 	private final String token;
 
@@ -38,6 +60,9 @@ public class GithubAndToken {
 	// https://github.com/organizations/solven-eu/settings/installations/9086720
 	private final Map<String, GHPermissionType> permissions;
 
+	private final Supplier<GHMarketplacePlan> marketplacePlan;
+	private final LoadingCache<Long, GHRepository> idToRepository;
+
 	public GithubAndToken(GitHub github,
 			String token,
 			GHAppInstallation appInstallation,
@@ -46,6 +71,23 @@ public class GithubAndToken {
 		this.token = token;
 		this.appInstallation = appInstallation;
 		this.permissions = permissions;
+
+		this.marketplacePlan = Suppliers.memoizeWithExpiration(() -> {
+			try {
+				// https://github.com/hub4j/github-api/issues/1613
+				return appInstallation.getMarketplaceAccount().getPlan().getMarketplacePurchase().getPlan();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, METADATA_TTL_MINUTES, TimeUnit.MINUTES)::get;
+		this.idToRepository = CacheBuilder.newBuilder()
+				.expireAfterWrite(METADATA_TTL_MINUTES, TimeUnit.MINUTES)
+				.build(new CacheLoader<Long, GHRepository>() {
+					@Override
+					public GHRepository load(Long repositoryId) throws IOException {
+						return github.getRepositoryById(repositoryId);
+					}
+				});
 	}
 
 	public GitHub getGithub() {
@@ -63,4 +105,29 @@ public class GithubAndToken {
 	public GHAppInstallation getGHAppInstallation() {
 		return appInstallation;
 	}
+
+	/**
+	 * 
+	 * @return the marketplace plan of the installation account. It may be stale by up to 10 minutes.
+	 */
+	public GHMarketplacePlan getMarketplacePlan() {
+		return marketplacePlan.get();
+	}
+
+	/**
+	 * 
+	 * @param repositoryId
+	 * @return the {@link GHRepository}, as seen by this installation. Its metadata may be stale by up to 10 minutes.
+	 * @throws IOException
+	 */
+	public GHRepository getRepositoryById(long repositoryId) throws IOException {
+		try {
+			return idToRepository.get(repositoryId);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IllegalStateException("Issue fetching repositoryId=" + repositoryId, e);
+		}
+	}
 }
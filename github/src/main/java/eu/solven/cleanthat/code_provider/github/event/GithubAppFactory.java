@@ -17,8 +17,10 @@ package eu.solven.cleanthat.code_provider.github.event;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.text.ParseException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.kohsuke.github.GHAppCreateTokenBuilder;
@@ -36,7 +38,13 @@ import org.springframework.core.env.Environment;
 
 import com.google.common.base.Ascii;
 import com.google.common.base.Suppliers;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.crypto.impl.RSAKeyUtils;
 import com.nimbusds.jose.jwk.RSAKey;
@@ -44,7 +52,11 @@ import com.nimbusds.jose.jwk.RSAKey;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import eu.solven.cleanthat.code_provider.github.event.pojo.WebhookRelevancyResult;
 import eu.solven.cleanthat.utils.ResultOrError;
+import eu.solven.pepper.logging.PepperLogHelper;
+import eu.solven.pepper.thread.PepperExecutorsHelper;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
 
 /**
@@ -61,6 +73,27 @@ public class GithubAppFactory implements IGithubAppFactory {
 
 	public static final String ENV_GITHUB_APP_PRIVATE_JWK = "github.app.private-jwk";
 
+	public static final String KEY_HTTP_CACHE_ENABLED = "github.http_cache.enabled";
+	public static final String KEY_HTTP_CACHE_DIRECTORY = "github.http_cache.directory";
+	public static final String KEY_HTTP_CACHE_MAX_SIZE = "github.http_cache.max_size";
+
+	// In AWS Lambda, /tmp is limited to 512MB
+	private static final long DEFAULT_HTTP_CACHE_MAX_SIZE = 64L * 1024 * 1024;
+
+	// Events are processed concurrently, each with its own installation
+	private static final int MAX_IDLE_CONNECTIONS = 16;
+	private static final int KEEP_ALIVE_MINUTES = 5;
+
+	// Installation tokens are valid for 1 hour. A served token has to outlive the processing of the event (up to the
+	// Lambda timeout), even if it is served while being reloaded: it is evicted early enough, and refreshed ahead (on
+	// access) so that the critical path of an event does not wait for a new token
+	private static final long TOKEN_VALIDITY_MINUTES = 60;
+	private static final long MAX_PROCESSING_MINUTES = 15;
+	private static final long TOKEN_MARGIN_MINUTES = 5;
+	private static final long TOKEN_EXPIRY_MINUTES =
+			TOKEN_VALIDITY_MINUTES - MAX_PROCESSING_MINUTES - TOKEN_MARGIN_MINUTES;
+	private static final long TOKEN_REFRESH_AHEAD_MINUTES = TOKEN_EXPIRY_MINUTES / 2;
+
 	// https://github.com/organizations/solven-eu/settings/apps/cleanthat
 	// https://github.com/apps/cleanthat
 	public static final String GITHUB_DEFAULT_APP_ID = "65550";
@@ -76,17 +109,45 @@ public class GithubAppFactory implements IGithubAppFactory {
 		}
 	});
 
+	final Supplier<GitHub> appGithubInstance = Suppliers.memoize(this::makeAppGithubInstance);
+
+	// Refresh the installations in the background, while the current token is still served
+	final ListeningExecutorService tokenRefresher =
+			PepperExecutorsHelper.newShrinkableFixedThreadPool(1, "Cleanthat-GithubToken-");
+
+	// An installation token, with the related permissions and metadata, is cached by installationId
+	final LoadingCache<Long, ResultOrError<GithubAndToken, WebhookRelevancyResult>> installationIdToGithub =
+			CacheBuilder.newBuilder()
+					.refreshAfterWrite(TOKEN_REFRESH_AHEAD_MINUTES, TimeUnit.MINUTES)
+					.expireAfterWrite(TOKEN_EXPIRY_MINUTES, TimeUnit.MINUTES)
+					.build(CacheLoader.asyncReloading(CacheLoader.from(this::loadInstallationGithub), tokenRefresher));
+
 	final Environment env;
 
+	final GithubHttpMetrics httpMetrics = new GithubHttpMetrics();
+
+	// A single client for the whole process, so that the connections (and their TLS handshakes), and the HTTP cache
+	// are shared by the GitHub instances
+	final Supplier<OkHttpClient> okHttpClient = Suppliers.memoize(this::makeOkHttpClient);
+
 	public GithubAppFactory(Environment env) {
 		this.env = env;
 	}
 
+	public GithubHttpMetrics getHttpMetrics() {
+		return httpMetrics;
+	}
+
 	@Override
 	public GitHub makeAppGithub() {
+		return appGithubInstance.get();
+	}
+
+	private GitHub makeAppGithubInstance() {
 		try {
-			String jwt = makeJwt(appGithub.get());
-			return new GitHubBuilder().withJwtToken(jwt)
+			return new GitHubBuilder()
+					// JWTTokenProvider renews the JWT when it is about to expire: the instance can be shared
+					.withAuthorizationProvider(appGithub.get())
 					// This leads to 401. Why?
 					// .withRateLimitChecker(new NoWaitRateLimitChecker())
 					.withConnector(createGithubConnector())
@@ -117,12 +178,34 @@ public class GithubAppFactory implements IGithubAppFactory {
 				.build();
 	}
 
-	public static GitHubConnector createGithubConnector() {
+	public GitHubConnector createGithubConnector() {
 		// https://github.com/hub4j/github-api/issues/1202#issuecomment-890362069
-		return new OkHttpGitHubConnector(new OkHttpClient());
+		// With a Cache, OkHttpGitHubConnector revalidates each response (`max-age=0`): an unchanged resource is
+		// answered by a `304 Not Modified`, which does not count against the rate limit
+		return new OkHttpGitHubConnector(okHttpClient.get());
 		// return new HttpClientGitHubConnector();
 	}
 
+	protected OkHttpClient makeOkHttpClient() {
+		var builder = new OkHttpClient.Builder()
+				.connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+				.addInterceptor(httpMetrics);
+
+		if (env.getProperty(KEY_HTTP_CACHE_ENABLED, Boolean.class, true)) {
+			var cacheDirectory = Paths.get(env.getProperty(KEY_HTTP_CACHE_DIRECTORY,
+					Paths.get(System.getProperty("java.io.tmpdir"), "cleanthat-github-http-cache").toString()));
+			var maxSize = env.getProperty(KEY_HTTP_CACHE_MAX_SIZE, Long.class, DEFAULT_HTTP_CACHE_MAX_SIZE);
+			LOGGER.info("Github API responses are cached in {} (maxSize={})",
+					cacheDirectory,
+					PepperLogHelper.humanBytes(maxSize));
+
+			// Github responses `Vary` on `Authorization`: a response is not served to another installation
+			builder.cache(new Cache(cacheDirectory.toFile(), maxSize));
+		}
+
+		return builder.build();
+	}
+
 	@Deprecated
 	public String makeJWT() throws JOSEException, IOException {
 		JWTTokenProvider jwtTokenProvider = makeJwtTokenProvider();
@@ -182,6 +265,22 @@ public class GithubAppFactory implements IGithubAppFactory {
 
 	@Override
 	public ResultOrError<GithubAndToken, WebhookRelevancyResult> makeInstallationGithub(long installationId) {
+		ResultOrError<GithubAndToken, WebhookRelevancyResult> githubOrError;
+		try {
+			githubOrError = installationIdToGithub.getUnchecked(installationId);
+		} catch (UncheckedExecutionException e) {
+			Throwables.throwIfUnchecked(e.getCause());
+			throw e;
+		}
+
+		if (githubOrError.getOptError().isPresent()) {
+			// Do not cache a rejection, as it may be fixed any time (e.g. by granting the missing permissions)
+			installationIdToGithub.invalidate(installationId);
+		}
+		return githubOrError;
+	}
+
+	protected ResultOrError<GithubAndToken, WebhookRelevancyResult> loadInstallationGithub(long installationId) {
 		try {
 			GitHub github = makeAppGithub();
 			GHAppInstallation installationById = github.getApp().getInstallationById(installationId);
@@ -222,7 +321,11 @@ public class GithubAppFactory implements IGithubAppFactory {
 			GitHub installationGithub = makeInstallationGithub(github, appToken);
 
 			// https://stackoverflow.com/questions/45427275/how-to-check-my-github-current-rate-limit
-			LOGGER.info("Initialized an installation github. RateLimit status: {}", installationGithub.getRateLimit());
+			// `lastRateLimit` is read from the headers of previous responses: it does not consume an API call
+			LOGGER.info("Initialized an installation github (installationId={}). RateLimit status: {}",
+					installationId,
+					installationGithub.lastRateLimit());
+			LOGGER.info("Github HTTP metrics: {}", httpMetrics.snapshot());
 			return ResultOrError
 					.result(new GithubAndToken(installationGithub, appToken, installationById, permissions));
 		} catch (GHFileNotFoundException e) {
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.event;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.AtomicLongMap;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Counts how the Github API requests are answered: from the HTTP cache, by a `304 Not Modified` (which does not count
+ * against the rate limit), or by a plain network response. It also tracks the last known remaining rate limit.
+ *
+ * @author Benoit Lacelle
+ */
+public class GithubHttpMetrics implements Interceptor {
+	public static final String NB_REQUESTS = "nb_requests";
+	public static final String NB_CACHE_HITS = "nb_cache_hits";
+	public static final String NB_NOT_MODIFIED = "nb_not_modified";
+	public static final String NB_NETWORK = "nb_network";
+
+	// https://docs.github.com/en/rest/using-the-rest-api/rate-limits-for-the-rest-api#checking-the-status-of-your-rate-limit
+	private static final String HEADER_RATELIMIT_REMAINING = "X-RateLimit-Remaining";
+
+	final AtomicLongMap<String> counters = AtomicLongMap.create();
+	final AtomicLong rateLimitRemaining = new AtomicLong(-1);
+
+	@Override
+	public Response intercept(Chain chain) throws IOException {
+		var response = chain.proceed(chain.request());
+
+		counters.incrementAndGet(NB_REQUESTS);
+
+		var networkResponse = response.networkResponse();
+		if (networkResponse == null) {
+			// Served by the cache, without any network roundtrip
+			counters.incrementAndGet(NB_CACHE_HITS);
+		} else {
+			if (networkResponse.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+				// A conditional request (`If-None-Match`) validated the cached response
+				counters.incrementAndGet(NB_NOT_MODIFIED);
+			} else {
+				counters.incrementAndGet(NB_NETWORK);
+			}
+
+			var remaining = networkResponse.header(HEADER_RATELIMIT_REMAINING);
+			if (remaining != null) {
+				var parsed = Longs.tryParse(remaining);
+				if (parsed != null) {
+					rateLimitRemaining.set(parsed);
+				}
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * 
+	 * @return the ratio of requests answered by the cache, with or without a conditional request
+	 */
+	public double getHitRatio() {
+		var nbRequests = counters.get(NB_REQUESTS);
+		if (nbRequests == 0) {
+			return 0D;
+		}
+		return (double) (counters.get(NB_CACHE_HITS) + counters.get(NB_NOT_MODIFIED)) / nbRequests;
+	}
+
+	/**
+	 * 
+	 * @return the remaining rate limit, as reported by the last network response, or -1 if unknown
+	 */
+	public long getRateLimitRemaining() {
+		return rateLimitRemaining.get();
+	}
+
+	public Map<String, ?> snapshot() {
+		return ImmutableMap.<String, Object>builder()
+				.putAll(counters.asMap())
+				.put("hit_ratio", getHitRatio())
+				.put("rate_limit_remaining", getRateLimitRemaining())
+				.build();
+	}
+}
@@ -24,16 +24,12 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import org.kohsuke.github.GHApp;
-import org.kohsuke.github.GHAppInstallation;
 import org.kohsuke.github.GHCheckRun;
 import org.kohsuke.github.GHCheckRun.Conclusion;
 import org.kohsuke.github.GHCheckRun.Status;
 import org.kohsuke.github.GHCheckRunBuilder;
 import org.kohsuke.github.GHCheckRunBuilder.Output;
-import org.kohsuke.github.GHMarketplaceAccount;
-import org.kohsuke.github.GHMarketplaceAccountPlan;
 import org.kohsuke.github.GHMarketplacePlan;
-import org.kohsuke.github.GHMarketplacePurchase;
 import org.kohsuke.github.GHRateLimit;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
@@ -93,18 +89,13 @@ public final class GithubWebhookHandler implements IGithubWebhookHandler {
 
 	/**
 	 * 
-	 * @param appInstallation
+	 * @param githubAuthAsInst
 	 * @param ghRepository
 	 * @return an {@link Optional} rejection reason
-	 * @throws IOException
 	 */
-	private Optional<String> checkMarketPlacePlan(GHAppInstallation appInstallation, GHRepository ghRepository)
-			throws IOException {
-		// https://github.com/hub4j/github-api/issues/1613
-		GHMarketplaceAccount account = appInstallation.getMarketplaceAccount();
-		GHMarketplaceAccountPlan accountPlan = account.getPlan();
-		GHMarketplacePurchase purchase = accountPlan.getMarketplacePurchase();
-		GHMarketplacePlan plan = purchase.getPlan();
+	private Optional<String> checkMarketPlacePlan(GithubAndToken githubAuthAsInst, GHRepository ghRepository) {
+		// The plan is cached with the installation token
+		GHMarketplacePlan plan = githubAuthAsInst.getMarketplacePlan();
 
 		// https://github.com/marketplace/cleanthat/edit/plans
 		if ("retired".equals(plan.getState())) {
@@ -170,8 +161,7 @@ public final class GithubWebhookHandler implements IGithubWebhookHandler {
 
 		try {
 			{
-				Optional<String> optRejectedReason =
-						checkMarketPlacePlan(githubAuthAsInst.getGHAppInstallation(), baseRepo);
+				Optional<String> optRejectedReason = checkMarketPlacePlan(githubAuthAsInst, baseRepo);
 
 				if (optRejectedReason.isPresent()) {
 					GithubCheckRunManager.ifPresent(optCheckRun,
@@ -227,12 +217,8 @@ public final class GithubWebhookHandler implements IGithubWebhookHandler {
 			GithubAndToken githubAuthAsInst) {
 		GitHub githubAsInst = githubAuthAsInst.getGithub();
 		{
-			GHRateLimit rateLimit;
-			try {
-				rateLimit = githubAsInst.getRateLimit();
-			} catch (IOException e) {
-				throw new UncheckedIOException("Issue checking rateLimit", e);
-			}
+			// The rateLimit is read from the headers of previous responses: it does not consume an API call
+			GHRateLimit rateLimit = githubAsInst.lastRateLimit();
 			int rateLimitRemaining = rateLimit.getRemaining();
 			if (rateLimitRemaining == 0) {
 				Object resetIn = PepperLogHelper.humanDuration(
@@ -245,7 +231,7 @@ public final class GithubWebhookHandler implements IGithubWebhookHandler {
 		var baseRepoId = PepperMapHelper.getRequiredNumber(input, "repository", "id").longValue();
 		GHRepository baseRepo;
 		try {
-			baseRepo = githubAsInst.getRepositoryById(baseRepoId);
+			baseRepo = githubAuthAsInst.getRepositoryById(baseRepoId);
 		} catch (IOException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -324,13 +310,9 @@ public final class GithubWebhookHandler implements IGithubWebhookHandler {
 	}
 
 	public void logAfterCleaning(long installationId, GitHub github) {
-		try {
-			// This is useful to investigate unexpected rateLimitHit
-			GHRateLimit rateLimit = github.getRateLimit();
-			LOGGER.info("After process, rateLimit={} for installationId={}", rateLimit, installationId);
-		} catch (IOException e) {
-			LOGGER.warn("Issue with RateLimit", e);
-		}
+		// This is useful to investigate unexpected rateLimitHit
+		GHRateLimit rateLimit = github.lastRateLimit();
+		LOGGER.info("After process, rateLimit={} for installationId={}", rateLimit, installationId);
 	}
 
 }
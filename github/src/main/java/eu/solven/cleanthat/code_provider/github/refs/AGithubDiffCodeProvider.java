@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import org.kohsuke.github.GHCommit;
 import org.kohsuke.github.GHCompare;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHRepository;
@@ -34,6 +35,8 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
 import eu.solven.cleanthat.code_provider.github.code_provider.AGithubCodeProvider;
 import eu.solven.cleanthat.code_provider.github.code_provider.FileIsTooBigException;
+import eu.solven.cleanthat.code_provider.github.code_provider.GithubBlobPrefetcher;
+import eu.solven.cleanthat.code_provider.github.code_provider.GithubTreeWalker;
 import eu.solven.cleanthat.codeprovider.DummyCodeProviderFile;
 import eu.solven.cleanthat.codeprovider.ICodeProvider;
 import eu.solven.cleanthat.codeprovider.ICodeProviderFile;
@@ -49,19 +52,24 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public abstract class AGithubDiffCodeProvider extends AGithubCodeProvider implements IListOnlyModifiedFiles {
 
+	// Beyond these limits, the compare API truncates its result
 	private static final int LIMIT_COMMIT_IN_COMPARE = 250;
+	static final int LIMIT_FILES_IN_COMPARE = 300;
 
 	final String token;
 	final GHRepository baseRepository;
 
 	final Supplier<GHCompare> diffSupplier;
 
+	final GithubBlobPrefetcher blobPrefetcher;
+
 	@SuppressFBWarnings(value = "CT_CONSTRUCTOR_THROW", justification = "Unclear FB case")
 	public AGithubDiffCodeProvider(Path repositoryRoot, String token, GHRepository baseRepository) {
 		super(repositoryRoot);
 		this.token = token;
 
 		this.baseRepository = baseRepository;
+		this.blobPrefetcher = new GithubBlobPrefetcher(baseRepository);
 
 		// https://stackoverflow.com/questions/26925312/github-api-how-to-compare-2-commits
 		this.diffSupplier = Suppliers.memoize(() -> {
@@ -91,23 +99,44 @@ public abstract class AGithubDiffCodeProvider extends AGithubCodeProvider implem
 	public void listFilesForContent(Set<String> patterns, Consumer<ICodeProviderFile> consumer) throws IOException {
 		GHCompare diff = diffSupplier.get();
 
-		if (diff.getTotalCommits() >= LIMIT_COMMIT_IN_COMPARE) {
+		GHCommit.File[] compareFiles = diff.getFiles();
+		if (diff.getTotalCommits() >= LIMIT_COMMIT_IN_COMPARE || compareFiles.length >= LIMIT_FILES_IN_COMPARE) {
 			// https://stackoverflow.com/questions/26925312/github-api-how-to-compare-2-commits
 			// https://developer.github.com/v3/repos/commits/#list-commits-on-a-repository
-			LOGGER.warn("We are considering a diff of more than 250 Commits ({}), impacting {} files",
+			// https://docs.github.com/en/rest/commits/commits#compare-two-commits
+			LOGGER.warn("We are considering a diff of {} commits, impacting at least {} files: we diff the trees",
 					diff.getTotalCommits(),
-					diff.getFiles().length);
+					compareFiles.length);
+
+			// The compare is relative to the merge-base
+			listFilesFromTrees(diff.getMergeBaseCommit().getSHA1(), consumer);
+		} else {
+			Stream.of(compareFiles).forEach(prFile -> {
+				// Github does not prefix with '/'
+				String fileName = prFile.getFileName();
+				if ("removed".equals(prFile.getStatus())) {
+					LOGGER.debug("Skip a removed file: {}", fileName);
+				} else {
+					Path contentPath = CleanthatPathHelpers.makeContentPath(getRepositoryRoot(), fileName);
+					// The sha of a diff file is the sha of its blob in the head
+					blobPrefetcher.registerBlob(contentPath, prFile.getSha());
+					consumer.accept(new DummyCodeProviderFile(contentPath, prFile));
+				}
+			});
 		}
+	}
 
-		Stream.of(diff.getFiles()).forEach(prFile -> {
-			// Github does not prefix with '/'
-			String fileName = prFile.getFileName();
-			if ("removed".equals(prFile.getStatus())) {
-				LOGGER.debug("Skip a removed file: {}", fileName);
-			} else {
-				Path contentPath = CleanthatPathHelpers.makeContentPath(getRepositoryRoot(), fileName);
-				consumer.accept(new DummyCodeProviderFile(contentPath, prFile));
+	/**
+	 * The changed files are listed by walking the differing sub-trees, and they are emitted as soon as their directory
+	 * is fetched: the processing of the first files starts while the listing goes on.
+	 */
+	protected void listFilesFromTrees(String baseSha, Consumer<ICodeProviderFile> consumer) throws IOException {
+		new GithubTreeWalker(baseRepository).walkChangedBlobs(baseSha, getHeadId(), (rawPath, treeEntry) -> {
+			Path contentPath = CleanthatPathHelpers.makeContentPath(getRepositoryRoot(), rawPath);
+			if (treeEntry.getSize() <= GithubBlobPrefetcher.MAX_BLOB_SIZE) {
+				blobPrefetcher.registerBlob(contentPath, treeEntry.getSha());
 			}
+			consumer.accept(new DummyCodeProviderFile(contentPath, treeEntry));
 		});
 	}
 
@@ -116,10 +145,25 @@ public abstract class AGithubDiffCodeProvider extends AGithubCodeProvider implem
 		return diffSupplier.get().getHtmlUrl().toExternalForm();
 	}
 
+	@Override
+	public void prefetchContentForPath(Path contentPath) {
+		blobPrefetcher.prefetch(contentPath);
+	}
+
+	@Override
+	public void stopPrefetching() {
+		blobPrefetcher.close();
+	}
+
 	@Override
 	public Optional<String> loadContentForPath(Path contentPath) throws IOException {
 		String rawPath = CleanthatPathHelpers.makeContentRawPath(getRepositoryRoot(), contentPath);
 		try {
+			var optPrefetched = blobPrefetcher.consumePrefetched(contentPath);
+			if (optPrefetched.isPresent()) {
+				return optPrefetched;
+			}
+
 			return Optional.of(loadContent(baseRepository, rawPath, getHeadId()));
 		} catch (GHFileNotFoundException e) {
 			LOGGER.trace("We miss: {}", contentPath, e);
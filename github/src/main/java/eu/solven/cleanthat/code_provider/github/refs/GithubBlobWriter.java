@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.refs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.kohsuke.github.GHRepository;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import eu.solven.cleanthat.code_provider.github.code_provider.GithubBlobPrefetcher;
+import eu.solven.pepper.thread.PepperExecutorsHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Uploads contents as Git blobs, with a bounded number of concurrent calls. The returned blob SHAs enable building a
+ * tree without sending the contents inline, which would make a single huge request.
+ *
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class GithubBlobWriter {
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	private static final long RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(1);
+
+	final GHRepository repo;
+	final int maxConcurrency;
+	final int maxAttempts;
+
+	public GithubBlobWriter(GHRepository repo, int maxConcurrency, int maxAttempts) {
+		this.repo = repo;
+		this.maxConcurrency = maxConcurrency;
+		this.maxAttempts = maxAttempts;
+	}
+
+	public GithubBlobWriter(GHRepository repo) {
+		// Same concurrency as for reading, to prevent hitting secondary rate-limits
+		this(repo, GithubBlobPrefetcher.DEFAULT_MAX_CONCURRENCY, DEFAULT_MAX_ATTEMPTS);
+	}
+
+	/**
+	 * 
+	 * @param pathToContent
+	 * @return the blob SHA of each path
+	 */
+	public Map<Path, String> createBlobs(Map<Path, String> pathToContent) {
+		if (pathToContent.isEmpty()) {
+			return Map.of();
+		}
+
+		var executor = PepperExecutorsHelper.newShrinkableFixedThreadPool(maxConcurrency, "Cleanthat-GithubBlobWriter-");
+		try {
+			Map<Path, ListenableFuture<String>> pathToFuture = new LinkedHashMap<>();
+			pathToContent.forEach((path, content) -> {
+				pathToFuture.put(path, executor.submit(() -> createBlob(path, content)));
+			});
+
+			Map<Path, String> pathToBlobSha = new LinkedHashMap<>();
+			for (var entry : pathToFuture.entrySet()) {
+				pathToBlobSha.put(entry.getKey(), entry.getValue().get());
+			}
+			LOGGER.info("Uploaded {} blobs into {}", pathToBlobSha.size(), repo.getFullName());
+			return pathToBlobSha;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while uploading blobs", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw new UncheckedIOException((IOException) e.getCause());
+			}
+			throw new IllegalStateException("Issue uploading blobs", e);
+		} finally {
+			// Remaining uploads are useless once one has failed
+			executor.shutdownNow();
+		}
+	}
+
+	protected String createBlob(Path path, String content) throws IOException, InterruptedException {
+		var attempt = 1;
+		while (true) {
+			try {
+				return repo.createBlob().textContent(content).create().getSha();
+			} catch (IOException e) {
+				if (attempt >= maxAttempts) {
+					throw new IOException("Issue uploading " + path + " after " + attempt + " attempts", e);
+				}
+				LOGGER.warn("Issue uploading {} (attempt {}/{})", path, attempt, maxAttempts, e);
+
+				Thread.sleep(attempt * RETRY_DELAY_MS);
+				attempt++;
+			}
+		}
+	}
+}
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,9 +35,13 @@ import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHTree;
 import org.kohsuke.github.GHTreeBuilder;
 
+import com.google.common.collect.Lists;
+
 import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.code_provider.github.code_provider.GithubBlobPrefetcher;
 import eu.solven.cleanthat.codeprovider.ICodeProviderWriterLogic;
 import eu.solven.cleanthat.codeprovider.ICodeWritingMetadata;
+import eu.solven.cleanthat.codeprovider.IContentReCleaner;
 import eu.solven.cleanthat.formatter.CodeProviderFormatter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -48,6 +53,11 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class GithubRefWriterLogic implements ICodeProviderWriterLogic {
+	// Larger change-sets are committed as a chain of commits
+	public static final int MAX_PATHS_PER_COMMIT = 1000;
+
+	// The ref may be updated concurrently: we re-build the commit over the new head a few times, then give up
+	public static final int MAX_UPDATE_ATTEMPTS = 3;
 
 	final String eventKey;
 
@@ -86,10 +96,28 @@ public class GithubRefWriterLogic implements ICodeProviderWriterLogic {
 
 	@Override
 	public boolean persistChanges(Map<Path, String> pathToMutatedContent, ICodeWritingMetadata codeWritingMetadata) {
-		return commitIntoRef(pathToMutatedContent, codeWritingMetadata.getComments());
+		return commitIntoRef(pathToMutatedContent,
+				codeWritingMetadata.getComments(),
+				codeWritingMetadata.getContentReCleaner());
 	}
 
 	protected boolean commitIntoRef(Map<Path, String> pathToMutatedContent, List<String> prComments) {
+		return commitIntoRef(pathToMutatedContent, prComments, Optional.empty());
+	}
+
+	/**
+	 * The ref is updated optimistically: if it has moved in the meantime, the paths modified concurrently are cleaned
+	 * again (or discarded if they can not be cleaned again), and the commit is re-built over the new head.
+	 * 
+	 * @param pathToMutatedContent
+	 * @param prComments
+	 * @param optReCleaner
+	 *            if present, enables cleaning again the paths modified concurrently
+	 * @return true if some commit has been pushed
+	 */
+	protected boolean commitIntoRef(Map<Path, String> pathToMutatedContent,
+			List<String> prComments,
+			Optional<IContentReCleaner> optReCleaner) {
 		if (pathToMutatedContent.isEmpty()) {
 			LOGGER.info("There is not a single path to write");
 			return false;
@@ -99,96 +127,199 @@ public class GithubRefWriterLogic implements ICodeProviderWriterLogic {
 		String refName = target.getRef();
 		LOGGER.debug("Persisting into {}:{}", repoName, refName);
 
-		GHRef updatedTarget;
-		try {
-			updatedTarget = repo.getRef(target.getRef());
-		} catch (IOException e) {
-			throw new UncheckedIOException("Issue fetching updated " + refName, e);
-		}
-
-		// TODO What if the ref has moved to another sha1 in the meantime?
-		// We should not commit directly in the branch, but commit in a tmp branch, and merge it right away
-		// Then, in case of conflicts (e.g. due to event being processed very lately, or race-condition), we would just
-		// drop some events/paths
-		String veryFreshTargetSha = updatedTarget.getObject().getSha();
-		String freshTargetSha1 = target.getObject().getSha();
-
-		if (!veryFreshTargetSha.equals(freshTargetSha1)) {
-			// Happens if a commit is pushed during the cleaning
-			LOGGER.warn("Target '{}' has been updated {} -> {} (during the event processing)",
-					refName,
-					freshTargetSha1,
-					veryFreshTargetSha);
-
-			// This would be rejected in `doCommitContent` as we do not force push, and the built tree is not a
-			// descendant of the new head
-		}
+		// The sha1 over which the contents has been cleaned
+		var cleanedSha1 = readSha1;
+		var pathToCommitableContent = pathToMutatedContent;
+
+		// The blobs are kept through the attempts: a retry uploads only the contents cleaned again
+		Map<Path, String> pathToUploadedContent = new HashMap<>();
+		Map<Path, String> pathToBlobSha = new HashMap<>();
+
+		var headSha1 = fetchHeadSha1(refName);
+		for (var attempt = 1;; attempt++) {
+			if (!headSha1.equals(cleanedSha1)) {
+				// Happens if a commit is pushed during the cleaning (or between the event and its processing)
+				LOGGER.warn("Target '{}' has been updated {} -> {} (during the event processing)",
+						refName,
+						cleanedSha1,
+						headSha1);
+
+				pathToCommitableContent =
+						mergeDivergedPaths(pathToCommitableContent, refName, cleanedSha1, headSha1, optReCleaner);
+			}
 
-		var sha1ToConsiderAsHead = freshTargetSha1;
+			if (pathToCommitableContent.isEmpty()) {
+				LOGGER.warn("Due to ref update, there is not a single file to commit");
+				return false;
+			}
 
-		var pathToCommitableContent = filterOutPathsHavingDiverged(pathToMutatedContent, refName, sha1ToConsiderAsHead);
+			String newHead;
+			try {
+				uploadMissingBlobs(pathToCommitableContent, pathToUploadedContent, pathToBlobSha);
+				newHead = doCommitContent(prComments,
+						repoName,
+						refName,
+						headSha1,
+						pathToCommitableContent,
+						pathToBlobSha);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
 
-		if (pathToCommitableContent.isEmpty()) {
-			LOGGER.warn("Due to ref update, there is not a single file to commit");
-			return false;
+			try {
+				// https://docs.github.com/en/rest/git/refs?apiVersion=2022-11-28#update-a-reference
+				// Not forced: the update is rejected if the ref is not an ancestor of the new head anymore, which makes
+				// a compare-and-swap
+				target.updateTo(newHead, false);
+				return true;
+			} catch (IOException e) {
+				var movedHeadSha1 = fetchHeadSha1(refName);
+				if (movedHeadSha1.equals(headSha1)) {
+					// The ref has not moved: the failure is not due to a concurrent update (e.g. a protected branch)
+					throw new UncheckedIOException("Issue updating " + refName + " to " + newHead, e);
+				} else if (attempt >= MAX_UPDATE_ATTEMPTS) {
+					throw new UncheckedIOException("The ref has been updated in the meantime?", e);
+				}
+				LOGGER.warn("Issue updating {} to {} (attempt {}/{}) as it has been updated to {}",
+						refName,
+						newHead,
+						attempt,
+						MAX_UPDATE_ATTEMPTS,
+						movedHeadSha1,
+						e);
+
+				// The contents are now clean relatively to the head of this attempt
+				cleanedSha1 = headSha1;
+				headSha1 = movedHeadSha1;
+			}
 		}
+	}
 
+	private String fetchHeadSha1(String refName) {
 		try {
-			return doCommitContent(prComments, repoName, refName, sha1ToConsiderAsHead, pathToCommitableContent);
+			return repo.getRef(refName).getObject().getSha();
 		} catch (IOException e) {
-			throw new UncheckedIOException(e);
+			throw new UncheckedIOException("Issue fetching updated " + refName, e);
 		}
 	}
 
-	private boolean doCommitContent(List<String> prComments,
+	/**
+	 * Uploads the contents which have not been uploaded yet (e.g. the contents cleaned again after a concurrent change).
+	 */
+	private void uploadMissingBlobs(Map<Path, String> pathToCommitableContent,
+			Map<Path, String> pathToUploadedContent,
+			Map<Path, String> pathToBlobSha) {
+		Map<Path, String> pathToMissingContent = new LinkedHashMap<>();
+		pathToCommitableContent.forEach((path, content) -> {
+			if (!content.equals(pathToUploadedContent.get(path))) {
+				pathToMissingContent.put(path, content);
+			}
+		});
+
+		pathToBlobSha.putAll(new GithubBlobWriter(repo).createBlobs(pathToMissingContent));
+		pathToUploadedContent.putAll(pathToMissingContent);
+	}
+
+	/**
+	 * 
+	 * @return the sha1 of the last created commit
+	 */
+	private String doCommitContent(List<String> prComments,
 			String repoName,
 			String refName,
 			String refTargetSha,
-			Map<Path, String> pathToCommitableContent) throws IOException {
-		GHTreeBuilder createTree = prepareBuilderTree(repo, pathToCommitableContent);
-		GHTree createdTree = createTree.baseTree(refTargetSha).create();
-
+			Map<Path, String> pathToCommitableContent,
+			Map<Path, String> pathToBlobSha) throws IOException {
 		List<String> allCommitRows = new ArrayList<>();
 		allCommitRows.addAll(prComments);
 		allCommitRows.add("eventKey: " + eventKey);
 
 		var commitMessage = allCommitRows.stream().collect(Collectors.joining(CodeProviderFormatter.EOL));
+
+		// Very large change-sets are split into chained commits, as a single huge tree may be rejected or time out
+		List<List<Path>> chunks =
+				Lists.partition(new ArrayList<>(pathToCommitableContent.keySet()), getMaxPathsPerCommit());
+
+		var newHead = refTargetSha;
+		for (var chunkIndex = 0; chunkIndex < chunks.size(); chunkIndex++) {
+			Map<Path, String> chunkPathToContent = new LinkedHashMap<>();
+			chunks.get(chunkIndex).forEach(path -> chunkPathToContent.put(path, pathToCommitableContent.get(path)));
+
+			String chunkCommitMessage;
+			if (chunks.size() == 1) {
+				chunkCommitMessage = commitMessage;
+			} else {
+				chunkCommitMessage =
+						commitMessage + CodeProviderFormatter.EOL + "part: " + (chunkIndex + 1) + "/" + chunks.size();
+			}
+
+			GHCommit commit = createCommit(newHead, chunkPathToContent, pathToBlobSha, chunkCommitMessage);
+
+			newHead = commit.getSHA1();
+			LOGGER.info("Update {} files in {}:{} to {} ({})",
+					chunkPathToContent.size(),
+					repoName,
+					refName,
+					newHead,
+					commit.getHtmlUrl());
+		}
+
+		return newHead;
+	}
+
+	private GHCommit createCommit(String parentSha,
+			Map<Path, String> pathToContent,
+			Map<Path, String> pathToBlobSha,
+			String commitMessage) throws IOException {
+		GHTreeBuilder createTree = prepareBuilderTree(repo, pathToContent, pathToBlobSha);
+		GHTree createdTree = createTree.baseTree(parentSha).create();
+
 		GHCommitBuilder preparedCommit =
-				prepareCommit(repo).message(commitMessage).parent(refTargetSha).tree(createdTree.getSha());
+				prepareCommit(repo).message(commitMessage).parent(parentSha).tree(createdTree.getSha());
 
 		computeSignature().ifPresent(s -> preparedCommit.withSignature(s));
 
-		GHCommit commit = preparedCommit.create();
-
-		String newHead = commit.getSHA1();
-		LOGGER.info("Update {} files in {}:{} to {} ({})",
-				pathToCommitableContent.size(),
-				repoName,
-				refName,
-				newHead,
-				commit.getHtmlUrl());
+		return preparedCommit.create();
+	}
 
-		try {
-			// https://docs.github.com/en/rest/git/refs?apiVersion=2022-11-28#update-a-reference
-			target.updateTo(newHead);
-			return true;
-		} catch (IOException e) {
-			throw new UncheckedIOException("The ref has been updated in the meantime?", e);
-		}
+	protected int getMaxPathsPerCommit() {
+		return MAX_PATHS_PER_COMMIT;
 	}
 
 	/**
-	 * This is some sort of merge algorithm. We'd better not re-inventing the wheel, but we want to manage the most
-	 * trivial case (e.g. a commit has modified unrelated pathes).
+	 * Discards the paths modified concurrently, since the contents has been read.
 	 * 
 	 * @param pathToMutatedContent
 	 * @param refName
 	 * @param refTargetSha
-	 * @return
+	 * @return the contents which can be committed over refTargetSha
 	 */
 	protected Map<Path, String> filterOutPathsHavingDiverged(Map<Path, String> pathToMutatedContent,
 			String refName,
 			String refTargetSha) {
+		return mergeDivergedPaths(pathToMutatedContent, refName, readSha1, refTargetSha, Optional.empty());
+	}
+
+	/**
+	 * This is some sort of merge algorithm. We'd better not re-inventing the wheel, but we want to manage the most
+	 * trivial case (e.g. a commit has modified unrelated pathes). A path modified concurrently is cleaned again from
+	 * its new content, if an {@link IContentReCleaner} is provided. Else, it is discarded. Everything is discarded if
+	 * the ref is not a fast-forward of the cleaned sha1, or if the compare is too large to list all modified paths.
+	 * 
+	 * @param pathToMutatedContent
+	 * @param refName
+	 * @param cleanedSha
+	 *            the sha1 over which the contents has been cleaned
+	 * @param refTargetSha
+	 *            the sha1 over which the contents will be committed
+	 * @param optReCleaner
+	 * @return the contents which can be committed over refTargetSha
+	 */
+	protected Map<Path, String> mergeDivergedPaths(Map<Path, String> pathToMutatedContent,
+			String refName,
+			String cleanedSha,
+			String refTargetSha,
+			Optional<IContentReCleaner> optReCleaner) {
 		if (pathToMutatedContent.isEmpty()) {
 			return pathToMutatedContent;
 		}
@@ -199,9 +330,9 @@ public class GithubRefWriterLogic implements ICodeProviderWriterLogic {
 		{
 			GHCompare compareContentWithHead;
 			try {
-				compareContentWithHead = repo.getCompare(readSha1, refTargetSha);
+				compareContentWithHead = repo.getCompare(cleanedSha, refTargetSha);
 			} catch (IOException e) {
-				throw new UncheckedIOException("Issue comparing " + readSha1 + " with " + refTargetSha, e);
+				throw new UncheckedIOException("Issue comparing " + cleanedSha + " with " + refTargetSha, e);
 			}
 
 			int aheadBy = compareContentWithHead.getAheadBy();
@@ -211,23 +342,48 @@ public class GithubRefWriterLogic implements ICodeProviderWriterLogic {
 			}
 
 			int behindBy = compareContentWithHead.getBehindBy();
-			if (behindBy > 0) {
-				// The ref has been forced push to a commit in the past, even before the head of the event?
-				LOGGER.error("Target '{}' is  behind by {}", refName, behindBy);
+			GHCompare.Status status = compareContentWithHead.getStatus();
+			if (behindBy > 0 || status != GHCompare.Status.ahead && status != GHCompare.Status.identical) {
+				// The ref has been forced push to a commit in the past, even before the head of the event? The compare
+				// lists the files from the merge-base: the files changed only by the dropped commits are not listed,
+				// and committing their cleaned content would restore these dropped changes
+				LOGGER.error("Target '{}' is behind by {} (status={}): we discard the cleaned contents",
+						refName,
+						behindBy,
+						status);
+				return Map.of();
+			}
+			LOGGER.info("The cleaned sha1 status is {}", status);
+
+			GHCommit.File[] concurrentFiles = compareContentWithHead.getFiles();
+			if (concurrentFiles.length >= AGithubDiffCodeProvider.LIMIT_FILES_IN_COMPARE) {
+				// The files are truncated by the compare API: we can not tell which paths have been modified concurrently
+				LOGGER.warn("Target '{}' has at least {} files modified concurrently: we discard the cleaned contents",
+						refName,
+						concurrentFiles.length);
+				return Map.of();
 			}
-			LOGGER.info("The cleaned sha1 status is {}", compareContentWithHead.getStatus());
 
 			// We clean a head, given the diff-set of files compared to a base.
 			// However, the head may be quite old, and some other commits may have been pushed onto the ref
-			Stream.of(compareContentWithHead.getFiles()).forEach(committedFile -> {
+			Stream.of(concurrentFiles).forEach(committedFile -> {
 				String concurrentSha = committedFile.getSha();
 
 				String filename = committedFile.getFileName();
 				Path currentAsPath = CleanthatPathHelpers.makeContentPath(fs, filename);
 				if (null != pathToCommitableContent.remove(currentAsPath)) {
-					LOGGER.warn("We discarded commit of clean file given a concurrent change: {} (sha={})",
-							filename,
-							concurrentSha);
+					var optReCleaned = optReCleaner
+							.flatMap(reCleaner -> reCleanConcurrentChange(reCleaner, committedFile, currentAsPath));
+					if (optReCleaned.isPresent()) {
+						LOGGER.info("We cleaned again a file given a concurrent change: {} (sha={})",
+								filename,
+								concurrentSha);
+						pathToCommitableContent.put(currentAsPath, optReCleaned.get());
+					} else {
+						LOGGER.warn("We discarded commit of clean file given a concurrent change: {} (sha={})",
+								filename,
+								concurrentSha);
+					}
 				} else {
 					String previousFilename = committedFile.getPreviousFilename();
 					if (previousFilename != null) {
@@ -244,13 +400,52 @@ public class GithubRefWriterLogic implements ICodeProviderWriterLogic {
 		return pathToCommitableContent;
 	}
 
+	/**
+	 * 
+	 * @return the content to commit, or empty if the concurrent content is already clean, or can not be cleaned
+	 */
+	protected Optional<String> reCleanConcurrentChange(IContentReCleaner reCleaner,
+			GHCommit.File committedFile,
+			Path path) {
+		if ("removed".equals(committedFile.getStatus())) {
+			return Optional.empty();
+		}
+
+		try {
+			var concurrentContent = GithubBlobPrefetcher.loadBlob(repo, committedFile.getSha());
+			return reCleaner.reClean(path, concurrentContent).filter(cleaned -> !cleaned.equals(concurrentContent));
+		} catch (IOException e) {
+			LOGGER.warn("Issue cleaning again {}", path, e);
+			return Optional.empty();
+		}
+	}
+
 	public static GHTreeBuilder prepareBuilderTree(GHRepository repo, Map<Path, String> pathToMutatedContent) {
+		var pathToBlobSha = new GithubBlobWriter(repo).createBlobs(pathToMutatedContent);
+		return prepareBuilderTree(repo, pathToMutatedContent, pathToBlobSha);
+	}
+
+	/**
+	 * 
+	 * @param repo
+	 * @param pathToMutatedContent
+	 * @param pathToBlobSha
+	 *            the uploaded blob of each path, as created by {@link GithubBlobWriter}
+	 * @return a {@link GHTreeBuilder} holding given contents
+	 */
+	public static GHTreeBuilder prepareBuilderTree(GHRepository repo,
+			Map<Path, String> pathToMutatedContent,
+			Map<Path, String> pathToBlobSha) {
 		GHTreeBuilder createTree = repo.createTree();
 		pathToMutatedContent.forEach((path, content) -> {
 			CleanthatPathHelpers.checkContentPath(path);
 
 			// TODO isExecutable isn't a parameter from the original file?
-			createTree.add(path.toString(), content, false);
+			var blobSha = pathToBlobSha.get(path);
+			if (blobSha == null) {
+				throw new IllegalArgumentException("No blob has been uploaded for path=" + path);
+			}
+			createTree.shaEntry(path.toString(), blobSha, false);
 		});
 		return createTree;
 	}
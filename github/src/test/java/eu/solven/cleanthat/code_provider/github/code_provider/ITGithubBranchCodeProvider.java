@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.code_provider.github.code_provider;
 
 import java.io.IOException;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -70,9 +71,9 @@ public class ITGithubBranchCodeProvider {
 						.getHelper();
 
 		// First call: we do clone
-		Assert.assertTrue(codeProvider.ensureLocalClone());
+		Assert.assertTrue(codeProvider.ensureLocalClone(Set.of("glob:**/*")));
 
 		// Second call: already cloned
-		Assert.assertFalse(codeProvider.ensureLocalClone());
+		Assert.assertFalse(codeProvider.ensureLocalClone(Set.of("glob:**/*")));
 	}
 }
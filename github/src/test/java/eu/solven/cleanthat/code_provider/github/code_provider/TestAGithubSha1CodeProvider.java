@@ -15,14 +15,18 @@
  */
 package eu.solven.cleanthat.code_provider.github.code_provider;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
+import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
 import org.mockito.Mockito;
 
 import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
@@ -55,8 +59,7 @@ public class TestAGithubSha1CodeProvider {
 
 		TestGithubCommitCodeProvider.mockHasZip(ghRepo, tmpZipFile, someSha1);
 
-		var tmpDir = Files.createTempDirectory("cleanthat-TestAGithubSha1CodeProvider");
-		ICodeProvider localCp = codeProvider.getHelper().downloadGitRefLocally(tmpDir);
+		ICodeProvider localCp = codeProvider.getHelper().downloadGitRefLocally(Set.of("glob:**/*.txt"));
 
 		Set<String> paths = new HashSet<>();
 		localCp.listFilesForContent(file -> paths.add(file.getPath().toString()));
@@ -71,4 +74,82 @@ public class TestAGithubSha1CodeProvider {
 				.isPresent()
 				.contains("someToto");
 	}
+
+	@Test
+	public void testRepoSha1AsZip_notIncluded() throws IOException {
+		GHRepository ghRepo = Mockito.mock(GHRepository.class);
+
+		var tmpZipFile = Files.createTempFile("cleanthat", "TestAGithubSha1CodeProvider.zip");
+		tmpZipFile.toFile().delete();
+
+		var root = tmpZipFile.getParent();
+		AGithubSha1CodeProvider codeProvider = new AGithubSha1CodeProvider(root, "someToken", ghRepo) {
+
+			@Override
+			public String getSha1() {
+				return someSha1;
+			}
+
+			@Override
+			public String getRef() {
+				return someRef;
+			}
+		};
+
+		TestGithubCommitCodeProvider.mockHasZip(ghRepo, tmpZipFile, someSha1);
+
+		Set<String> paths = new HashSet<>();
+		codeProvider.getHelper().listFilesLocally(Set.of("glob:dir/*.txt"), file -> paths.add(file.getPath().toString()));
+		Assertions.assertThat(paths).containsExactly("dir/toto.txt");
+
+		// The not included file is loaded through the API
+		GHContent content = Mockito.mock(GHContent.class);
+		Mockito.when(content.read())
+				.thenReturn(new ByteArrayInputStream("someTitiFromApi".getBytes(StandardCharsets.UTF_8)));
+		Mockito.when(ghRepo.getFileContent("root.txt", someSha1)).thenReturn(content);
+
+		Assertions.assertThat(codeProvider.loadContentForPath("root.txt")).contains("someTitiFromApi");
+		Assertions.assertThat(codeProvider.loadContentForPath("dir/toto.txt")).contains("someToto");
+		Mockito.verify(ghRepo, Mockito.never()).getFileContent("dir/toto.txt", someSha1);
+	}
+
+	@Test
+	public void testListFilesForFilenames_truncated() throws IOException {
+		GHRepository ghRepo = Mockito.mock(GHRepository.class);
+
+		var root = Files.createTempDirectory("cleanthat-TestAGithubSha1CodeProvider");
+		AGithubSha1CodeProvider codeProvider = new AGithubSha1CodeProvider(root, "someToken", ghRepo) {
+
+			@Override
+			public String getSha1() {
+				return someSha1;
+			}
+
+			@Override
+			public String getRef() {
+				return someRef;
+			}
+		};
+
+		GHTree truncatedTree = Mockito.mock(GHTree.class);
+		Mockito.when(truncatedTree.isTruncated()).thenReturn(true);
+		Mockito.when(ghRepo.getTreeRecursive(someSha1, 1)).thenReturn(truncatedTree);
+
+		TestGithubTreeWalker.mockTree(ghRepo,
+				someSha1,
+				TestGithubTreeWalker.mockEntry("pom.xml", "blob", "pomBlob"),
+				TestGithubTreeWalker.mockEntry("src", "tree", "srcTree"),
+				TestGithubTreeWalker.mockEntry("target", "tree", "targetTree"));
+		TestGithubTreeWalker.mockTree(ghRepo, "srcTree", TestGithubTreeWalker.mockEntry("Main.java", "blob", "mainJava"));
+
+		Set<String> paths = new HashSet<>();
+		codeProvider.listFilesForFilenames(Set.of("glob:src/**/*.java", "glob:pom.xml"),
+				file -> paths.add(file.getPath().toString()));
+
+		Assertions.assertThat(paths).containsExactlyInAnyOrder("pom.xml", "src/Main.java");
+
+		// Neither the pruned directories, nor the whole repository, are fetched
+		Mockito.verify(ghRepo, Mockito.never()).getTree("targetTree");
+		Mockito.verify(ghRepo, Mockito.never()).readZip(Mockito.any(), Mockito.any());
+	}
 }
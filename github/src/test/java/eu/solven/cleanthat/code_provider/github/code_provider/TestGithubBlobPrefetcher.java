@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.code_provider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.kohsuke.github.GHBlob;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeEntry;
+import org.mockito.Mockito;
+
+import com.google.common.jimfs.Jimfs;
+
+import eu.solven.cleanthat.code_provider.CleanthatPathHelpers;
+import eu.solven.cleanthat.code_provider.github.refs.all_files.GithubCommitCodeProvider;
+
+public class TestGithubBlobPrefetcher {
+	final FileSystem fs = Jimfs.newFileSystem();
+
+	final GHRepository ghRepo = Mockito.mock(GHRepository.class);
+
+	private void mockBlob(String blobSha, String content, long size) throws IOException {
+		GHBlob blob = Mockito.mock(GHBlob.class);
+		Mockito.when(blob.getSize()).thenReturn(size);
+		Mockito.when(blob.read())
+				.thenAnswer(invok -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+		Mockito.when(ghRepo.getBlob(blobSha)).thenReturn(blob);
+	}
+
+	@Test
+	public void testPrefetch() throws IOException {
+		mockBlob("someBlobSha", "someContent", 11);
+
+		var prefetcher = new GithubBlobPrefetcher(ghRepo);
+		var path = fs.getPath("dir", "some.txt");
+		prefetcher.registerBlob(path, "someBlobSha");
+
+		Assertions.assertThat(prefetcher.prefetch(path)).isTrue();
+		Assertions.assertThat(prefetcher.consumePrefetched(path)).contains("someContent");
+
+		// The content is released once consumed
+		Assertions.assertThat(prefetcher.consumePrefetched(path)).isEmpty();
+		Mockito.verify(ghRepo, Mockito.times(1)).getBlob("someBlobSha");
+	}
+
+	@Test
+	public void testClose() throws IOException {
+		mockBlob("someBlobSha", "someContent", 11);
+
+		var prefetcher = new GithubBlobPrefetcher(ghRepo);
+		var path = fs.getPath("dir", "some.txt");
+		prefetcher.registerBlob(path, "someBlobSha");
+
+		Assertions.assertThat(prefetcher.prefetch(path)).isTrue();
+		var executor = prefetcher.getExecutor();
+		prefetcher.close();
+
+		Assertions.assertThat(executor.isShutdown()).isTrue();
+		// The pending content is released: it would be loaded on-demand
+		Assertions.assertThat(prefetcher.consumePrefetched(path)).isEmpty();
+
+		// A closed prefetcher can prefetch again
+		Assertions.assertThat(prefetcher.prefetch(path)).isTrue();
+		Assertions.assertThat(prefetcher.consumePrefetched(path)).contains("someContent");
+		prefetcher.close();
+	}
+
+	@Test
+	public void testPrefetch_unknownPath() throws IOException {
+		var prefetcher = new GithubBlobPrefetcher(ghRepo);
+		var path = fs.getPath("dir", "some.txt");
+
+		Assertions.assertThat(prefetcher.prefetch(path)).isFalse();
+		Assertions.assertThat(prefetcher.consumePrefetched(path)).isEmpty();
+		Mockito.verifyNoInteractions(ghRepo);
+	}
+
+	@Test
+	public void testPrefetch_tooBig() throws IOException {
+		mockBlob("someBlobSha", "someContent", GithubBlobPrefetcher.MAX_BLOB_SIZE + 1);
+
+		var prefetcher = new GithubBlobPrefetcher(ghRepo);
+		var path = fs.getPath("dir", "some.txt");
+		prefetcher.registerBlob(path, "someBlobSha");
+		prefetcher.prefetch(path);
+
+		Assertions.assertThatThrownBy(() -> prefetcher.consumePrefetched(path))
+				.isInstanceOf(FileIsTooBigException.class);
+	}
+
+	@Test
+	public void testCodeProvider_loadFromPrefetchedBlob() throws IOException {
+		GHCommit commit = Mockito.mock(GHCommit.class);
+		Mockito.when(commit.getSHA1()).thenReturn("someSha1");
+
+		var codeProvider = new GithubCommitCodeProvider(fs.getPath("/root/dir"), "someToken", ghRepo, commit);
+
+		GHTreeEntry treeEntry = Mockito.mock(GHTreeEntry.class);
+		Mockito.when(treeEntry.getType()).thenReturn("blob");
+		Mockito.when(treeEntry.getPath()).thenReturn("dir/some.txt");
+		Mockito.when(treeEntry.getSha()).thenReturn("someBlobSha");
+		Mockito.when(treeEntry.getSize()).thenReturn(11L);
+
+		GHTree ghTree = Mockito.mock(GHTree.class);
+		Mockito.when(ghTree.getTree()).thenReturn(List.of(treeEntry));
+		Mockito.when(ghRepo.getTreeRecursive("someSha1", 1)).thenReturn(ghTree);
+
+		mockBlob("someBlobSha", "someContent", 11);
+
+		List<String> paths = new ArrayList<>();
+		codeProvider.listFilesForContent(file -> {
+			paths.add(file.getPath().toString());
+			codeProvider.prefetchContentForPath(file.getPath());
+		});
+		Assertions.assertThat(paths).containsExactly("dir/some.txt");
+
+		var contentPath = CleanthatPathHelpers.makeContentPath(codeProvider.getRepositoryRoot(), "dir/some.txt");
+		Assertions.assertThat(codeProvider.loadContentForPath(contentPath)).contains("someContent");
+
+		// The contents API is not used
+		Mockito.verify(ghRepo, Mockito.never()).getFileContent(Mockito.anyString(), Mockito.anyString());
+	}
+}
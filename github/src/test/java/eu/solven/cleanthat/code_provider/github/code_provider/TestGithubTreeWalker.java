@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.code_provider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeEntry;
+import org.mockito.Mockito;
+
+public class TestGithubTreeWalker {
+	final GHRepository repo = Mockito.mock(GHRepository.class);
+
+	public static GHTreeEntry mockEntry(String name, String type, String sha) {
+		GHTreeEntry entry = Mockito.mock(GHTreeEntry.class);
+		Mockito.when(entry.getPath()).thenReturn(name);
+		Mockito.when(entry.getType()).thenReturn(type);
+		Mockito.when(entry.getSha()).thenReturn(sha);
+		return entry;
+	}
+
+	public static void mockTree(GHRepository repo, String sha, GHTreeEntry... entries) throws IOException {
+		GHTree tree = Mockito.mock(GHTree.class);
+		Mockito.when(tree.getTree()).thenReturn(List.of(entries));
+		Mockito.when(repo.getTree(sha)).thenReturn(tree);
+	}
+
+	@Test
+	public void testWalkChangedBlobs() throws IOException {
+		mockTree(repo,
+				"baseRoot",
+				mockEntry("modified.txt", "blob", "oldBlob"),
+				mockEntry("removed.txt", "blob", "removedBlob"),
+				mockEntry("same", "tree", "sameTree"),
+				mockEntry("changed", "tree", "oldChangedTree"));
+		mockTree(repo,
+				"headRoot",
+				mockEntry("modified.txt", "blob", "newBlob"),
+				mockEntry("added.txt", "blob", "addedBlob"),
+				mockEntry("same", "tree", "sameTree"),
+				mockEntry("changed", "tree", "newChangedTree"),
+				mockEntry("submodule", "commit", "someCommit"));
+
+		mockTree(repo,
+				"oldChangedTree",
+				mockEntry("Same.java", "blob", "sameJava"),
+				mockEntry("Modified.java", "blob", "oldJava"));
+		mockTree(repo,
+				"newChangedTree",
+				mockEntry("Same.java", "blob", "sameJava"),
+				mockEntry("Modified.java", "blob", "newJava"),
+				mockEntry("added", "tree", "addedTree"));
+		mockTree(repo, "addedTree", mockEntry("Added.java", "blob", "addedJava"));
+
+		List<String> changed = new ArrayList<>();
+		new GithubTreeWalker(repo).walkChangedBlobs("baseRoot", "headRoot", (rawPath, entry) -> changed.add(rawPath));
+
+		Assertions.assertThat(changed)
+				.containsExactly("modified.txt", "added.txt", "changed/Modified.java", "changed/added/Added.java");
+
+		// Identical sub-trees are not fetched
+		Mockito.verify(repo, Mockito.never()).getTree("sameTree");
+	}
+
+	@Test
+	public void testWalkBlobs_prune() throws IOException {
+		mockTree(repo,
+				"root",
+				mockEntry("pom.xml", "blob", "pomBlob"),
+				mockEntry("src", "tree", "srcTree"),
+				mockEntry("target", "tree", "targetTree"),
+				mockEntry("node_modules", "tree", "nodeModulesTree"));
+		mockTree(repo,
+				"srcTree",
+				mockEntry("main", "tree", "mainTree"),
+				mockEntry("test", "tree", "testTree"),
+				mockEntry("README.md", "blob", "readmeBlob"));
+		mockTree(repo, "mainTree", mockEntry("Main.java", "blob", "mainJava"));
+		mockTree(repo, "testTree", mockEntry("TestMain.java", "blob", "testJava"));
+
+		List<String> blobs = new ArrayList<>();
+		new GithubTreeWalker(repo, 2).walkBlobs("root",
+				directory -> directory.startsWith("src"),
+				(rawPath, entry) -> blobs.add(rawPath));
+
+		// Blobs are emitted depth by depth
+		Assertions.assertThat(blobs)
+				.containsExactly("pom.xml", "src/README.md", "src/main/Main.java", "src/test/TestMain.java");
+
+		// Pruned directories are not fetched
+		Mockito.verify(repo, Mockito.never()).getTree("targetTree");
+		Mockito.verify(repo, Mockito.never()).getTree("nodeModulesTree");
+	}
+
+	@Test
+	public void testWalkBlobs_failure() throws IOException {
+		mockTree(repo, "root", mockEntry("a", "tree", "aTree"), mockEntry("b", "tree", "bTree"));
+		mockTree(repo, "aTree", mockEntry("A.java", "blob", "aJava"));
+		Mockito.when(repo.getTree("bTree")).thenThrow(new IOException("Some failure"));
+
+		Assertions
+				.assertThatThrownBy(
+						() -> new GithubTreeWalker(repo, 2).walkBlobs("root", directory -> true, (rawPath, entry) -> {
+						}))
+				.isInstanceOf(IOException.class)
+				.hasMessage("Some failure");
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.event;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.kohsuke.github.GHAppInstallation;
+import org.kohsuke.github.GitHub;
+import org.mockito.Mockito;
+import org.springframework.core.env.StandardEnvironment;
+
+import eu.solven.cleanthat.code_provider.github.event.pojo.WebhookRelevancyResult;
+import eu.solven.cleanthat.utils.ResultOrError;
+
+public class TestGithubAppFactory {
+	final AtomicInteger nbLoads = new AtomicInteger();
+
+	final GithubAppFactory factory = new GithubAppFactory(new StandardEnvironment()) {
+		@Override
+		protected ResultOrError<GithubAndToken, WebhookRelevancyResult> loadInstallationGithub(long installationId) {
+			nbLoads.incrementAndGet();
+
+			if (installationId < 0) {
+				return ResultOrError.error(WebhookRelevancyResult.dismissed("We lack proper permissions"));
+			}
+			return ResultOrError.result(new GithubAndToken(Mockito.mock(GitHub.class),
+					"someToken",
+					Mockito.mock(GHAppInstallation.class),
+					Map.of()));
+		}
+	};
+
+	@Test
+	public void testInstallationIsCached() {
+		var first = factory.makeInstallationGithub(123).getOptResult().get();
+		var second = factory.makeInstallationGithub(123).getOptResult().get();
+
+		Assertions.assertThat(second).isSameAs(first);
+		Assertions.assertThat(nbLoads.get()).isEqualTo(1);
+
+		factory.makeInstallationGithub(456);
+		Assertions.assertThat(nbLoads.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void testRejectionIsNotCached() {
+		Assertions.assertThat(factory.makeInstallationGithub(-1).getOptError()).isPresent();
+		Assertions.assertThat(factory.makeInstallationGithub(-1).getOptError()).isPresent();
+
+		Assertions.assertThat(nbLoads.get()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.event;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class TestGithubHttpMetrics {
+	final Request request = new Request.Builder().url("https://api.github.com/repos/solven-eu/cleanthat").build();
+
+	final GithubHttpMetrics metrics = new GithubHttpMetrics();
+
+	private Response.Builder makeResponse(int code) {
+		return new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(code).message("someMessage");
+	}
+
+	private void intercept(Response response) throws IOException {
+		Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+		Mockito.when(chain.request()).thenReturn(request);
+		Mockito.when(chain.proceed(request)).thenReturn(response);
+
+		metrics.intercept(chain);
+	}
+
+	@Test
+	public void testCounters() throws IOException {
+		Assertions.assertThat(metrics.getHitRatio()).isEqualTo(0D);
+		Assertions.assertThat(metrics.getRateLimitRemaining()).isEqualTo(-1);
+
+		// Network
+		intercept(makeResponse(200)
+				.networkResponse(makeResponse(200).header("X-RateLimit-Remaining", "4999").build())
+				.build());
+		// Cache hit
+		intercept(makeResponse(200).cacheResponse(makeResponse(200).build()).build());
+		// Conditional request
+		intercept(makeResponse(200).cacheResponse(makeResponse(200).build())
+				.networkResponse(makeResponse(304).header("X-RateLimit-Remaining", "4999").build())
+				.build());
+		// Network without the rate-limit header
+		intercept(makeResponse(200).networkResponse(makeResponse(200).build()).build());
+
+		Map<String, Object> snapshot = new HashMap<>(metrics.snapshot());
+		Assertions.assertThat(snapshot)
+				.containsEntry(GithubHttpMetrics.NB_REQUESTS, 4L)
+				.containsEntry(GithubHttpMetrics.NB_NETWORK, 2L)
+				.containsEntry(GithubHttpMetrics.NB_CACHE_HITS, 1L)
+				.containsEntry(GithubHttpMetrics.NB_NOT_MODIFIED, 1L);
+		Assertions.assertThat(metrics.getHitRatio()).isEqualTo(0.5D);
+		Assertions.assertThat(metrics.getRateLimitRemaining()).isEqualTo(4999);
+	}
+}
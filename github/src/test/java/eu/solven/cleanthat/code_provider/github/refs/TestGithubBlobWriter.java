@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.refs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.kohsuke.github.GHBlob;
+import org.kohsuke.github.GHBlobBuilder;
+import org.kohsuke.github.GHRepository;
+import org.mockito.Mockito;
+
+import com.google.common.jimfs.Jimfs;
+
+public class TestGithubBlobWriter {
+	final FileSystem fs = Jimfs.newFileSystem();
+
+	final GHRepository repo = Mockito.mock(GHRepository.class);
+
+	private GHBlobBuilder mockBlobBuilder() {
+		GHBlobBuilder blobBuilder = Mockito.mock(GHBlobBuilder.class);
+		Mockito.when(repo.createBlob()).thenReturn(blobBuilder);
+		Mockito.when(blobBuilder.textContent(Mockito.anyString())).thenReturn(blobBuilder);
+		return blobBuilder;
+	}
+
+	private GHBlob mockBlob(String sha) {
+		GHBlob blob = Mockito.mock(GHBlob.class);
+		Mockito.when(blob.getSha()).thenReturn(sha);
+		return blob;
+	}
+
+	@Test
+	public void testCreateBlobs_retry() throws IOException {
+		GHBlobBuilder blobBuilder = mockBlobBuilder();
+		GHBlob blob = mockBlob("someBlobSha");
+		Mockito.when(blobBuilder.create()).thenThrow(new IOException("Transient issue")).thenReturn(blob);
+
+		Map<Path, String> pathToContent = new LinkedHashMap<>();
+		pathToContent.put(fs.getPath("/some/file.ext"), "someContent");
+
+		Map<Path, String> pathToBlobSha = new GithubBlobWriter(repo, 2, 2).createBlobs(pathToContent);
+
+		Assertions.assertThat(pathToBlobSha).containsEntry(fs.getPath("/some/file.ext"), "someBlobSha").hasSize(1);
+		Mockito.verify(blobBuilder, Mockito.times(2)).create();
+	}
+
+	@Test
+	public void testCreateBlobs_tooManyFailures() throws IOException {
+		GHBlobBuilder blobBuilder = mockBlobBuilder();
+		Mockito.when(blobBuilder.create()).thenThrow(new IOException("Persistent issue"));
+
+		Map<Path, String> pathToContent = Map.of(fs.getPath("/some/file.ext"), "someContent");
+
+		Assertions.assertThatThrownBy(() -> new GithubBlobWriter(repo, 2, 1).createBlobs(pathToContent))
+				.isInstanceOf(UncheckedIOException.class)
+				.hasMessageContaining("/some/file.ext");
+	}
+}
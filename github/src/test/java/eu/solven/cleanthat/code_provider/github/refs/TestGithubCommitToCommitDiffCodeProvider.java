@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.code_provider.github.refs;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCompare;
+import org.kohsuke.github.GHRepository;
+import org.mockito.Mockito;
+
+import com.google.common.jimfs.Jimfs;
+
+import eu.solven.cleanthat.code_provider.github.code_provider.TestGithubTreeWalker;
+
+public class TestGithubCommitToCommitDiffCodeProvider {
+	final FileSystem fs = Jimfs.newFileSystem();
+
+	final GHRepository repo = Mockito.mock(GHRepository.class);
+	final GHCompare compare = Mockito.mock(GHCompare.class, Mockito.RETURNS_DEEP_STUBS);
+
+	final GHCommit base = Mockito.mock(GHCommit.class);
+	final GHCommit head = Mockito.mock(GHCommit.class);
+
+	{
+		Mockito.when(base.getSHA1()).thenReturn("baseSha1");
+		Mockito.when(head.getSHA1()).thenReturn("headSha1");
+	}
+
+	private List<String> listFiles() throws IOException {
+		Mockito.when(repo.getCompare("baseSha1", "headSha1")).thenReturn(compare);
+
+		var codeProvider =
+				new GithubCommitToCommitDiffCodeProvider(fs.getPath("/"), "someToken", repo, base, head);
+
+		List<String> paths = new ArrayList<>();
+		codeProvider.listFilesForContent(Set.of("glob:**/*"), file -> paths.add(file.getPath().toString()));
+		return paths;
+	}
+
+	@Test
+	public void testListFromCompare() throws IOException {
+		GHCommit.File modified = Mockito.mock(GHCommit.File.class);
+		Mockito.when(modified.getFileName()).thenReturn("dir/Modified.java");
+		Mockito.when(modified.getStatus()).thenReturn("modified");
+		Mockito.when(modified.getSha()).thenReturn("modifiedBlob");
+		GHCommit.File removed = Mockito.mock(GHCommit.File.class);
+		Mockito.when(removed.getFileName()).thenReturn("dir/Removed.java");
+		Mockito.when(removed.getStatus()).thenReturn("removed");
+		Mockito.when(compare.getFiles()).thenReturn(new GHCommit.File[] { modified, removed });
+
+		Assertions.assertThat(listFiles()).containsExactly("dir/Modified.java");
+
+		Mockito.verify(repo, Mockito.never()).getTree(Mockito.anyString());
+	}
+
+	@Test
+	public void testListFromTrees_compareIsTruncated() throws IOException {
+		// The compare holds only the first 300 files
+		GHCommit.File[] truncatedFiles = new GHCommit.File[300];
+		Mockito.when(compare.getFiles()).thenReturn(truncatedFiles);
+		Mockito.when(compare.getMergeBaseCommit().getSHA1()).thenReturn("mergeBaseSha1");
+
+		TestGithubTreeWalker.mockTree(repo,
+				"mergeBaseSha1",
+				TestGithubTreeWalker.mockEntry("Same.java", "blob", "sameBlob"),
+				TestGithubTreeWalker.mockEntry("Modified.java", "blob", "oldBlob"));
+		TestGithubTreeWalker.mockTree(repo,
+				"headSha1",
+				TestGithubTreeWalker.mockEntry("Same.java", "blob", "sameBlob"),
+				TestGithubTreeWalker.mockEntry("Modified.java", "blob", "newBlob"));
+
+		Assertions.assertThat(listFiles()).containsExactly("Modified.java");
+	}
+}
@@ -15,21 +15,37 @@
  */
 package eu.solven.cleanthat.code_provider.github.refs;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
+import org.junit.Before;
 import org.junit.Test;
+import org.kohsuke.github.GHBlob;
+import org.kohsuke.github.GHBlobBuilder;
 import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCommitBuilder;
 import org.kohsuke.github.GHCompare;
 import org.kohsuke.github.GHRef;
 import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeBuilder;
 import org.mockito.Mockito;
 
 import com.google.common.jimfs.Jimfs;
 
+import eu.solven.cleanthat.codeprovider.IContentReCleaner;
+
 public class TestGithubRefWriterLogic {
 
 	final FileSystem fs = Jimfs.newFileSystem();
@@ -50,6 +66,11 @@ public class TestGithubRefWriterLogic {
 	final String someFileName = "folder/sub/file.ext";
 	final String otherFileName = "folder/sub/other.ext";
 
+	@Before
+	public void compareIsAhead() {
+		Mockito.when(ghCompare.getStatus()).thenReturn(GHCompare.Status.ahead);
+	}
+
 	@Test
 	public void RejectConflictingChanges_empty() {
 		Mockito.when(ref.getObject().getSha()).thenReturn(someReadSha1);
@@ -140,4 +161,209 @@ public class TestGithubRefWriterLogic {
 
 		Assertions.assertThat(filtered).isEmpty();
 	}
+
+	@Test
+	public void RejectConflictingChanges_tooManyFiles() throws IOException {
+		Mockito.when(ref.getObject().getSha()).thenReturn(someFreshSha1);
+
+		Mockito.when(repo.getCompare(someReadSha1, someFreshSha1)).thenReturn(ghCompare);
+
+		// The compare is truncated: the conflicting file may not be listed
+		GHCommit.File[] editedFiles = new GHCommit.File[AGithubDiffCodeProvider.LIMIT_FILES_IN_COMPARE];
+		for (var i = 0; i < editedFiles.length; i++) {
+			editedFiles[i] = Mockito.mock(GHCommit.File.class);
+			Mockito.when(editedFiles[i].getFileName()).thenReturn("folder/unrelated" + i + ".ext");
+		}
+		Mockito.when(ghCompare.getFiles()).thenReturn(editedFiles);
+
+		GithubRefWriterLogic writerLogic = new GithubRefWriterLogic("someEventKey", repo, ref, someReadSha1);
+
+		Map<Path, String> pathToMutatedContent = Map.of(fs.getPath(someFileName), "someCleanContent");
+		Map<Path, String> filtered =
+				writerLogic.filterOutPathsHavingDiverged(pathToMutatedContent, someRefName, someFreshSha1);
+
+		Assertions.assertThat(filtered).isEmpty();
+	}
+
+	final GHTreeBuilder treeBuilder = Mockito.mock(GHTreeBuilder.class, Mockito.RETURNS_SELF);
+	final GHCommitBuilder commitBuilder = Mockito.mock(GHCommitBuilder.class, Mockito.RETURNS_SELF);
+
+	private void mockHead(String... headSha1s) throws IOException {
+		Mockito.when(ref.getRef()).thenReturn(someRefName);
+
+		var first = mockRef(headSha1s[0]);
+		var others = Stream.of(headSha1s).skip(1).map(this::mockRef).toArray(GHRef[]::new);
+		Mockito.when(repo.getRef(someRefName)).thenReturn(first, others);
+	}
+
+	private GHRef mockRef(String sha1) {
+		GHRef head = Mockito.mock(GHRef.class, Mockito.RETURNS_DEEP_STUBS);
+		Mockito.when(head.getObject().getSha()).thenReturn(sha1);
+		return head;
+	}
+
+	private void mockCommits(String... commitSha1s) throws IOException {
+		// Each content is uploaded as a blob named after its content
+		Mockito.when(repo.createBlob()).thenAnswer(invok -> {
+			GHBlobBuilder blobBuilder = Mockito.mock(GHBlobBuilder.class);
+			Mockito.when(blobBuilder.textContent(Mockito.anyString())).thenAnswer(textInvok -> {
+				GHBlob blob = Mockito.mock(GHBlob.class);
+				Mockito.when(blob.getSha()).thenReturn("blob-" + textInvok.getArgument(0));
+				Mockito.when(blobBuilder.create()).thenReturn(blob);
+				return blobBuilder;
+			});
+			return blobBuilder;
+		});
+
+		Mockito.when(repo.createTree()).thenReturn(treeBuilder);
+		GHTree tree = Mockito.mock(GHTree.class);
+		Mockito.when(treeBuilder.create()).thenReturn(tree);
+
+		Mockito.when(repo.createCommit()).thenReturn(commitBuilder);
+		var commits = Stream.of(commitSha1s).map(sha1 -> {
+			GHCommit commit = Mockito.mock(GHCommit.class);
+			Mockito.when(commit.getSHA1()).thenReturn(sha1);
+			return commit;
+		}).toArray(GHCommit[]::new);
+		Mockito.when(commitBuilder.create()).thenReturn(commits[0], Arrays.copyOfRange(commits, 1, commits.length));
+	}
+
+	@Test
+	public void testCommit_chained() throws IOException {
+		Mockito.when(ref.getObject().getSha()).thenReturn(someReadSha1);
+		mockHead(someReadSha1);
+		mockCommits("firstCommit", "secondCommit");
+
+		GithubRefWriterLogic writerLogic = new GithubRefWriterLogic("someEventKey", repo, ref, someReadSha1) {
+			@Override
+			protected int getMaxPathsPerCommit() {
+				return 1;
+			}
+		};
+
+		Map<Path, String> pathToMutatedContent = new LinkedHashMap<>();
+		pathToMutatedContent.put(fs.getPath(someFileName), "someCleanContent");
+		pathToMutatedContent.put(fs.getPath(otherFileName), "otherCleanContent");
+
+		Assertions.assertThat(writerLogic.commitIntoRef(pathToMutatedContent, List.of("someComment"))).isTrue();
+
+		// The contents are uploaded as blobs, before being referred by the trees
+		Mockito.verify(repo, Mockito.times(2)).createBlob();
+		Mockito.verify(treeBuilder).shaEntry(someFileName, "blob-someCleanContent", false);
+		Mockito.verify(treeBuilder).shaEntry(otherFileName, "blob-otherCleanContent", false);
+
+		// The second commit is chained to the first one
+		Mockito.verify(commitBuilder).parent(someReadSha1);
+		Mockito.verify(commitBuilder).parent("firstCommit");
+		Mockito.verify(treeBuilder).baseTree("firstCommit");
+		Mockito.verify(ref).updateTo("secondCommit", false);
+	}
+
+	@Test
+	public void testCommit_concurrentChange_cleanedAgain() throws IOException {
+		Mockito.when(ref.getObject().getSha()).thenReturn(someReadSha1);
+		mockHead(someFreshSha1);
+		mockCommits("someCommit");
+
+		Mockito.when(repo.getCompare(someReadSha1, someFreshSha1)).thenReturn(ghCompare);
+		GHCommit.File editedFile = Mockito.mock(GHCommit.File.class);
+		Mockito.when(editedFile.getFileName()).thenReturn(someFileName);
+		Mockito.when(editedFile.getStatus()).thenReturn("modified");
+		Mockito.when(editedFile.getSha()).thenReturn("concurrentBlobSha");
+		Mockito.when(ghCompare.getFiles()).thenReturn(new GHCommit.File[] { editedFile });
+
+		GHBlob concurrentBlob = Mockito.mock(GHBlob.class);
+		Mockito.when(concurrentBlob.read())
+				.thenReturn(new ByteArrayInputStream("concurrentContent".getBytes(StandardCharsets.UTF_8)));
+		Mockito.when(repo.getBlob("concurrentBlobSha")).thenReturn(concurrentBlob);
+
+		GithubRefWriterLogic writerLogic = new GithubRefWriterLogic("someEventKey", repo, ref, someReadSha1);
+
+		Map<Path, String> pathToMutatedContent = new LinkedHashMap<>();
+		pathToMutatedContent.put(fs.getPath(someFileName), "someCleanContent");
+		pathToMutatedContent.put(fs.getPath(otherFileName), "otherCleanContent");
+
+		IContentReCleaner reCleaner = (path, content) -> Optional.of(content + "_cleaned");
+		Assertions.assertThat(writerLogic.commitIntoRef(pathToMutatedContent, List.of(), Optional.of(reCleaner)))
+				.isTrue();
+
+		Mockito.verify(treeBuilder).shaEntry(someFileName, "blob-concurrentContent_cleaned", false);
+		Mockito.verify(treeBuilder).shaEntry(otherFileName, "blob-otherCleanContent", false);
+		Mockito.verify(commitBuilder).parent(someFreshSha1);
+		Mockito.verify(ref).updateTo("someCommit", false);
+	}
+
+	@Test
+	public void testCommit_forcePushed() throws IOException {
+		Mockito.when(ref.getObject().getSha()).thenReturn(someReadSha1);
+		mockHead(someFreshSha1);
+		mockCommits("someCommit");
+
+		// The ref has been force-pushed onto a rewritten history: the files modified only by the dropped commits are
+		// not listed by the compare
+		Mockito.when(repo.getCompare(someReadSha1, someFreshSha1)).thenReturn(ghCompare);
+		Mockito.when(ghCompare.getStatus()).thenReturn(GHCompare.Status.diverged);
+		Mockito.when(ghCompare.getBehindBy()).thenReturn(2);
+		Mockito.when(ghCompare.getAheadBy()).thenReturn(1);
+		Mockito.when(ghCompare.getFiles()).thenReturn(new GHCommit.File[0]);
+
+		GithubRefWriterLogic writerLogic = new GithubRefWriterLogic("someEventKey", repo, ref, someReadSha1);
+
+		Map<Path, String> pathToMutatedContent = Map.of(fs.getPath(someFileName), "someCleanContent");
+		IContentReCleaner reCleaner = (path, content) -> Optional.of(content + "_cleaned");
+		Assertions.assertThat(writerLogic.commitIntoRef(pathToMutatedContent, List.of(), Optional.of(reCleaner)))
+				.isFalse();
+
+		Mockito.verify(repo, Mockito.never()).createCommit();
+		Mockito.verify(ref, Mockito.never()).updateTo(Mockito.anyString(), Mockito.anyBoolean());
+	}
+
+	@Test
+	public void testCommit_refUpdatedBeforeUpdate() throws IOException {
+		Mockito.when(ref.getObject().getSha()).thenReturn(someReadSha1);
+		mockHead(someReadSha1, someFresherSha1);
+		mockCommits("rejectedCommit", "someCommit");
+
+		// The concurrent commit modified an unrelated file
+		Mockito.when(repo.getCompare(someReadSha1, someFresherSha1)).thenReturn(ghCompare);
+		Mockito.when(ghCompare.getFiles()).thenReturn(new GHCommit.File[0]);
+
+		Mockito.doThrow(new IOException("Update is not a fast forward"))
+				.when(ref)
+				.updateTo("rejectedCommit", false);
+
+		GithubRefWriterLogic writerLogic = new GithubRefWriterLogic("someEventKey", repo, ref, someReadSha1);
+
+		Map<Path, String> pathToMutatedContent = Map.of(fs.getPath(someFileName), "someCleanContent");
+		Assertions.assertThat(writerLogic.commitIntoRef(pathToMutatedContent, List.of())).isTrue();
+
+		Mockito.verify(commitBuilder).parent(someReadSha1);
+		Mockito.verify(commitBuilder).parent(someFresherSha1);
+		Mockito.verify(ref).updateTo("someCommit", false);
+
+		// The blob uploaded by the first attempt is re-used
+		Mockito.verify(repo, Mockito.times(1)).createBlob();
+	}
+
+	@Test
+	public void testCommit_updateRejected_refNotMoved() throws IOException {
+		Mockito.when(ref.getObject().getSha()).thenReturn(someReadSha1);
+		mockHead(someReadSha1);
+		mockCommits("rejectedCommit");
+
+		// e.g. a protected branch
+		Mockito.doThrow(new IOException("Protected branch update failed"))
+				.when(ref)
+				.updateTo("rejectedCommit", false);
+
+		GithubRefWriterLogic writerLogic = new GithubRefWriterLogic("someEventKey", repo, ref, someReadSha1);
+
+		Map<Path, String> pathToMutatedContent = Map.of(fs.getPath(someFileName), "someCleanContent");
+		Assertions.assertThatThrownBy(() -> writerLogic.commitIntoRef(pathToMutatedContent, List.of()))
+				.isInstanceOf(UncheckedIOException.class);
+
+		// The ref has not moved: there is no retry
+		Mockito.verify(commitBuilder, Mockito.times(1)).create();
+		Mockito.verify(repo, Mockito.never()).getCompare(Mockito.anyString(), Mockito.anyString());
+	}
 }
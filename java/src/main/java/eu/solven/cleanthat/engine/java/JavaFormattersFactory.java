@@ -51,6 +51,12 @@ public class JavaFormattersFactory extends ASourceCodeFormatterFactory {
 		return "javaparser";
 	}
 
+	// The steps are configured only through the engine properties
+	@Override
+	public boolean isRepositoryIndependent() {
+		return true;
+	}
+
 	@SuppressWarnings("PMD.TooFewBranchesForASwitchStatement")
 	@Override
 	public ILintFixer makeLintFixer(CleanthatSession cleanthatSession,
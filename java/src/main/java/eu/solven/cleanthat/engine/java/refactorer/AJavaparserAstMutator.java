@@ -15,13 +15,20 @@
  */
 package eu.solven.cleanthat.engine.java.refactorer;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import com.github.javaparser.resolution.SymbolResolver;
 
 import eu.solven.cleanthat.SuppressCleanthat;
@@ -50,6 +57,22 @@ public abstract class AJavaparserAstMutator implements IJavaparserAstMutator, IC
 
 	private final AtomicInteger nbIdempotencyIssues = new AtomicInteger();
 
+	// Cache if a mutator class relies on the default .walkAst, as the lookup is reflective
+	private static final ClassValue<Boolean> IS_FUSABLE = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> mutatorClass) {
+			try {
+				return AJavaparserAstMutator.class
+						.equals(mutatorClass.getMethod("walkAst", Node.class).getDeclaringClass());
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException("Issue looking for .walkAst in " + mutatorClass, e);
+			}
+		}
+	};
+
+	// Cache if a concrete Node class is accepted by this mutator
+	private final Map<Class<?>, Boolean> isAcceptedNodeType = new ConcurrentHashMap<>();
+
 	@Override
 	public int getNbIdempotencyIssues() {
 		return nbIdempotencyIssues.get();
@@ -57,14 +80,37 @@ public abstract class AJavaparserAstMutator implements IJavaparserAstMutator, IC
 
 	protected abstract boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSymbolSolver);
 
+	/**
+	 * Most mutators trigger only on a few types of {@link Node}. Other {@link Node} are skipped before any processing
+	 * (e.g. checking for {@link SuppressCleanthat} or preparing the {@link SymbolResolver}).
+	 * 
+	 * @return the types (classes or interfaces) of the {@link Node} which may be mutated by this mutator.
+	 */
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(Node.class);
+	}
+
+	public boolean isAcceptedNodeType(Class<? extends Node> nodeType) {
+		return isAcceptedNodeType.computeIfAbsent(nodeType,
+				t -> getAcceptedNodeTypes().stream().anyMatch(acceptedType -> acceptedType.isAssignableFrom(t)));
+	}
+
 	@Override
 	public Optional<Node> walkAst(Node ast) {
 		var astHasMutated = new AtomicBoolean();
 
+		// Computed lazily, and discarded on each mutation
+		AtomicReference<SuppressCleanthatRegions> refSuppressedRegions = new AtomicReference<>();
+
 		ast.walk(node -> {
-			boolean nodeHasMutated = walkOneNode(node);
+			if (!isAcceptedNodeType(node.getClass())) {
+				return;
+			}
+
+			boolean nodeHasMutated = walkOneNode(node, refSuppressedRegions);
 			if (nodeHasMutated) {
 				astHasMutated.set(true);
+				refSuppressedRegions.set(null);
 			}
 		});
 
@@ -75,24 +121,76 @@ public abstract class AJavaparserAstMutator implements IJavaparserAstMutator, IC
 		}
 	}
 
-	private boolean walkOneNode(Node node) {
+	/**
+	 * 
+	 * @return true if this mutator relies on the default {@link #walkAst(Node)}, which enables walking it in a single
+	 *         pass with other mutators.
+	 */
+	public boolean isFusable() {
+		return IS_FUSABLE.get(getClass());
+	}
+
+	/**
+	 * Walk the AST once, submitting each {@link Node} to each mutator, by order. The walk stops on the first mutation,
+	 * as the following mutators would see an AST different than the one seen by previous mutators.
+	 * 
+	 * @param ast
+	 * @param mutators
+	 * @return the index of the first mutator which mutated the AST, or empty if no mutator mutated the AST.
+	 */
+	public static OptionalInt walkAstFused(Node ast, List<? extends AJavaparserAstMutator> mutators) {
+		var refMutatingIndex = new AtomicInteger(-1);
+
+		// Index the mutators by the concrete Node types they accept
+		Map<Class<? extends Node>, int[]> nodeTypeToMutators = new HashMap<>();
+
+		// Computed lazily. There is no need to discard it on mutation, as the walk stops on the first mutation
+		AtomicReference<SuppressCleanthatRegions> refSuppressedRegions = new AtomicReference<>();
+
+		ast.walk(node -> {
+			if (refMutatingIndex.get() >= 0) {
+				// The AST has been mutated: skip following nodes
+				return;
+			}
+
+			int[] acceptingMutators = nodeTypeToMutators.computeIfAbsent(node.getClass(),
+					nodeType -> IntStream.range(0, mutators.size())
+							.filter(i -> mutators.get(i).isAcceptedNodeType(nodeType))
+							.toArray());
+
+			for (int i : acceptingMutators) {
+				AJavaparserAstMutator mutator = mutators.get(i);
+				boolean nodeHasMutated = mutator.walkOneNode(node, refSuppressedRegions);
+				if (nodeHasMutated) {
+					refMutatingIndex.set(i);
+					break;
+				}
+			}
+		});
+
+		if (refMutatingIndex.get() >= 0) {
+			return OptionalInt.of(refMutatingIndex.get());
+		} else {
+			return OptionalInt.empty();
+		}
+	}
+
+	private boolean walkOneNode(Node node, AtomicReference<SuppressCleanthatRegions> refSuppressedRegions) {
 		if (node.findCompilationUnit().isEmpty()) {
 			LOGGER.debug("We skip {} as it or one of its ancestor has been dropped from the AST", node);
 			return false;
 		}
-		{
-			Optional<NodeWithAnnotations> optSuppressedParent =
-					node.findAncestor(n -> n.isAnnotationPresent(SuppressCleanthat.class), NodeWithAnnotations.class);
-			Optional<Node> optSuppressedChildren = node.findFirst(Node.class,
-					n -> n instanceof NodeWithAnnotations<?>
-							&& ((NodeWithAnnotations<?>) n).isAnnotationPresent(SuppressCleanthat.class));
-			if (node instanceof NodeWithAnnotations
-					&& ((NodeWithAnnotations<?>) node).isAnnotationPresent(SuppressCleanthat.class)
-					|| optSuppressedParent.isPresent()
-					|| optSuppressedChildren.isPresent()) {
-				LOGGER.debug("We skip {} due to {}", node, SuppressCleanthat.class.getName());
-				return false;
+
+		var suppressedRegions = refSuppressedRegions.updateAndGet(regions -> {
+			if (regions == null) {
+				return SuppressCleanthatRegions.compute(node);
+			} else {
+				return regions;
 			}
+		});
+		if (suppressedRegions.isSuppressed(node)) {
+			LOGGER.debug("We skip {} due to {}", node, SuppressCleanthat.class.getName());
+			return false;
 		}
 
 		CompilationUnit compilationUnit = node.findCompilationUnit().get();
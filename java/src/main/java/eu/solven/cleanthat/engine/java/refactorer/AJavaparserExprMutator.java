@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.engine.java.refactorer;
 
 import java.util.Optional;
+import java.util.Set;
 
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.expr.Expression;
@@ -26,6 +27,11 @@ import com.github.javaparser.ast.expr.Expression;
  * @author Benoit Lacelle
  */
 public abstract class AJavaparserExprMutator extends AJavaparserNodeMutator {
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(Expression.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSymbolSolver) {
 		Node node = nodeAndSymbolSolver.getNode();
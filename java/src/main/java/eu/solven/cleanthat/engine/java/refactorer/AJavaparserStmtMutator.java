@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.engine.java.refactorer;
 
 import java.util.Optional;
+import java.util.Set;
 
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.expr.Expression;
@@ -27,6 +28,11 @@ import com.github.javaparser.ast.stmt.Statement;
  * @author Benoit Lacelle
  */
 public abstract class AJavaparserStmtMutator extends AJavaparserNodeMutator {
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(Statement.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSymbolSolver) {
 		Node node = nodeAndSymbolSolver.getNode();
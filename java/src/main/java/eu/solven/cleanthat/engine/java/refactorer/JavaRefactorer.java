@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -105,18 +106,21 @@ public class JavaRefactorer extends AAstRefactorer<Node, JavaParser, Node, IJava
 
 		if (!parsed.isSuccessful()) {
 			// JavaParser does not manage instanceof patterns as of JP:3.25
-			LOGGER.warn("Issue parsing some source. {} problems. First problem: {}",
+			// Not a WARN, as the callers report the unparseable input (or the invalid mutated code) with its context
+			LOGGER.debug("Issue parsing some source. {} problems. First problem: {}",
 					parsed.getProblems().size(),
 					parsed.getProblem(0));
 			return Optional.empty();
 		}
 
-		var compilationUnit = parsed.getResult().get();
+		return Optional.of(setupLexicalPreservingPrinter(parsed.getResult().get()));
+	}
 
+	private static CompilationUnit setupLexicalPreservingPrinter(CompilationUnit compilationUnit) {
 		// https://github.com/javaparser/javaparser/issues/3490
 		// We register given node for later prettyPrinting
 		LexicalPreservingPrinter.setup(compilationUnit);
-		return Optional.of(compilationUnit);
+		return compilationUnit;
 	}
 
 	@Override
@@ -127,6 +131,18 @@ public class JavaRefactorer extends AAstRefactorer<Node, JavaParser, Node, IJava
 		return parser;
 	}
 
+	@Override
+	protected boolean isFusable(IJavaparserAstMutator mutator) {
+		return mutator instanceof AJavaparserAstMutator && ((AJavaparserAstMutator) mutator).isFusable();
+	}
+
+	@Override
+	protected OptionalInt walkAstFused(Node ast, List<IJavaparserAstMutator> mutators) {
+		List<AJavaparserAstMutator> fusableMutators =
+				mutators.stream().map(AJavaparserAstMutator.class::cast).collect(Collectors.toList());
+		return AJavaparserAstMutator.walkAstFused(ast, fusableMutators);
+	}
+
 	protected String fixJavaparserUnexpectedChanges(String dirtyCode, String cleanCode) throws IOException {
 		if (dirtyCode.equals(cleanCode)) {
 			// Return the original reference whenever possible
@@ -242,9 +258,4 @@ public class JavaRefactorer extends AAstRefactorer<Node, JavaParser, Node, IJava
 		var parser = new JavaParser(configuration);
 		return parser;
 	}
-
-	@Override
-	protected boolean isValidResultString(JavaParser parser, String resultAsString) {
-		return parser.parse(resultAsString).isSuccessful();
-	}
 }
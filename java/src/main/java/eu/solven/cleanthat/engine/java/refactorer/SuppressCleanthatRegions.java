@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.engine.java.refactorer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
+
+import eu.solven.cleanthat.SuppressCleanthat;
+
+/**
+ * Holds the {@link Node}s which must not be mutated due to {@link SuppressCleanthat}: the annotated {@link Node}s, their
+ * descendants and their ancestors.
+ *
+ * It is computed once per AST, as searching the ancestors and the descendants of each {@link Node} is quadratic over
+ * large ASTs. It has to be computed again once the AST is mutated.
+ *
+ * @author Benoit Lacelle
+ */
+final class SuppressCleanthatRegions {
+	private static final SuppressCleanthatRegions EMPTY = new SuppressCleanthatRegions(Set.of());
+
+	// Node.equals relies on the structure: we need an identity-based Set
+	private final Set<Node> suppressed;
+
+	private SuppressCleanthatRegions(Set<Node> suppressed) {
+		this.suppressed = suppressed;
+	}
+
+	public static SuppressCleanthatRegions compute(Node ast) {
+		// The ancestors of the walked Node may also be annotated
+		Node root = ast.findRootNode();
+
+		var annotatedNodes = root.findAll(Node.class,
+				n -> n instanceof NodeWithAnnotations<?>
+						&& ((NodeWithAnnotations<?>) n).isAnnotationPresent(SuppressCleanthat.class));
+		if (annotatedNodes.isEmpty()) {
+			return EMPTY;
+		}
+
+		Set<Node> suppressed = Collections.newSetFromMap(new IdentityHashMap<>());
+		annotatedNodes.forEach(annotatedNode -> {
+			if (suppressed.contains(annotatedNode)) {
+				// This node is nested in a previous annotated node: its descendants and ancestors are already registered
+				return;
+			}
+
+			// Register the annotated node and its descendants
+			annotatedNode.walk(suppressed::add);
+
+			// Register the ancestors
+			var optParent = annotatedNode.getParentNode();
+			while (optParent.isPresent() && suppressed.add(optParent.get())) {
+				optParent = optParent.get().getParentNode();
+			}
+		});
+
+		return new SuppressCleanthatRegions(suppressed);
+	}
+
+	public boolean isSuppressed(Node node) {
+		return suppressed.contains(node);
+	}
+}
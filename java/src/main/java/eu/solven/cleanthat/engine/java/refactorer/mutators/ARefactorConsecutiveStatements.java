@@ -15,6 +15,8 @@
  */
 package eu.solven.cleanthat.engine.java.refactorer.mutators;
 
+import java.util.Set;
+
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.Statement;
 
@@ -29,6 +31,11 @@ import eu.solven.cleanthat.engine.java.refactorer.meta.IMutator;
  */
 public abstract class ARefactorConsecutiveStatements extends AJavaparserStmtMutator {
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(BlockStmt.class);
+	}
+
 	@Override
 	protected boolean processStatement(NodeAndSymbolSolver<Statement> stmt) {
 		if (!stmt.getNode().isBlockStmt()) {
@@ -47,6 +47,11 @@ public abstract class AUseXIsEmpty extends AJavaparserExprMutator {
 
 	protected abstract Set<Class<?>> getCompatibleTypes();
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(BinaryExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		Optional<Expression> optLengthScope = checkCallSizeAndCompareWith0(getSizeMethod(), expr);
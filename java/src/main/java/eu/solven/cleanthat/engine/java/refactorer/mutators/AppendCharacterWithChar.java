@@ -69,6 +69,11 @@ public class AppendCharacterWithChar extends AJavaparserExprMutator implements I
 		return "https://pmd.github.io/pmd/pmd_rules_java_performance.html#appendcharacterwithchar";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expression) {
 		if (!(expression.getNode() instanceof MethodCallExpr)) {
@@ -78,6 +78,11 @@ public class ArithmethicAssignment extends AJavaparserExprMutator {
 		return false;
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(AssignExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isAssignExpr()) {
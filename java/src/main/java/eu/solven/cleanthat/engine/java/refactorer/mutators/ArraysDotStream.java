@@ -78,6 +78,11 @@ public class ArraysDotStream extends AJavaparserNodeMutator {
 	}
 
 	// TODO Lack of checking for Stream type
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
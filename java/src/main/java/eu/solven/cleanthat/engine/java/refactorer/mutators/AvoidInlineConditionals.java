@@ -74,6 +74,11 @@ public class AvoidInlineConditionals extends AJavaparserNodeMutator {
 	}
 
 	// TODO Lack of checking for Stream type
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(ConditionalExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
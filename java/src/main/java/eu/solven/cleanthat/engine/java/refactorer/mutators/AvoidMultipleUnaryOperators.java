@@ -79,6 +79,11 @@ public class AvoidMultipleUnaryOperators extends AJavaparserExprMutator {
 		return "https://jsparrow.github.io/rules/remove-double-negation.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(UnaryExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isUnaryExpr()) {
@@ -53,6 +53,11 @@ public class AvoidUncheckedExceptionsInSignatures extends AJavaparserNodeMutator
 		return "https://pmd.github.io/pmd/pmd_rules_java_design.html#avoiduncheckedexceptionsinsignatures";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(NodeWithThrownExceptions.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
 		if (!(node.getNode() instanceof NodeWithThrownExceptions<?>)) {
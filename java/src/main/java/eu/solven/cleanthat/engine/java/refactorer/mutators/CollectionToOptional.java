@@ -18,6 +18,7 @@ package eu.solven.cleanthat.engine.java.refactorer.mutators;
 import java.util.List;
 import java.util.Set;
 
+import com.github.javaparser.ast.expr.ConditionalExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.google.common.collect.ImmutableSet;
@@ -45,6 +46,11 @@ public class CollectionToOptional extends AJavaparserExprMutator {
 		return ImmutableSet.of("Collection", "Optional");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(ConditionalExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isConditionalExpr()) {
@@ -67,6 +67,11 @@ public class ComparisonWithNaN extends AJavaparserNodeMutator {
 		return "https://pmd.github.io/pmd/pmd_rules_java_errorprone.html#comparisonwithnan";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(BinaryExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
@@ -74,6 +74,11 @@ public class CreateTempFilesUsingNio extends AJavaparserNodeMutator {
 		return "CreateTempFilesUsingNio";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
 		// ResolvedMethodDeclaration test;
@@ -82,6 +82,11 @@ public class EmptyControlStatement extends AJavaparserNodeMutator {
 		return "https://jsparrow.github.io/rules/remove-empty-statement.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(BlockStmt.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.UnaryExpr;
 import com.google.common.collect.ImmutableSet;
 
@@ -60,6 +61,11 @@ public class EnumsWithoutEquals extends AJavaparserNodeMutator {
 	}
 
 	// https://stackoverflow.com/questions/55309460/how-to-replace-expression-by-string-in-javaparser-ast
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@SuppressWarnings("PMD.CognitiveComplexity")
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
@@ -23,6 +23,7 @@ import com.github.javaparser.ast.expr.LambdaExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.ExpressionStmt;
+import com.github.javaparser.ast.stmt.ForEachStmt;
 import com.github.javaparser.ast.stmt.IfStmt;
 import com.github.javaparser.ast.stmt.Statement;
 import com.google.common.collect.ImmutableSet;
@@ -62,6 +63,11 @@ public class ForEachIfBreakElseToStreamTakeWhile extends AJavaparserStmtMutator
 		return "https://jsparrow.github.io/rules/enhanced-for-loop-to-stream-take-while.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(ForEachStmt.class);
+	}
+
 	@Override
 	protected boolean processStatement(NodeAndSymbolSolver<Statement> stmt) {
 		if (!stmt.getNode().isForEachStmt()) {
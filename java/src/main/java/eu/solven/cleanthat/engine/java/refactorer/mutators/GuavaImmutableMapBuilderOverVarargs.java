@@ -63,6 +63,11 @@ public class GuavaImmutableMapBuilderOverVarargs extends AJavaparserExprMutator
 		return ImmutableSet.of(ICleanthatStepParametersProperties.GUAVA, "Varargs");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isMethodCallExpr()) {
@@ -115,6 +115,11 @@ public class JUnit4ToJUnit5 extends AJavaparserNodeMutator implements IDisabledM
 		return transformed.get();
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(AnnotationExpr.class, MethodCallExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
@@ -82,6 +82,11 @@ public class LambdaIsMethodReference extends AJavaparserNodeMutator {
 		return "https://jsparrow.github.io/rules/lambda-to-method-reference.html#code-changes";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(LambdaExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSymbolSolver) {
@@ -75,6 +75,11 @@ public class LambdaReturnsSingleStatement extends AJavaparserExprMutator {
 		return "https://jsparrow.github.io/rules/statement-lambda-to-expression.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(LambdaExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
@@ -104,6 +104,11 @@ public class ModifierOrder extends AJavaparserNodeMutator {
 		return "https://jsparrow.github.io/rules/reorder-modifiers.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(NodeWithModifiers.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndContext) {
 		Node node = nodeAndContext.getNode();
@@ -61,6 +61,11 @@ public class ObjectsHashCodePrimitive extends AJavaparserExprMutator {
 		return Optional.of("ObjectsHashCodePrimitive");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isMethodCallExpr()) {
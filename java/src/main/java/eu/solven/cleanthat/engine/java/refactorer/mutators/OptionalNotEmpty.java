@@ -63,6 +63,11 @@ public class OptionalNotEmpty extends AJavaparserExprMutator {
 		return ImmutableSet.of(ID_NOTEMPTY, ID_ISPRESENT);
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
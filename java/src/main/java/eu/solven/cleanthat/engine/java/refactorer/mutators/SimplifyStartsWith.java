@@ -72,6 +72,11 @@ public class SimplifyStartsWith extends AJavaparserExprMutator {
 		return IS_PRODUCTION_READY;
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(BinaryExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isBinaryExpr()) {
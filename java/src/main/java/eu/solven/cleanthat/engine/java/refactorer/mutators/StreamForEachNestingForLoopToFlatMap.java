@@ -81,6 +81,11 @@ public class StreamForEachNestingForLoopToFlatMap extends AJavaparserExprMutator
 		return "https://jsparrow.github.io/rules/flat-map-instead-of-nested-loops.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		Optional<MethodCallExpr> optMethodCall =
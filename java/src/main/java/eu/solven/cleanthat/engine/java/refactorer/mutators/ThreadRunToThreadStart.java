@@ -48,6 +48,11 @@ public class ThreadRunToThreadStart extends AJavaparserExprMutator {
 		return ImmutableSet.of("Thread");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expr) {
 		if (!expr.getNode().isMethodCallExpr()) {
@@ -80,6 +80,11 @@ public class UnnecessaryBoxing extends AJavaparserNodeMutator {
 		return Optional.of("RSPEC-1158");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSymbolSolver) {
 		var transformed = new AtomicBoolean();
@@ -56,6 +56,11 @@ public class UnnecessaryCaseChange extends AJavaparserExprMutator {
 		return "https://pmd.github.io/pmd/pmd_rules_java_errorprone.html#unnecessarycasechange";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(MethodCallExpr.class);
+	}
+
 	@Override
 	@SuppressWarnings("PMD.NPathComplexity")
 	protected boolean processExpression(NodeAndSymbolSolver<Expression> expression) {
@@ -87,6 +87,11 @@ public class UnnecessaryFullyQualifiedName extends AJavaparserNodeMutator {
 		}
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(NodeWithType.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndContext) {
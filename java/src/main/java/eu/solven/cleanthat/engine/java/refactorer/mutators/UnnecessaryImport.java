@@ -95,6 +95,11 @@ public class UnnecessaryImport extends AJavaparserNodeMutator {
 		return Optional.of("RSPEC-2208");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(CompilationUnit.class);
+	}
+
 	@SuppressWarnings({ "PMD.CognitiveComplexity", "PMD.NPathComplexity" })
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
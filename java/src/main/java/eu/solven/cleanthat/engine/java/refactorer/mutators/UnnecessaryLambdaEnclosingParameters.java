@@ -47,6 +47,11 @@ public class UnnecessaryLambdaEnclosingParameters extends AJavaparserNodeMutator
 		return true;
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(LambdaExpr.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
 		if (!(node.getNode() instanceof LambdaExpr)) {
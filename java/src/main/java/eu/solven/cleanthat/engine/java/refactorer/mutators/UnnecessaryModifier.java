@@ -94,6 +94,11 @@ public class UnnecessaryModifier extends AJavaparserNodeMutator {
 		return "https://jsparrow.github.io/rules/remove-modifiers-in-interface-properties.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(Modifier.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSymbolSolver) {
 		return Optional.ofNullable(nodeAndSymbolSolver.getNode())
@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.stmt.EmptyStmt;
 import com.github.javaparser.ast.stmt.ExpressionStmt;
 import com.github.javaparser.ast.stmt.IfStmt;
 import com.github.javaparser.ast.stmt.Statement;
@@ -65,6 +66,11 @@ public class UnnecessarySemicolon extends AJavaparserNodeMutator {
 		return Optional.of("RSPEC-2959");
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(EmptyStmt.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
 		if (node.getNode() instanceof Statement) {
@@ -71,6 +71,11 @@ public class UseDiamondOperator extends AJavaparserNodeMutator {
 	}
 
 	// NodeWithTypeArguments
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(NodeWithTypeArguments.class);
+	}
+
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> nodeAndSolver) {
 		Node node = nodeAndSolver.getNode();
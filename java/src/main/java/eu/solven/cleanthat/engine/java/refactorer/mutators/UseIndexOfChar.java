@@ -83,6 +83,11 @@ public class UseIndexOfChar extends AJavaparserNodeMutator implements IMutatorDe
 		return "https://jsparrow.github.io/rules/use-is-empty-on-collections.html";
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(StringLiteralExpr.class);
+	}
+
 	@SuppressWarnings("PMD.CognitiveComplexity")
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
@@ -79,6 +79,11 @@ public class UseUnderscoresInNumericLiterals extends AJavaparserNodeMutator {
 		return 4;
 	}
 
+	@Override
+	public Set<Class<?>> getAcceptedNodeTypes() {
+		return Set.of(LiteralStringValueExpr.class);
+	}
+
 	@SuppressWarnings("PMD.CognitiveComplexity")
 	@Override
 	protected boolean processNotRecursively(NodeAndSymbolSolver<?> node) {
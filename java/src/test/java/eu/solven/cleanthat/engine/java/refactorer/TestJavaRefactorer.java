@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.engine.java.refactorer;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -25,12 +26,16 @@ import org.assertj.core.api.Assertions;
 import org.codehaus.plexus.languages.java.version.JavaVersion;
 import org.junit.Test;
 
+import com.github.javaparser.ast.expr.BinaryExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.printer.lexicalpreservation.LexicalPreservingPrinter;
 
 import eu.solven.cleanthat.config.pojo.CleanthatEngineProperties;
 import eu.solven.cleanthat.engine.java.IJdkVersionConstants;
+import eu.solven.cleanthat.engine.java.refactorer.meta.IJavaparserAstMutator;
 import eu.solven.cleanthat.engine.java.refactorer.meta.IMutator;
 import eu.solven.cleanthat.engine.java.refactorer.mutators.LocalVariableTypeInference;
+import eu.solven.cleanthat.engine.java.refactorer.mutators.StringToString;
 import eu.solven.cleanthat.engine.java.refactorer.mutators.UseDiamondOperator;
 import eu.solven.cleanthat.engine.java.refactorer.mutators.UseDiamondOperatorJdk8;
 import eu.solven.cleanthat.engine.java.refactorer.mutators.UseIndexOfChar;
@@ -39,6 +44,7 @@ import eu.solven.cleanthat.engine.java.refactorer.mutators.composite.PMDMutators
 import eu.solven.cleanthat.engine.java.refactorer.mutators.composite.SafeAndConsensualMutators;
 import eu.solven.cleanthat.engine.java.refactorer.test.LocalClassTestHelper;
 import eu.solven.cleanthat.engine.java.refactorer.test.OneMutatorCase;
+import eu.solven.cleanthat.formatter.PathAndContent;
 
 public class TestJavaRefactorer {
 	final CleanthatEngineProperties engineProperties =
@@ -291,4 +297,42 @@ public class TestJavaRefactorer {
 				.contains(UseDiamondOperatorJdk8.class.getName());
 	}
 
+	@Test
+	public void testFusedWalk_sameAsPerMutatorWalk() throws IOException {
+		var dirtyCode = "package some.pkg;\n\npublic class SomeClass {\n"
+				+ "	public boolean isEmpty(String s) {\n"
+				+ "		return s.length() == 0;\n"
+				+ "	}\n\n"
+				+ "	public String toString(String s) {\n"
+				+ "		return s.toString();\n"
+				+ "	}\n"
+				+ "}\n";
+
+		engineProperties.setEngineVersion(IJdkVersionConstants.LAST);
+		var fusedRefactorer = new JavaRefactorer(engineProperties, prdMutatorsProperties);
+		var perMutatorRefactorer = new JavaRefactorer(engineProperties, prdMutatorsProperties) {
+			@Override
+			protected boolean isFusable(IJavaparserAstMutator mutator) {
+				return false;
+			}
+		};
+
+		var path = Paths.get("SomeClass.java");
+		var fusedCode = fusedRefactorer.applyTransformers(new PathAndContent(path, dirtyCode));
+		var perMutatorCode = perMutatorRefactorer.applyTransformers(new PathAndContent(path, dirtyCode));
+
+		Assertions.assertThat(fusedCode).isNotEqualTo(dirtyCode).isEqualTo(perMutatorCode);
+
+		// Once clean, a single fused walk is sufficient
+		Assertions.assertThat(fusedRefactorer.applyTransformers(new PathAndContent(path, fusedCode))).isEqualTo(fusedCode);
+	}
+
+	@Test
+	public void testAcceptedNodeTypes() {
+		Assertions.assertThat(new StringToString().isAcceptedNodeType(MethodCallExpr.class)).isTrue();
+		Assertions.assertThat(new StringToString().isAcceptedNodeType(BinaryExpr.class)).isFalse();
+
+		// By default, a mutator accepts any Node
+		Assertions.assertThat(new NoOpJavaParserRule().isAcceptedNodeType(BinaryExpr.class)).isTrue();
+	}
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.engine.java.refactorer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
+
+public class TestSuppressCleanthatRegions {
+	final String source = "public class SomeClass {\n"
+			+ "	int someField = 1;\n"
+			+ "	@eu.solven.cleanthat.SuppressCleanthat\n"
+			+ "	void someMethod() {\n"
+			+ "		int i = 2;\n"
+			+ "	}\n"
+			+ "	void otherMethod() {\n"
+			+ "		int j = 3;\n"
+			+ "	}\n"
+			+ "}\n";
+
+	@Test
+	public void testRegions() {
+		var compilationUnit = StaticJavaParser.parse(source);
+		var regions = SuppressCleanthatRegions.compute(compilationUnit);
+
+		var someMethod = compilationUnit
+				.findFirst(MethodDeclaration.class, m -> "someMethod".equals(m.getNameAsString()))
+				.get();
+		var otherMethod = compilationUnit
+				.findFirst(MethodDeclaration.class, m -> "otherMethod".equals(m.getNameAsString()))
+				.get();
+
+		// The annotated node and its descendants
+		Assertions.assertThat(regions.isSuppressed(someMethod)).isTrue();
+		Assertions.assertThat(regions.isSuppressed(someMethod.findFirst(IntegerLiteralExpr.class).get())).isTrue();
+
+		// The ancestors
+		Assertions.assertThat(regions.isSuppressed(compilationUnit)).isTrue();
+		Assertions.assertThat(regions.isSuppressed(compilationUnit.getType(0))).isTrue();
+
+		// The other nodes
+		Assertions.assertThat(regions.isSuppressed(otherMethod)).isFalse();
+		Assertions.assertThat(regions.isSuppressed(otherMethod.findFirst(IntegerLiteralExpr.class).get())).isFalse();
+		Assertions.assertThat(regions.isSuppressed(compilationUnit.findFirst(FieldDeclaration.class).get())).isFalse();
+	}
+
+	@Test
+	public void testNoAnnotation() {
+		var compilationUnit = StaticJavaParser.parse("public class SomeClass {}");
+		var regions = SuppressCleanthatRegions.compute(compilationUnit);
+
+		Assertions.assertThat(regions.isSuppressed(compilationUnit)).isFalse();
+	}
+}
@@ -15,18 +15,24 @@
  */
 package eu.solven.cleanthat.lambda;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
 
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.document.internal.InternalUtils;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -34,10 +40,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.seratch.jslack.Slack;
+import com.google.common.base.Suppliers;
 
-import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
 import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.lambda.dynamodb.DynamoDbEventWriter;
 import eu.solven.cleanthat.lambda.dynamodb.SaveToDynamoDb;
+import eu.solven.cleanthat.lambda.LambdaBatchExecutor.BatchRecord;
+import eu.solven.cleanthat.lambda.coalescing.AEventCoalescer;
+import eu.solven.cleanthat.lambda.coalescing.DynamoDbEventCoalescer;
+import eu.solven.cleanthat.lambda.coalescing.IEventCoalescer;
 import eu.solven.cleanthat.lambda.jackson.CustomSnakeCase;
 import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
 import eu.solven.pepper.collection.PepperMapHelper;
@@ -56,7 +67,20 @@ import lombok.extern.slf4j.Slf4j;
 public abstract class AWebhooksLambdaFunction extends ACleanThatXxxFunction {
 
 	private static final String KEY_BODY = "body";
-	private static final String KEY_HEADERS = "headers";
+
+	// The Lambda Context is not available to a plain Function: the timeout configured for the Lambda is provided as a
+	// property
+	public static final String KEY_LAMBDA_TIMEOUT_SECONDS = "cleanthat.lambda.timeout_seconds";
+	// The maximum timeout of an AWS Lambda
+	public static final long DEFAULT_LAMBDA_TIMEOUT_SECONDS = 900;
+
+	public static final String KEY_BATCH_MAX_CONCURRENCY = "cleanthat.lambda.batch.max_concurrency";
+
+	final DynamoDbEventWriter eventWriter = new DynamoDbEventWriter(this::makeDynamoDbClient);
+
+	final Supplier<LambdaBatchExecutor> batchExecutor = Suppliers.memoize(() -> new LambdaBatchExecutor(appContext
+			.getEnvironment()
+			.getProperty(KEY_BATCH_MAX_CONCURRENCY, Integer.class, LambdaBatchExecutor.DEFAULT_MAX_CONCURRENCY)));
 
 	// Used to notify specific events
 	@Bean
@@ -64,7 +88,37 @@ public abstract class AWebhooksLambdaFunction extends ACleanThatXxxFunction {
 		return new Slack();
 	}
 
-	@SuppressWarnings("PMD.CognitiveComplexity")
+	// The client is thread-safe, and costly to build (credentials resolution, HTTP client, TLS): it is shared by all
+	// invocations
+	@Bean
+	public AmazonDynamoDB amazonDynamoDB(Environment env) {
+		var optEndpoint = Optional.ofNullable(env.getProperty(SaveToDynamoDb.KEY_ENDPOINT));
+		return SaveToDynamoDb.makeDynamoDbClient(DefaultAWSCredentialsProviderChain.getInstance(), optEndpoint);
+	}
+
+	public AmazonDynamoDB makeDynamoDbClient() {
+		return appContext.getBean(AmazonDynamoDB.class);
+	}
+
+	public DynamoDbEventWriter getEventWriter() {
+		return eventWriter;
+	}
+
+	protected String getTableName(String tableKey, String defaultTable) {
+		return appContext.getEnvironment().getProperty(tableKey, defaultTable);
+	}
+
+	public IEventCoalescer makeEventCoalescer() {
+		var env = appContext.getEnvironment();
+		var windowSeconds =
+				env.getProperty(AEventCoalescer.KEY_WINDOW_SECONDS, Long.class, AEventCoalescer.DEFAULT_WINDOW_SECONDS);
+		var table = getTableName(SaveToDynamoDb.KEY_TABLE_REFS_HEADS, DynamoDbEventCoalescer.DEFAULT_TABLE);
+		return new DynamoDbEventCoalescer(makeDynamoDbClient(),
+				table,
+				Clock.systemUTC(),
+				Duration.ofSeconds(windowSeconds));
+	}
+
 	@Bean
 	public Function<Map<String, ?>, Map<String, ?>> ingressRawWebhook() {
 		ObjectMapper objectMapper = appContext.getBean(ObjectMapper.class);
@@ -83,39 +137,19 @@ public abstract class AWebhooksLambdaFunction extends ACleanThatXxxFunction {
 		return input -> {
 			Map<String, ?> functionOutput;
 
-			if (input.containsKey("Records")) {
+			if (input.containsKey(AwsRecordsHelpers.KEY_RECORDS)) {
 				// This comes from SQS, which pushes SQSEvent
-				Collection<Map<String, ?>> records = PepperMapHelper.getRequiredAs(input, "Records");
+				Collection<Map<String, ?>> records =
+						PepperMapHelper.getRequiredAs(input, AwsRecordsHelpers.KEY_RECORDS);
 				LOGGER.info("About to process a batch of {} events from AWS", records.size());
+				var deadlineEpochMs = computeDeadline();
+
 				// https://github.com/aws/aws-sdk-java/blob/master/aws-java-sdk-sqs/src/main/java/com/amazonaws/services/sqs/model/Message.java
-				List<?> output = records.stream().map(r -> {
-					Map<String, ?> asMap;
-					try {
-						if (r.containsKey(KEY_BODY)) {
-							asMap = parseSqsEvent(objectMapper, r);
-						} else if ("aws:dynamodb".equals(r.get("eventSource"))) {
-							asMap = parseDynamoDbEvent(dynamoDbObjectMapper, r);
-						} else {
-							throw new IllegalArgumentException("Not managed: " + r);
-						}
-					} catch (RuntimeException e) {
-						logEvent(objectMapper, input);
-						throw new RuntimeException("Issue parsing AWS message", e);
-					}
-
-					return asMap;
-				}).filter(m -> !m.isEmpty()).map(r -> {
-					logEvent(objectMapper, r);
-
-					var event = wrapAsEvent(r);
-					try {
-						return processOneEvent(event);
-					} catch (RuntimeException e) {
-						LOGGER.warn("Issue with one message of a batch of " + records.size() + " messages", e);
-						return Collections.singletonMap("ARG", e.getMessage());
-					}
-				}).collect(Collectors.toList());
-				functionOutput = Map.of("sqs", output);
+				List<BatchRecord> batch = records.stream()
+						.map(r -> toBatchRecord(objectMapper, dynamoDbObjectMapper, r))
+						.collect(Collectors.toList());
+				// The events written by the records are flushed together once the batch is processed
+				functionOutput = eventWriter.writeAfter(() -> batchExecutor.get().execute(batch, deadlineEpochMs));
 			} else {
 				// This would happen on Lambda direct invocation
 				// But we always try to rely on events(SQS, DynamoDB, ...)
@@ -131,6 +165,63 @@ public abstract class AWebhooksLambdaFunction extends ACleanThatXxxFunction {
 
 	}
 
+	private BatchRecord toBatchRecord(ObjectMapper objectMapper,
+			ObjectMapper dynamoDbObjectMapper,
+			Map<String, ?> r) {
+		var itemIdentifier = AwsRecordsHelpers.getItemIdentifier(r);
+
+		Map<String, ?> asMap;
+		try {
+			if (r.containsKey(KEY_BODY)) {
+				asMap = parseSqsEvent(objectMapper, r);
+			} else if ("aws:dynamodb".equals(r.get("eventSource"))) {
+				asMap = parseDynamoDbEvent(dynamoDbObjectMapper, r);
+			} else {
+				throw new IllegalArgumentException("Not managed: " + r);
+			}
+		} catch (RuntimeException e) {
+			logEvent(objectMapper, r);
+			var parsingIssue = new RuntimeException("Issue parsing AWS message", e);
+
+			// This record is redelivered, without failing the other records of the batch
+			return new BatchRecord(itemIdentifier, itemIdentifier, () -> {
+				throw parsingIssue;
+			});
+		}
+
+		if (asMap.isEmpty()) {
+			return new BatchRecord(itemIdentifier, itemIdentifier, Collections::emptyMap);
+		}
+
+		logEvent(objectMapper, asMap);
+		var event = wrapAsEvent(asMap);
+		return new BatchRecord(itemIdentifier, getGroupKey(event).orElse(itemIdentifier), () -> processOneEvent(event));
+	}
+
+	/**
+	 * 
+	 * @param event
+	 * @return the key of the repository (e.g. `owner/name`), as the events of a same repository (and hence of a same
+	 *         ref) are processed sequentially.
+	 */
+	protected Optional<String> getGroupKey(IWebhookEvent event) {
+		try {
+			var githubEvent = GithubWebhookEvent.fromCleanThatEvent(event);
+			return PepperMapHelper.getOptionalString(githubEvent.getBody(), "repository", "full_name");
+		} catch (RuntimeException e) {
+			LOGGER.debug("Not a Github event: processed independently", e);
+			return Optional.empty();
+		}
+	}
+
+	protected long computeDeadline() {
+		var env = appContext.getEnvironment();
+		long timeoutMs = TimeUnit.SECONDS
+				.toMillis(env.getProperty(KEY_LAMBDA_TIMEOUT_SECONDS, Long.class, DEFAULT_LAMBDA_TIMEOUT_SECONDS));
+
+		return AwsRecordsHelpers.computeDeadline(timeoutMs);
+	}
+
 	private void logEvent(ObjectMapper objectMapper, Map<String, ?> input) {
 		try {
 			LOGGER.info("TODO Add unit-test for: {}", objectMapper.writeValueAsString(input));
@@ -151,60 +242,7 @@ public abstract class AWebhooksLambdaFunction extends ACleanThatXxxFunction {
 	}
 
 	public IWebhookEvent wrapAsEvent(Map<String, ?> input) {
-
-		IWebhookEvent event;
-		if (input.containsKey(KEY_BODY) && input.containsKey(KEY_HEADERS)) {
-			String eventKey = PepperMapHelper.getRequiredString(input, GithubWebhookEvent.X_GIT_HUB_DELIVERY);
-			// see CheckWebhooksLambdaFunction.saveToDynamoDb(String, IWebhookEvent, AmazonDynamoDB)
-			// event = SaveToDynamoDb.NONE;
-
-			Map<String, Object> rootBody = PepperMapHelper.getRequiredMap(input, KEY_BODY);
-
-			if (rootBody.containsKey(GithubWebhookEvent.KEY_GITHUB)) {
-				Map<String, Object> github = PepperMapHelper.getRequiredMap(rootBody, GithubWebhookEvent.KEY_GITHUB);
-
-				Map<String, Object> githubHeaders = PepperMapHelper.getRequiredMap(github, KEY_HEADERS);
-
-				if (githubHeaders.containsKey(GithubWebhookEvent.X_GIT_HUB_DELIVERY)) {
-					Object realDelivery = githubHeaders.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
-					if (realDelivery != null && !realDelivery.equals(eventKey)) {
-						LOGGER.warn("We replace a real {}={} by the fake {}",
-								GithubWebhookEvent.X_GIT_HUB_DELIVERY,
-								realDelivery,
-								eventKey);
-					}
-				} else {
-					// Headers is typically empty as we fails fetching headers from API Gateway
-					githubHeaders = new LinkedHashMap<>(githubHeaders);
-
-					// TODO We should push this to the headers next to the actual github body, which may be deeper
-					// We should also push it when the initial event is received
-					githubHeaders.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
-
-					// Install the updated headers
-					github.put(KEY_HEADERS, githubHeaders);
-				}
-			} else if (rootBody.containsKey(GithubWebhookEvent.KEY_HEADERS)) {
-				Map<String, Object> githubHeaders = PepperMapHelper.getRequiredMap(rootBody, KEY_HEADERS);
-				if (!githubHeaders.containsKey(GithubWebhookEvent.X_GIT_HUB_DELIVERY)) {
-					githubHeaders.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
-				}
-			}
-
-			Map<String, Object> headers = PepperMapHelper.getRequiredMap(input, KEY_HEADERS);
-			if (!headers.containsKey(GithubWebhookEvent.X_GIT_HUB_DELIVERY)) {
-				headers.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
-			}
-
-			event = new CleanThatWebhookEvent(headers, rootBody);
-		} else {
-			// This is a payload right from Github
-			// We lack headers as we are not able to forward them from SQS
-			String xGithubDelivery = SaveToDynamoDb.generateRandomxGithubDelivery();
-
-			event = new GithubWebhookEvent("", xGithubDelivery, "", input);
-		}
-		return event;
+		return AwsRecordsHelpers.wrapAsEvent(input);
 	}
 
 	public Map<String, ?> parseDynamoDbEvent(ObjectMapper dynamoDbObjectMapper, Map<String, ?> r) {
@@ -248,22 +286,6 @@ public abstract class AWebhooksLambdaFunction extends ACleanThatXxxFunction {
 	}
 
 	public Map<String, ?> parseSqsEvent(ObjectMapper objectMapper, Map<String, ?> r) {
-		Map<String, ?> asMap;
-		// SQS
-		var body = PepperMapHelper.getRequiredString(r, KEY_BODY);
-		Optional<Object> messageAttributes = PepperMapHelper.getOptionalAs(r, "messageAttributes");
-		if (messageAttributes.isPresent()) {
-			LOGGER.info("Attributes: {}", messageAttributes);
-		}
-
-		// SQS transfer the body 'as is'
-		try {
-			asMap = objectMapper.readValue(body, Map.class);
-		} catch (JsonProcessingException e) {
-			LOGGER.warn("Issue while parsing: {}", body);
-			LOGGER.warn("Issue while parsing body", e);
-			asMap = Collections.<String, Object>emptyMap();
-		}
-		return asMap;
+		return AwsRecordsHelpers.parseSqsEvent(objectMapper, r);
 	}
 }
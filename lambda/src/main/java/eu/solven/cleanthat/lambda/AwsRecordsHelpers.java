@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.lambda.dynamodb.SaveToDynamoDb;
+import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
+import eu.solven.pepper.collection.PepperMapHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Helps processing the records pushed by AWS (SQS, DynamoDB streams). It does not depend on Spring, so it can be used
+ * by lightweight entry points.
+ * 
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class AwsRecordsHelpers {
+	public static final String KEY_RECORDS = "Records";
+
+	private static final long MAX_DEADLINE_MARGIN_MS = TimeUnit.SECONDS.toMillis(30);
+
+	protected AwsRecordsHelpers() {
+		// hidden
+	}
+
+	/**
+	 * 
+	 * @param r
+	 *            a record of a SQS or DynamoDB batch
+	 * @return the identifier expected by AWS in `batchItemFailures`
+	 */
+	public static String getItemIdentifier(Map<String, ?> r) {
+		Optional<String> optMessageId = PepperMapHelper.getOptionalString(r, "messageId");
+		if (optMessageId.isPresent()) {
+			// SQS
+			return optMessageId.get();
+		}
+
+		// DynamoDB streams expect the SequenceNumber
+		Optional<String> optSequenceNumber = PepperMapHelper.getOptionalString(r, "dynamodb", "SequenceNumber");
+		return optSequenceNumber.or(() -> PepperMapHelper.getOptionalString(r, "eventID"))
+				.orElseGet(SaveToDynamoDb::generateRandomxGithubDelivery);
+	}
+
+	/**
+	 * 
+	 * @param objectMapper
+	 * @param r
+	 *            a SQS record
+	 * @return the body of the record, or an empty {@link Map} if it is not valid JSON
+	 */
+	public static Map<String, ?> parseSqsEvent(ObjectMapper objectMapper, Map<String, ?> r) {
+		Map<String, ?> asMap;
+		// SQS
+		var body = PepperMapHelper.getRequiredString(r, "body");
+		Optional<Object> messageAttributes = PepperMapHelper.getOptionalAs(r, "messageAttributes");
+		if (messageAttributes.isPresent()) {
+			LOGGER.info("Attributes: {}", messageAttributes);
+		}
+
+		// SQS transfer the body 'as is'
+		try {
+			asMap = objectMapper.readValue(body, Map.class);
+		} catch (JsonProcessingException e) {
+			LOGGER.warn("Issue while parsing: {}", body);
+			LOGGER.warn("Issue while parsing body", e);
+			asMap = Collections.<String, Object>emptyMap();
+		}
+		return asMap;
+	}
+
+	/**
+	 * 
+	 * @param input
+	 *            either a body+headers envelope (as written by a previous step), or a payload right from Github
+	 * @return the event, with an `X-GitHub-Delivery` header
+	 */
+	public static IWebhookEvent wrapAsEvent(Map<String, ?> input) {
+		IWebhookEvent event;
+		if (input.containsKey(GithubWebhookEvent.KEY_BODY) && input.containsKey(GithubWebhookEvent.KEY_HEADERS)) {
+			String eventKey = PepperMapHelper.getRequiredString(input, GithubWebhookEvent.X_GIT_HUB_DELIVERY);
+			// see CheckWebhooksLambdaFunction.saveToDynamoDb(String, IWebhookEvent, AmazonDynamoDB)
+			// event = SaveToDynamoDb.NONE;
+
+			Map<String, Object> rootBody = PepperMapHelper.getRequiredMap(input, GithubWebhookEvent.KEY_BODY);
+
+			if (rootBody.containsKey(GithubWebhookEvent.KEY_GITHUB)) {
+				Map<String, Object> github = PepperMapHelper.getRequiredMap(rootBody, GithubWebhookEvent.KEY_GITHUB);
+
+				Map<String, Object> githubHeaders =
+						PepperMapHelper.getRequiredMap(github, GithubWebhookEvent.KEY_HEADERS);
+
+				if (githubHeaders.containsKey(GithubWebhookEvent.X_GIT_HUB_DELIVERY)) {
+					Object realDelivery = githubHeaders.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
+					if (realDelivery != null && !realDelivery.equals(eventKey)) {
+						LOGGER.warn("We replace a real {}={} by the fake {}",
+								GithubWebhookEvent.X_GIT_HUB_DELIVERY,
+								realDelivery,
+								eventKey);
+					}
+				} else {
+					// Headers is typically empty as we fails fetching headers from API Gateway
+					githubHeaders = new LinkedHashMap<>(githubHeaders);
+
+					// TODO We should push this to the headers next to the actual github body, which may be deeper
+					// We should also push it when the initial event is received
+					githubHeaders.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
+
+					// Install the updated headers
+					github.put(GithubWebhookEvent.KEY_HEADERS, githubHeaders);
+				}
+			} else if (rootBody.containsKey(GithubWebhookEvent.KEY_HEADERS)) {
+				Map<String, Object> githubHeaders =
+						PepperMapHelper.getRequiredMap(rootBody, GithubWebhookEvent.KEY_HEADERS);
+				if (!githubHeaders.containsKey(GithubWebhookEvent.X_GIT_HUB_DELIVERY)) {
+					githubHeaders.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
+				}
+			}
+
+			Map<String, Object> headers = PepperMapHelper.getRequiredMap(input, GithubWebhookEvent.KEY_HEADERS);
+			if (!headers.containsKey(GithubWebhookEvent.X_GIT_HUB_DELIVERY)) {
+				headers.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, eventKey);
+			}
+
+			event = new CleanThatWebhookEvent(headers, rootBody);
+		} else {
+			// This is a payload right from Github
+			// We lack headers as we are not able to forward them from SQS
+			String xGithubDelivery = SaveToDynamoDb.generateRandomxGithubDelivery();
+
+			event = new GithubWebhookEvent("", xGithubDelivery, "", input);
+		}
+		return event;
+	}
+
+	/**
+	 * 
+	 * @param remainingMs
+	 *            the time remaining before the Lambda is killed
+	 * @return the deadline to process the records, keeping some time to report the failed records
+	 */
+	public static long computeDeadline(long remainingMs) {
+		var marginMs = Math.min(MAX_DEADLINE_MARGIN_MS, remainingMs / 10);
+
+		return System.currentTimeMillis() + remainingMs - marginMs;
+	}
+}
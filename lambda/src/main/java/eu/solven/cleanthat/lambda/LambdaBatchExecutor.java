@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+
+import eu.solven.pepper.thread.PepperExecutorsHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processes the records of a batch (SQS, DynamoDB stream) concurrently. The records of a same group (e.g. a same
+ * repository) are processed sequentially, in the order of the batch: once one of them fails, the following ones are not
+ * processed, so they are redelivered in order.
+ * 
+ * The failed and skipped records are reported as `batchItemFailures`, so AWS redelivers only them. Once the deadline is
+ * reached, no record is started anymore. A running record is awaited: interrupting it would not prevent it from
+ * committing, and it would then be redelivered while being actually processed. If it does not complete before the
+ * Lambda timeout, AWS redelivers the whole batch.
+ * 
+ * @author Benoit Lacelle
+ */
+// https://docs.aws.amazon.com/lambda/latest/dg/with-sqs.html#services-sqs-batchfailurereporting
+// https://docs.aws.amazon.com/lambda/latest/dg/with-ddb.html#services-ddb-batchfailurereporting
+@Slf4j
+public class LambdaBatchExecutor {
+	public static final String KEY_BATCH_ITEM_FAILURES = "batchItemFailures";
+	public static final String KEY_ITEM_IDENTIFIER = "itemIdentifier";
+
+	// Github recommends not to do too many concurrent calls, hence we do not process too many repositories concurrently
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	// Lazy as most batches hold a single record. The threads are released when idle
+	final Supplier<ListeningExecutorService> executorSupplier;
+
+	public LambdaBatchExecutor(int maxConcurrency) {
+		this.executorSupplier = Suppliers.memoize(
+				() -> PepperExecutorsHelper.newShrinkableFixedThreadPool(maxConcurrency, "Cleanthat-LambdaBatch-"));
+	}
+
+	/**
+	 * One record of a batch.
+	 */
+	public static final class BatchRecord {
+		final String itemIdentifier;
+		final String groupKey;
+		final Callable<Map<String, ?>> task;
+
+		/**
+		 * 
+		 * @param itemIdentifier
+		 *            the identifier reported to AWS if this record fails (e.g. the SQS messageId)
+		 * @param groupKey
+		 *            the records with the same groupKey are processed sequentially
+		 * @param task
+		 *            the processing of this record
+		 */
+		public BatchRecord(String itemIdentifier, String groupKey, Callable<Map<String, ?>> task) {
+			this.itemIdentifier = itemIdentifier;
+			this.groupKey = groupKey;
+			this.task = task;
+		}
+	}
+
+	/**
+	 * 
+	 * @param records
+	 * @param deadlineEpochMs
+	 *            the records not started before this deadline are reported as failures
+	 * @return the non-empty outputs of the successful records (in the order of the batch), and the identifiers of the
+	 *         failed records
+	 */
+	public Map<String, ?> execute(List<BatchRecord> records, long deadlineEpochMs) {
+		Map<String, List<BatchRecord>> groupToRecords = new LinkedHashMap<>();
+		records.forEach(r -> groupToRecords.computeIfAbsent(r.groupKey, k -> new ArrayList<>()).add(r));
+		LOGGER.info("About to process {} records in {} groups", records.size(), groupToRecords.size());
+
+		Map<BatchRecord, Map<String, ?>> recordToOutput = new ConcurrentHashMap<>();
+
+		if (groupToRecords.size() == 1) {
+			// No need for a thread
+			processGroup(groupToRecords.values().iterator().next(), deadlineEpochMs, recordToOutput);
+		} else {
+			var executor = executorSupplier.get();
+
+			List<ListenableFuture<?>> futures = new ArrayList<>();
+			groupToRecords.values()
+					.forEach(group -> futures
+							.add(executor.submit(() -> processGroup(group, deadlineEpochMs, recordToOutput))));
+
+			futures.forEach(this::waitForGroup);
+		}
+
+		List<Map<String, ?>> outputs = new ArrayList<>();
+		List<Map<String, ?>> failures = new ArrayList<>();
+		records.forEach(r -> {
+			var output = recordToOutput.get(r);
+			if (output == null) {
+				failures.add(Map.of(KEY_ITEM_IDENTIFIER, r.itemIdentifier));
+			} else if (!output.isEmpty()) {
+				outputs.add(output);
+			}
+		});
+
+		if (!failures.isEmpty()) {
+			LOGGER.warn("{} records out of {} are reported as failed", failures.size(), records.size());
+		}
+
+		return Map.of("sqs", outputs, KEY_BATCH_ITEM_FAILURES, failures);
+	}
+
+	protected void processGroup(List<BatchRecord> group,
+			long deadlineEpochMs,
+			Map<BatchRecord, Map<String, ?>> recordToOutput) {
+		for (var r : group) {
+			if (Thread.currentThread().isInterrupted() || System.currentTimeMillis() >= deadlineEpochMs) {
+				LOGGER.warn("Deadline reached: record {} (and following ones in group {}) will be redelivered",
+						r.itemIdentifier,
+						r.groupKey);
+				return;
+			}
+
+			Map<String, ?> output;
+			try {
+				output = r.task.call();
+			} catch (Exception e) {
+				LOGGER.warn("Issue processing record " + r.itemIdentifier
+						+ ": it (and following ones in group "
+						+ r.groupKey
+						+ ") will be redelivered", e);
+				return;
+			}
+
+			// The output may be null or empty for records we do not have to process (e.g. a DynamoDB REMOVE)
+			recordToOutput.put(r, output == null ? Collections.emptyMap() : output);
+		}
+	}
+
+	private void waitForGroup(ListenableFuture<?> future) {
+		// processGroup does not start records after the deadline: we wait only for the running record
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.warn("Interrupted while waiting for a group of records");
+		} catch (ExecutionException e) {
+			// processGroup catches the failures of the records
+			LOGGER.warn("Unexpected issue processing a group of records", e);
+		}
+	}
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.coalescing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import eu.solven.cleanthat.codeprovider.git.GitRepoBranchSha1;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the coalescing logic, given a storage of the latest head of each ref.
+ * 
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public abstract class AEventCoalescer implements IEventCoalescer {
+	public static final String KEY_WINDOW_SECONDS = "cleanthat.coalescing.window_seconds";
+	public static final long DEFAULT_WINDOW_SECONDS = 600;
+
+	// The latest head is updated optimistically: we retry a few times on concurrent registrations, then give up
+	public static final int MAX_REGISTER_ATTEMPTS = 5;
+
+	final Clock clock;
+	final Duration window;
+
+	protected AEventCoalescer(Clock clock, Duration window) {
+		this.clock = clock;
+		this.window = window;
+	}
+
+	/**
+	 * The latest head registered for a ref.
+	 */
+	protected static final class LatestHead {
+		final String sha;
+		final Instant registeredAt;
+		// If empty, the cleaning of this head would not cover the previous heads: they can not be superseded
+		final Optional<String> optCoveredBaseSha;
+		// The previous heads covered by the cleaning of this head
+		final Set<String> supersededShas;
+
+		public LatestHead(String sha,
+				Instant registeredAt,
+				Optional<String> optCoveredBaseSha,
+				Set<String> supersededShas) {
+			this.sha = sha;
+			this.registeredAt = registeredAt;
+			this.optCoveredBaseSha = optCoveredBaseSha;
+			this.supersededShas = supersededShas;
+		}
+	}
+
+	protected String makeKey(GitRepoBranchSha1 head) {
+		return head.getRepoFullName() + ":" + head.getRef();
+	}
+
+	@Override
+	public void registerHead(GitRepoBranchSha1 head, Optional<GitRepoBranchSha1> optBase) {
+		var key = makeKey(head);
+
+		// A base in the same ref (i.e. a push `before`) can be widened to cover the previous pushes
+		Optional<String> optBaseSha = optBase
+				.filter(base -> base.getRepoFullName().equals(head.getRepoFullName())
+						&& base.getRef().equals(head.getRef()))
+				.map(GitRepoBranchSha1::getSha);
+
+		for (var attempt = 1; attempt <= MAX_REGISTER_ATTEMPTS; attempt++) {
+			var optPrevious = loadLatestHead(key);
+
+			var optLatest = computeLatestHead(key, head, optBaseSha, optPrevious.filter(this::isWithinWindow));
+			if (optLatest.isEmpty() || saveLatestHead(key, optPrevious, optLatest.get())) {
+				return;
+			}
+
+			LOGGER.info("The latest head of {} has been registered concurrently (attempt {}/{})",
+					key,
+					attempt,
+					MAX_REGISTER_ATTEMPTS);
+		}
+
+		// Given head is not registered: it will not be superseded, hence cleaned from its own base
+		LOGGER.warn("Too many concurrent registrations for {}: {} is not coalesced", key, head.getSha());
+	}
+
+	/**
+	 * 
+	 * @return the new latest head, or empty if the previous latest head has to be kept
+	 */
+	protected Optional<LatestHead> computeLatestHead(String key,
+			GitRepoBranchSha1 head,
+			Optional<String> optBaseSha,
+			Optional<LatestHead> optPreviousInWindow) {
+		if (optPreviousInWindow.isEmpty()) {
+			return Optional.of(new LatestHead(head.getSha(), clock.instant(), optBaseSha, Set.of()));
+		}
+
+		var previous = optPreviousInWindow.get();
+		if (optBaseSha.isEmpty() || !previous.sha.equals(optBaseSha.get())) {
+			// The events of a ref may be registered out of order (e.g. the pushes X->A then A->B, registered as B then
+			// A). Given head does not follow the latest head: neither supersedes the other, and the latest head is
+			// kept as it may cover some previous heads
+			LOGGER.info("Head {} does not follow the latest head of {} ({}): it is not coalesced",
+					head.getSha(),
+					key,
+					previous.sha);
+			return Optional.empty();
+		} else if (previous.optCoveredBaseSha.isEmpty()) {
+			// The previous head can not be covered
+			return Optional.of(new LatestHead(head.getSha(), clock.instant(), Optional.empty(), Set.of()));
+		}
+
+		// Given head supersedes the previous heads: its cleaning has to start from their base
+		Set<String> supersededShas = new HashSet<>(previous.supersededShas);
+		supersededShas.add(previous.sha);
+		// e.g. on a force-push back to a previous head
+		supersededShas.remove(head.getSha());
+
+		return Optional.of(new LatestHead(head.getSha(),
+				clock.instant(),
+				previous.optCoveredBaseSha,
+				Set.copyOf(supersededShas)));
+	}
+
+	@Override
+	public Optional<String> optSupersedingSha(GitRepoBranchSha1 head) {
+		var optLatest = loadLatestHead(makeKey(head));
+		if (optLatest.isEmpty()) {
+			return Optional.empty();
+		}
+
+		var latest = optLatest.get();
+		if (latest.sha.equals(head.getSha())) {
+			// This is the latest head: it has to be cleaned
+			return Optional.empty();
+		} else if (!isWithinWindow(latest)) {
+			// The latest head is too old to be trusted (e.g. its event is lost): clean given head
+			LOGGER.info("The latest head of {} ({}) is older than {}", makeKey(head), latest.sha, window);
+			return Optional.empty();
+		} else if (latest.optCoveredBaseSha.isEmpty() || !latest.supersededShas.contains(head.getSha())) {
+			LOGGER.info("The latest head of {} ({}) does not cover {}", makeKey(head), latest.sha, head.getSha());
+			return Optional.empty();
+		}
+
+		return Optional.of(latest.sha);
+	}
+
+	@Override
+	public Optional<String> optCoveredBaseSha(GitRepoBranchSha1 head) {
+		// Even out of the window, as some heads may have been superseded while it was open
+		return loadLatestHead(makeKey(head)).filter(latest -> latest.sha.equals(head.getSha()))
+				.flatMap(latest -> latest.optCoveredBaseSha);
+	}
+
+	protected boolean isWithinWindow(LatestHead latestHead) {
+		return !latestHead.registeredAt.plus(window).isBefore(clock.instant());
+	}
+
+	/**
+	 * 
+	 * @param key
+	 * @param optPrevious
+	 *            the latest head as loaded before computing the new latest head
+	 * @param latestHead
+	 * @return false if the latest head has been updated concurrently, since optPrevious has been loaded
+	 */
+	protected abstract boolean saveLatestHead(String key, Optional<LatestHead> optPrevious, LatestHead latestHead);
+
+	protected abstract Optional<LatestHead> loadLatestHead(String key);
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.coalescing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.document.DynamoDB;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.spec.GetItemSpec;
+import com.amazonaws.services.dynamodbv2.document.spec.PutItemSpec;
+import com.amazonaws.services.dynamodbv2.document.utils.NameMap;
+import com.amazonaws.services.dynamodbv2.document.utils.ValueMap;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link IEventCoalescer} storing the latest head of each ref in DynamoDB. The items expire (through DynamoDB TTL
+ * over `ttl`) a while after the coalescing window is over, as the cleaning of the latest head needs its covered base.
+ * 
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class DynamoDbEventCoalescer extends AEventCoalescer {
+	public static final String DEFAULT_TABLE = "cleanthat_refs_heads";
+
+	public static final String KEY_REPO_REF = "repo_ref";
+	private static final String KEY_SHA = "sha";
+	private static final String KEY_REGISTERED_AT = "registered_at";
+	private static final String KEY_COVERED_BASE_SHA = "covered_base_sha";
+	private static final String KEY_SUPERSEDED_SHAS = "superseded_shas";
+	private static final String KEY_TTL = "ttl";
+
+	// The cleaning of the latest head may be delayed (e.g. retries)
+	private static final Duration RETENTION_AFTER_WINDOW = Duration.ofDays(1);
+
+	final Table table;
+
+	public DynamoDbEventCoalescer(AmazonDynamoDB client, String table, Clock clock, Duration window) {
+		super(clock, window);
+
+		this.table = new DynamoDB(client).getTable(table);
+	}
+
+	public DynamoDbEventCoalescer(AmazonDynamoDB client, Duration window) {
+		this(client, DEFAULT_TABLE, Clock.systemUTC(), window);
+	}
+
+	@Override
+	protected boolean saveLatestHead(String key, Optional<LatestHead> optPrevious, LatestHead latestHead) {
+		LOGGER.info("Register head={} for {}", latestHead.sha, key);
+
+		var item = new Item().withPrimaryKey(KEY_REPO_REF, key)
+				.withString(KEY_SHA, latestHead.sha)
+				.withLong(KEY_REGISTERED_AT, latestHead.registeredAt.toEpochMilli())
+				.withLong(KEY_TTL, latestHead.registeredAt.plus(window).plus(RETENTION_AFTER_WINDOW).getEpochSecond());
+		latestHead.optCoveredBaseSha.ifPresent(baseSha -> item.withString(KEY_COVERED_BASE_SHA, baseSha));
+		if (!latestHead.supersededShas.isEmpty()) {
+			// DynamoDB rejects empty sets
+			item.withStringSet(KEY_SUPERSEDED_SHAS, latestHead.supersededShas);
+		}
+
+		// The events of a ref are registered concurrently: the put is conditional on the previous latest head
+		var putItemSpec = new PutItemSpec().withItem(item);
+		if (optPrevious.isPresent()) {
+			putItemSpec.withConditionExpression("#sha = :sha AND #registered_at = :registered_at")
+					.withNameMap(new NameMap().with("#sha", KEY_SHA).with("#registered_at", KEY_REGISTERED_AT))
+					.withValueMap(new ValueMap().withString(":sha", optPrevious.get().sha)
+							.withLong(":registered_at", optPrevious.get().registeredAt.toEpochMilli()));
+		} else {
+			putItemSpec.withConditionExpression("attribute_not_exists(#repo_ref)")
+					.withNameMap(new NameMap().with("#repo_ref", KEY_REPO_REF));
+		}
+
+		try {
+			table.putItem(putItemSpec);
+			return true;
+		} catch (ConditionalCheckFailedException e) {
+			LOGGER.debug("The latest head of {} has been updated concurrently", key, e);
+			return false;
+		}
+	}
+
+	@Override
+	protected Optional<LatestHead> loadLatestHead(String key) {
+		// Consistent, as the latest head may have been registered a few milliseconds ago
+		var item = table.getItem(new GetItemSpec().withPrimaryKey(KEY_REPO_REF, key).withConsistentRead(true));
+		if (item == null) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new LatestHead(item.getString(KEY_SHA),
+				Instant.ofEpochMilli(item.getLong(KEY_REGISTERED_AT)),
+				Optional.ofNullable(item.getString(KEY_COVERED_BASE_SHA)),
+				Optional.ofNullable(item.getStringSet(KEY_SUPERSEDED_SHAS)).orElse(Set.of())));
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.coalescing;
+
+import java.util.Optional;
+
+import eu.solven.cleanthat.codeprovider.git.GitRepoBranchSha1;
+
+/**
+ * Coalesces the bursts of events over a same ref (e.g. a rebase, or a series of quick pushes): only the latest head of
+ * each `(repoFullName, ref)` is worth cleaning, as cleaning a stale head would be discarded as diverged.
+ * 
+ * As a push cleans only its own diff (from its `before` sha), the cleaning of the latest head starts from the oldest
+ * base of the heads it supersedes. A head supersedes the latest head only if it follows it (i.e. its base is the
+ * latest head), as the events of a ref may be registered out of order. A head with a base in another ref (e.g. a PR
+ * base) can not be covered this way: it is never superseded.
+ * 
+ * @author Benoit Lacelle
+ */
+public interface IEventCoalescer {
+
+	/**
+	 * Registers given head as the latest head of its ref. This is called once an event is accepted for cleaning.
+	 * 
+	 * @param head
+	 * @param optBase
+	 *            the base from which given head would be cleaned
+	 */
+	void registerHead(GitRepoBranchSha1 head, Optional<GitRepoBranchSha1> optBase);
+
+	/**
+	 * 
+	 * @param head
+	 * @return the sha of the latest head registered for the ref of given head, if it differs from given head and has
+	 *         been registered within the coalescing window. In this case, the cleaning of given head can be skipped.
+	 */
+	Optional<String> optSupersedingSha(GitRepoBranchSha1 head);
+
+	/**
+	 * 
+	 * @param head
+	 * @return the sha from which given head has to be cleaned, so the heads it superseded are cleaned too. Empty if
+	 *         given head is not the latest head of its ref.
+	 */
+	Optional<String> optCoveredBaseSha(GitRepoBranchSha1 head);
+}
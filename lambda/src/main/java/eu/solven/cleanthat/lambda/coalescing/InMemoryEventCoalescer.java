@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.coalescing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An in-memory {@link IEventCoalescer}, useful for tests and for a single-process deployment.
+ * 
+ * @author Benoit Lacelle
+ */
+public class InMemoryEventCoalescer extends AEventCoalescer {
+	final Map<String, LatestHead> keyToLatestHead = new ConcurrentHashMap<>();
+
+	public InMemoryEventCoalescer(Clock clock, Duration window) {
+		super(clock, window);
+	}
+
+	public InMemoryEventCoalescer() {
+		this(Clock.systemUTC(), Duration.ofSeconds(DEFAULT_WINDOW_SECONDS));
+	}
+
+	@Override
+	protected boolean saveLatestHead(String key, Optional<LatestHead> optPrevious, LatestHead latestHead) {
+		if (optPrevious.isPresent()) {
+			// LatestHead has no equals: the previous head is compared by identity
+			return keyToLatestHead.replace(key, optPrevious.get(), latestHead);
+		} else {
+			return keyToLatestHead.putIfAbsent(key, latestHead) == null;
+		}
+	}
+
+	@Override
+	protected Optional<LatestHead> loadLatestHead(String key) {
+		return Optional.ofNullable(keyToLatestHead.get(key));
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.dynamodb;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.document.DynamoDB;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.TableWriteItems;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
+
+import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes events into DynamoDB. While processing a batch of records, the writes are buffered, and flushed with
+ * `BatchWriteItem` (up to 25 items per call) once the batch is processed. As `BatchWriteItem` rejects a call holding
+ * the same primary key twice, only the last buffered item per primary key is written.
+ * 
+ * @author Benoit Lacelle
+ */
+// https://docs.aws.amazon.com/amazondynamodb/latest/APIReference/API_BatchWriteItem.html
+@Slf4j
+public class DynamoDbEventWriter {
+	public static final int MAX_ITEMS_PER_BATCH = 25;
+	public static final int MAX_ATTEMPTS = 5;
+
+	// Lazy as some steps never write
+	final Supplier<DynamoDB> dynamoDb;
+
+	final AtomicBoolean buffering = new AtomicBoolean();
+	// Records of a batch are processed concurrently
+	final List<Map.Entry<String, Item>> buffer = new ArrayList<>();
+
+	public DynamoDbEventWriter(Supplier<AmazonDynamoDB> client) {
+		this.dynamoDb = Suppliers.memoize(() -> new DynamoDB(client.get()));
+	}
+
+	/**
+	 * 
+	 * @param table
+	 * @param input
+	 * @return the primary key of the written item
+	 */
+	public String write(String table, IWebhookEvent input) {
+		var item = SaveToDynamoDb.prepareItem(input);
+
+		synchronized (buffer) {
+			if (buffering.get()) {
+				LOGGER.info("Buffer an item for table={}", table);
+				buffer.add(Map.entry(table, item));
+				return SaveToDynamoDb.getPrimaryKey(item);
+			}
+		}
+
+		return SaveToDynamoDb.putItem(dynamoDb.get().getTable(table), item);
+	}
+
+	/**
+	 * Buffers the writes done by given batch, and flushes them once the batch is done.
+	 * 
+	 * @param batch
+	 * @return the output of the batch
+	 */
+	public <T> T writeAfter(Supplier<T> batch) {
+		if (!buffering.compareAndSet(false, true)) {
+			throw new IllegalStateException("Already buffering");
+		}
+
+		List<Map.Entry<String, Item>> toFlush;
+		T output;
+		try {
+			output = batch.get();
+		} finally {
+			synchronized (buffer) {
+				buffering.set(false);
+				toFlush = new ArrayList<>(buffer);
+				buffer.clear();
+			}
+		}
+
+		flush(toFlush);
+
+		return output;
+	}
+
+	protected void flush(List<Map.Entry<String, Item>> items) {
+		if (items.isEmpty()) {
+			return;
+		}
+		var deduplicated = deduplicate(items);
+		LOGGER.info("About to write {} items ({} buffered)", deduplicated.size(), items.size());
+
+		for (var partition : Lists.partition(deduplicated, MAX_ITEMS_PER_BATCH)) {
+			Map<String, TableWriteItems> tableToWrites = new LinkedHashMap<>();
+			partition.forEach(e -> tableToWrites.computeIfAbsent(e.getKey(), TableWriteItems::new)
+					.addItemToPut(e.getValue()));
+
+			var outcome = dynamoDb.get().batchWriteItem(tableToWrites.values().toArray(TableWriteItems[]::new));
+			var unprocessed = outcome.getUnprocessedItems();
+
+			var attempt = 1;
+			while (!unprocessed.isEmpty()) {
+				if (attempt >= MAX_ATTEMPTS) {
+					throw new IllegalStateException("Not able to write " + countItems(unprocessed)
+							+ " items after "
+							+ attempt
+							+ " attempts");
+				}
+
+				// DynamoDB advises an exponential backoff on unprocessed items
+				sleepBeforeRetry(attempt);
+				attempt++;
+
+				LOGGER.info("Retry writing {} unprocessed items", countItems(unprocessed));
+				unprocessed = dynamoDb.get().batchWriteItemUnprocessed(unprocessed).getUnprocessedItems();
+			}
+		}
+	}
+
+	/**
+	 * 
+	 * @param items
+	 * @return the last item for each (table, primary key)
+	 */
+	protected List<Map.Entry<String, Item>> deduplicate(List<Map.Entry<String, Item>> items) {
+		Map<Map.Entry<String, String>, Map.Entry<String, Item>> keyToItem = new LinkedHashMap<>();
+
+		items.forEach(e -> {
+			var key = Map.entry(e.getKey(), SaveToDynamoDb.getPrimaryKey(e.getValue()));
+
+			// Remove then put, so the written item keeps the position of the last write
+			if (keyToItem.remove(key) != null) {
+				LOGGER.info("Overwrite a buffered item for table={} primaryKey={}", key.getKey(), key.getValue());
+			}
+			keyToItem.put(key, e);
+		});
+
+		return new ArrayList<>(keyToItem.values());
+	}
+
+	private static int countItems(Map<String, List<WriteRequest>> unprocessed) {
+		return unprocessed.values().stream().mapToInt(List::size).sum();
+	}
+
+	protected void sleepBeforeRetry(int attempt) {
+		try {
+			TimeUnit.MILLISECONDS.sleep(100L << attempt);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while writing into DynamoDB", e);
+		}
+	}
+}
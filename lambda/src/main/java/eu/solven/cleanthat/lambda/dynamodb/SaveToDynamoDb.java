@@ -19,10 +19,12 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClient;
@@ -45,6 +47,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SaveToDynamoDb {
 
+	public static final String KEY_ENDPOINT = "cleanthat.dynamodb.endpoint";
+
+	public static final String KEY_TABLE_WEBHOOKS = "cleanthat.dynamodb.table.webhooks";
+	public static final String DEFAULT_TABLE_WEBHOOKS = "cleanthat_webhooks_github";
+
+	public static final String KEY_TABLE_ACCEPTED_EVENTS = "cleanthat.dynamodb.table.accepted_events";
+	public static final String DEFAULT_TABLE_ACCEPTED_EVENTS = "cleanthat_accepted_events";
+
+	public static final String KEY_TABLE_REFS_HEADS = "cleanthat.dynamodb.table.refs_heads";
+
 	protected SaveToDynamoDb() {
 		// hidden
 	}
@@ -68,15 +80,40 @@ public class SaveToDynamoDb {
 	}
 
 	public static AmazonDynamoDB makeDynamoDbClient(AWSCredentialsProvider defaultCredentials) {
-		AmazonDynamoDB client = AmazonDynamoDBClient.builder()
-				// The region is meaningless for local DynamoDb but required for client builder validation
-				.withRegion(Regions.US_EAST_1)
-				.withCredentials(defaultCredentials)
-				.build();
-		return client;
+		return makeDynamoDbClient(defaultCredentials, Optional.empty());
+	}
+
+	/**
+	 * 
+	 * @param defaultCredentials
+	 * @param optEndpoint
+	 *            an endpoint overriding the AWS one, e.g. 'http://localhost:8000' for DynamoDB Local
+	 * @return a {@link AmazonDynamoDB}, which is thread-safe and should be re-used
+	 */
+	public static AmazonDynamoDB makeDynamoDbClient(AWSCredentialsProvider defaultCredentials,
+			Optional<String> optEndpoint) {
+		var builder = AmazonDynamoDBClient.builder().withCredentials(defaultCredentials);
+
+		if (optEndpoint.isPresent()) {
+			LOGGER.info("DynamoDB endpoint: {}", optEndpoint.get());
+			builder.withEndpointConfiguration(
+					new EndpointConfiguration(optEndpoint.get(), Regions.US_EAST_1.getName()));
+		} else {
+			// The region is meaningless for local DynamoDb but required for client builder validation
+			builder.withRegion(Regions.US_EAST_1);
+		}
+
+		return builder.build();
 	}
 
 	public static String saveToDynamoDb(String table, IWebhookEvent input, AmazonDynamoDB client) {
+		DynamoDB dynamodb = new DynamoDB(client);
+		Table myTable = dynamodb.getTable(table);
+
+		return putItem(myTable, prepareItem(input));
+	}
+
+	public static Item prepareItem(IWebhookEvent input) {
 		// We re-use the same xGitHubDelivery for the different steps (checkEvent, checkConfig, executeClean)
 		String primaryKey =
 				PepperMapHelper.getOptionalString(input.getHeaders(), GithubWebhookEvent.X_GIT_HUB_DELIVERY)
@@ -93,22 +130,27 @@ public class SaveToDynamoDb {
 
 								));
 
-		LOGGER.info("Save something into DynamoDB table={} primaryKey={}", table, primaryKey);
-
-		DynamoDB dynamodb = new DynamoDB(client);
-		Table myTable = dynamodb.getTable(table);
 		// https://stackoverflow.com/questions/31813868/aws-dynamodb-on-android-inserting-json-directly
-
 		Map<String, Object> inputAsMap = preparePayloadAsMap(input, primaryKey);
 
-		PutItemOutcome outcome = myTable.putItem(Item.fromMap(Collections.unmodifiableMap(inputAsMap)));
+		return Item.fromMap(Collections.unmodifiableMap(inputAsMap));
+	}
+
+	public static String getPrimaryKey(Item item) {
+		return item.getString(GithubWebhookEvent.X_GIT_HUB_DELIVERY);
+	}
+
+	public static String putItem(Table table, Item item) {
+		var primaryKey = getPrimaryKey(item);
+		LOGGER.info("Save something into DynamoDB table={} primaryKey={}", table.getTableName(), primaryKey);
+
+		PutItemOutcome outcome = table.putItem(item);
 		LOGGER.info("PUT metadata for table={} primaryKey={}: {}",
-				table,
+				table.getTableName(),
 				primaryKey,
 				outcome.getPutItemResult().getSdkHttpMetadata().getHttpStatusCode());
 
 		return primaryKey;
-
 	}
 
 	private static Map<String, Object> preparePayloadAsMap(IWebhookEvent input, String primaryKey) {
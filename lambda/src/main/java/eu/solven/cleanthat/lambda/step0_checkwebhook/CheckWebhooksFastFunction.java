@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.step0_checkwebhook;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.seratch.jslack.Slack;
+
+import eu.solven.cleanthat.code_provider.github.event.GithubNoApiWebhookHandler;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.lambda.AWebhooksLambdaFunction;
+import eu.solven.cleanthat.lambda.AwsRecordsHelpers;
+import eu.solven.cleanthat.lambda.LambdaBatchExecutor;
+import eu.solven.cleanthat.lambda.LambdaBatchExecutor.BatchRecord;
+import eu.solven.cleanthat.lambda.dynamodb.DynamoDbEventWriter;
+import eu.solven.cleanthat.lambda.dynamodb.SaveToDynamoDb;
+import eu.solven.pepper.collection.PepperMapHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A drop-in replacement for {@link CheckWebhooksLambdaFunction}, with the same `Function<Map,Map>` contract, but
+ * without a Spring context: it wires only the payload filter and the DynamoDB client. There is no classpath scanning
+ * and no auto-configuration, so the cold-start is much faster, and the loaded classes are the same from one start to
+ * another (which enables starting from an AppCDS archive, see {@link #main(String[])}).
+ * 
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class CheckWebhooksFastFunction implements Function<Map<String, ?>, Map<String, ?>> {
+	final ObjectMapper objectMapper;
+	final CheckWebhooksProcessor processor;
+	final DynamoDbEventWriter eventWriter;
+	final LambdaBatchExecutor batchExecutor;
+	final long timeoutMs;
+
+	public CheckWebhooksFastFunction(ObjectMapper objectMapper,
+			CheckWebhooksProcessor processor,
+			DynamoDbEventWriter eventWriter,
+			LambdaBatchExecutor batchExecutor,
+			long timeoutMs) {
+		this.objectMapper = objectMapper;
+		this.processor = processor;
+		this.eventWriter = eventWriter;
+		this.batchExecutor = batchExecutor;
+		this.timeoutMs = timeoutMs;
+	}
+
+	/**
+	 * 
+	 * @param env
+	 *            typically a {@link StandardEnvironment}, reading the system properties and the environment variables
+	 * @return a {@link CheckWebhooksFastFunction} configured with the same properties as
+	 *         {@link CheckWebhooksLambdaFunction}
+	 */
+	public static CheckWebhooksFastFunction fromEnvironment(Environment env) {
+		var objectMapper = new ObjectMapper();
+
+		var optEndpoint = Optional.ofNullable(env.getProperty(SaveToDynamoDb.KEY_ENDPOINT));
+		var client =
+				SaveToDynamoDb.makeDynamoDbClient(DefaultAWSCredentialsProviderChain.getInstance(), optEndpoint);
+		var eventWriter = new DynamoDbEventWriter(() -> client);
+
+		var relevancyFilter = new GithubNoApiWebhookHandler(List.of(objectMapper));
+		var table = env.getProperty(SaveToDynamoDb.KEY_TABLE_WEBHOOKS, SaveToDynamoDb.DEFAULT_TABLE_WEBHOOKS);
+		var processor = new CheckWebhooksProcessor(relevancyFilter::filterWebhookEventRelevant,
+				marketplaceEvent -> MarketPlaceEventManager
+						.handleMarketplaceEvent(env, Slack.getInstance(), marketplaceEvent),
+				eventWriter,
+				table);
+
+		var maxConcurrency = env.getProperty(AWebhooksLambdaFunction.KEY_BATCH_MAX_CONCURRENCY,
+				Integer.class,
+				LambdaBatchExecutor.DEFAULT_MAX_CONCURRENCY);
+		var timeoutSeconds = env.getProperty(AWebhooksLambdaFunction.KEY_LAMBDA_TIMEOUT_SECONDS,
+				Long.class,
+				AWebhooksLambdaFunction.DEFAULT_LAMBDA_TIMEOUT_SECONDS);
+
+		return new CheckWebhooksFastFunction(objectMapper,
+				processor,
+				eventWriter,
+				new LambdaBatchExecutor(maxConcurrency),
+				TimeUnit.SECONDS.toMillis(timeoutSeconds));
+	}
+
+	@Override
+	public Map<String, ?> apply(Map<String, ?> input) {
+		return apply(input, AwsRecordsHelpers.computeDeadline(timeoutMs));
+	}
+
+	/**
+	 * 
+	 * @param input
+	 *            a batch of SQS records, or a Github webhook payload
+	 * @param deadlineEpochMs
+	 *            the records not processed before this deadline are reported as failures
+	 * @return the same output as {@link CheckWebhooksLambdaFunction}
+	 */
+	public Map<String, ?> apply(Map<String, ?> input, long deadlineEpochMs) {
+		Map<String, ?> functionOutput;
+		if (input.containsKey(AwsRecordsHelpers.KEY_RECORDS)) {
+			Collection<Map<String, ?>> records = PepperMapHelper.getRequiredAs(input, AwsRecordsHelpers.KEY_RECORDS);
+			LOGGER.info("About to process a batch of {} events from AWS", records.size());
+
+			// Each webhook is processed independently: there is no need to group them
+			List<BatchRecord> batch = records.stream().map(r -> {
+				var itemIdentifier = AwsRecordsHelpers.getItemIdentifier(r);
+				return new BatchRecord(itemIdentifier, itemIdentifier, () -> processRecord(r));
+			}).collect(Collectors.toList());
+
+			functionOutput = eventWriter.writeAfter(() -> batchExecutor.execute(batch, deadlineEpochMs));
+		} else {
+			functionOutput = processor.process(wrapAsEvent(input));
+		}
+		LOGGER.info("Output: {}", functionOutput);
+		return functionOutput;
+	}
+
+	protected Map<String, ?> processRecord(Map<String, ?> r) {
+		var asMap = AwsRecordsHelpers.parseSqsEvent(objectMapper, r);
+		if (asMap.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		return processor.process(wrapAsEvent(asMap));
+	}
+
+	protected GithubWebhookEvent wrapAsEvent(Map<String, ?> input) {
+		return GithubWebhookEvent.fromCleanThatEvent(AwsRecordsHelpers.wrapAsEvent(input));
+	}
+
+	/**
+	 * A training run, e.g. to record an AppCDS archive: `java -XX:ArchiveClassesAtExit=step0.jsa -cp ...
+	 * CheckWebhooksFastFunction`. It processes an irrelevant webhook, hence it does not write into DynamoDB.
+	 * 
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		var function = fromEnvironment(new StandardEnvironment());
+
+		Map<String, ?> irrelevantWebhook = Map.of("installation", Map.of("id", 0), "action", "completed");
+		String body;
+		try {
+			body = function.objectMapper.writeValueAsString(irrelevantWebhook);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		function.apply(Map.of(AwsRecordsHelpers.KEY_RECORDS, List.of(Map.of("messageId", "training", "body", body))));
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.step0_checkwebhook;
+
+import java.util.Map;
+
+import org.springframework.core.env.StandardEnvironment;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+
+import eu.solven.cleanthat.lambda.AwsRecordsHelpers;
+
+/**
+ * The AWS Lambda handler for {@link CheckWebhooksFastFunction}, a lighter alternative to {@link CheckWebhooksHandler}.
+ * 
+ * @author Benoit Lacelle
+ */
+public class CheckWebhooksFastHandler implements RequestHandler<Map<String, Object>, Map<String, ?>> {
+	// Built during the Lambda initialization phase, and re-used by all invocations
+	private static final CheckWebhooksFastFunction FUNCTION =
+			CheckWebhooksFastFunction.fromEnvironment(new StandardEnvironment());
+
+	@Override
+	public Map<String, ?> handleRequest(Map<String, Object> input, Context context) {
+		// The Context provides the actual remaining time, while CheckWebhooksFastFunction.apply would rely on the
+		// configured timeout
+		return FUNCTION.apply(input, AwsRecordsHelpers.computeDeadline(context.getRemainingTimeInMillis()));
+	}
+}
@@ -17,23 +17,18 @@ package eu.solven.cleanthat.lambda.step0_checkwebhook;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
 
 import org.springframework.boot.SpringApplication;
 
-import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.github.seratch.jslack.Slack;
 
 import eu.solven.cleanthat.code_provider.github.event.IGitWebhookHandler;
 import eu.solven.cleanthat.code_provider.github.event.IGitWebhookHandlerFactory;
-import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
 import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
 import eu.solven.cleanthat.codeprovider.git.GitWebhookRelevancyResult;
 import eu.solven.cleanthat.lambda.AWebhooksLambdaFunction;
 import eu.solven.cleanthat.lambda.dynamodb.SaveToDynamoDb;
-import eu.solven.pepper.collection.PepperMapHelper;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -42,6 +37,8 @@ import lombok.extern.slf4j.Slf4j;
  * This first step should not depends at all on the CodeProvider API (i.e. it works without having to authenticate
  * ourselves at all). We just analyse the webhook content to filter out what's irrelevant.
  * 
+ * {@link CheckWebhooksFastFunction} is a lighter alternative, as it does not start a Spring context.
+ * 
  * @author Benoit Lacelle
  *
  */
@@ -53,21 +50,21 @@ public class CheckWebhooksLambdaFunction extends AWebhooksLambdaFunction {
 		SpringApplication.run(CheckWebhooksLambdaFunction.class, args);
 	}
 
-	@SuppressWarnings("PMD.CloseResource")
 	@Override
 	protected Map<String, ?> unsafeProcessOneEvent(IWebhookEvent input) {
 		GithubWebhookEvent githubEvent = (GithubWebhookEvent) input;
 
-		Optional<Map<String, ?>> optMarketplacePurchase =
-				PepperMapHelper.getOptionalAs(githubEvent.getBody(), "marketplace_purchase");
-		if (optMarketplacePurchase.isPresent()) {
-			Slack slack = getSlack();
+		var table = getTableName(SaveToDynamoDb.KEY_TABLE_WEBHOOKS, SaveToDynamoDb.DEFAULT_TABLE_WEBHOOKS);
+		var processor = new CheckWebhooksProcessor(this::filterWebhookEventRelevant,
+				marketplaceEvent -> MarketPlaceEventManager
+						.handleMarketplaceEvent(getAppContext().getEnvironment(), getSlack(), marketplaceEvent),
+				getEventWriter(),
+				table);
 
-			MarketPlaceEventManager
-					.handleMarketplaceEvent(getAppContext().getEnvironment(), slack, githubEvent.getBody());
-			return Map.of("event_type", "marketplace_purchase");
-		}
+		return processor.process(githubEvent);
+	}
 
+	private GitWebhookRelevancyResult filterWebhookEventRelevant(I3rdPartyWebhookEvent githubEvent) {
 		IGitWebhookHandlerFactory githubFactory = getAppContext().getBean(IGitWebhookHandlerFactory.class);
 
 		// TODO Cache the Github instance for the JWT duration
@@ -78,30 +75,7 @@ public class CheckWebhooksLambdaFunction extends AWebhooksLambdaFunction {
 			throw new UncheckedIOException(e);
 		}
 
-		GitWebhookRelevancyResult processAnswer = makeWithFreshJwt.filterWebhookEventRelevant(githubEvent);
-
-		if (!processAnswer.isReviewRequestOpen() && !processAnswer.isPushRef()) {
-			LOGGER.info("Neither a PR-open event, nor a push-branch event");
-			return Map.of("status", "rejected as neither RR not push");
-			// TODO Unclear what we want to do with ref-creation: clean-all or clean-nothing
-			// } else if (processAnswer.optBaseRef().isEmpty()) {
-			// LOGGER.info("No base. Seemingly a ref-creation. Skip not to fully-process new-ref");
-			// return Map.of("status", "rejected as neither RR not push");
-		} else {
-			AmazonDynamoDB client = SaveToDynamoDb.makeDynamoDbClient();
-
-			Map<String, Object> acceptedEvent = new LinkedHashMap<>();
-
-			// We may add details from processAnswer
-			acceptedEvent.put(GithubWebhookEvent.KEY_HEADERS, githubEvent.getHeaders());
-			acceptedEvent.put(GithubWebhookEvent.KEY_BODY, githubEvent.getBody());
-
-			SaveToDynamoDb.saveToDynamoDb("cleanthat_webhooks_github",
-					new CleanThatWebhookEvent(githubEvent.getHeaders(), acceptedEvent),
-					client);
-			return Map.of("status", "Recorded in DB for further processing");
-		}
-
+		return makeWithFreshJwt.filterWebhookEventRelevant(githubEvent);
 	}
 
 	@SuppressWarnings("PMD.CloseResource")
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.step0_checkwebhook;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.codeprovider.git.GitWebhookRelevancyResult;
+import eu.solven.cleanthat.lambda.dynamodb.DynamoDbEventWriter;
+import eu.solven.pepper.collection.PepperMapHelper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The logic of the first step: it filters the relevant webhooks, based on their content only, and persists them for the
+ * next step. It does not depend on Spring, so it can be used by {@link CheckWebhooksFastFunction}.
+ * 
+ * @author Benoit Lacelle
+ */
+@Slf4j
+public class CheckWebhooksProcessor {
+	final Function<I3rdPartyWebhookEvent, GitWebhookRelevancyResult> relevancyFilter;
+	final Consumer<Map<String, ?>> onMarketplaceEvent;
+	final DynamoDbEventWriter eventWriter;
+	final String table;
+
+	/**
+	 * 
+	 * @param relevancyFilter
+	 *            typically GithubNoApiWebhookHandler.filterWebhookEventRelevant
+	 * @param onMarketplaceEvent
+	 * @param eventWriter
+	 * @param table
+	 *            the table receiving the relevant events
+	 */
+	public CheckWebhooksProcessor(Function<I3rdPartyWebhookEvent, GitWebhookRelevancyResult> relevancyFilter,
+			Consumer<Map<String, ?>> onMarketplaceEvent,
+			DynamoDbEventWriter eventWriter,
+			String table) {
+		this.relevancyFilter = relevancyFilter;
+		this.onMarketplaceEvent = onMarketplaceEvent;
+		this.eventWriter = eventWriter;
+		this.table = table;
+	}
+
+	public Map<String, ?> process(GithubWebhookEvent githubEvent) {
+		Optional<Map<String, ?>> optMarketplacePurchase =
+				PepperMapHelper.getOptionalAs(githubEvent.getBody(), "marketplace_purchase");
+		if (optMarketplacePurchase.isPresent()) {
+			onMarketplaceEvent.accept(githubEvent.getBody());
+			return Map.of("event_type", "marketplace_purchase");
+		}
+
+		GitWebhookRelevancyResult processAnswer = relevancyFilter.apply(githubEvent);
+
+		if (!processAnswer.isReviewRequestOpen() && !processAnswer.isPushRef()) {
+			LOGGER.info("Neither a PR-open event, nor a push-branch event");
+			return Map.of("status", "rejected as neither RR not push");
+			// TODO Unclear what we want to do with ref-creation: clean-all or clean-nothing
+			// } else if (processAnswer.optBaseRef().isEmpty()) {
+			// LOGGER.info("No base. Seemingly a ref-creation. Skip not to fully-process new-ref");
+			// return Map.of("status", "rejected as neither RR not push");
+		} else {
+			Map<String, Object> acceptedEvent = new LinkedHashMap<>();
+
+			// We may add details from processAnswer
+			acceptedEvent.put(GithubWebhookEvent.KEY_HEADERS, githubEvent.getHeaders());
+			acceptedEvent.put(GithubWebhookEvent.KEY_BODY, githubEvent.getBody());
+
+			eventWriter.write(table, new CleanThatWebhookEvent(githubEvent.getHeaders(), acceptedEvent));
+			return Map.of("status", "Recorded in DB for further processing");
+		}
+	}
+}
@@ -22,7 +22,6 @@ import java.util.Map;
 
 import org.springframework.context.ApplicationContext;
 
-import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import eu.solven.cleanthat.code_provider.github.event.CompositeCodeCleanerFactory;
@@ -45,10 +44,6 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CheckConfigWebhooksLambdaFunction extends AWebhooksLambdaFunction {
 
-	public AmazonDynamoDB makeDynamoDbClient() {
-		return SaveToDynamoDb.makeDynamoDbClient();
-	}
-
 	@Override
 	protected Map<String, ?> unsafeProcessOneEvent(IWebhookEvent input) {
 		IGitWebhookHandler makeWithFreshJwt = extracted(getAppContext());
@@ -58,19 +53,20 @@ public class CheckConfigWebhooksLambdaFunction extends AWebhooksLambdaFunction {
 		var processAnswer = makeWithFreshJwt.filterWebhookEventTargetRelevantBranch(cleanerFactory, input);
 
 		if (processAnswer.optHeadToClean().isPresent()) {
-			AmazonDynamoDB client = makeDynamoDbClient();
+			var headToClean = processAnswer.optHeadToClean().get();
 
-			Map<String, Object> acceptedEvent = new LinkedHashMap<>(input.getBody());
+			// Registered before persisting the event, so the cleaning of previous heads of this ref can be skipped
+			makeEventCoalescer().registerHead(headToClean, processAnswer.optBaseForHead());
 
-			var headToClean = processAnswer.optHeadToClean().get();
+			Map<String, Object> acceptedEvent = new LinkedHashMap<>(input.getBody());
 
 			ObjectMapper objectMapper = getAppContext().getBean(ObjectMapper.class);
 			acceptedEvent.put(WebhookRelevancyResult.KEY_HEAD_TO_CLEAN,
 					objectMapper.convertValue(headToClean, Map.class));
 
-			SaveToDynamoDb.saveToDynamoDb("cleanthat_accepted_events",
-					new CleanThatWebhookEvent(input.getHeaders(), acceptedEvent),
-					client);
+			var table = getTableName(SaveToDynamoDb.KEY_TABLE_ACCEPTED_EVENTS,
+					SaveToDynamoDb.DEFAULT_TABLE_ACCEPTED_EVENTS);
+			getEventWriter().write(table, new CleanThatWebhookEvent(input.getHeaders(), acceptedEvent));
 		} else {
 			LOGGER.info("Rejected due to: {}", processAnswer.optRejectedReason().get());
 		}
@@ -15,31 +15,116 @@
  */
 package eu.solven.cleanthat.lambda.step2_executeclean;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import eu.solven.cleanthat.code_provider.github.event.CompositeCodeCleanerFactory;
 import eu.solven.cleanthat.code_provider.github.event.ICodeCleanerFactory;
 import eu.solven.cleanthat.code_provider.github.event.IGitWebhookHandler;
+import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.WebhookRelevancyResult;
+import eu.solven.cleanthat.codeprovider.git.GitRepoBranchSha1;
 import eu.solven.cleanthat.lambda.AWebhooksLambdaFunction;
 import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
 import eu.solven.cleanthat.lambda.step1_checkconfiguration.CheckConfigWebhooksLambdaFunction;
+import eu.solven.pepper.collection.PepperMapHelper;
+import lombok.extern.slf4j.Slf4j;
 
 /**
- * Used to actually execute the cleaning
+ * Used to actually execute the cleaning. The events superseded by a later head of the same ref are skipped: the
+ * cleaning of the later head starts from the base of the skipped events.
  * 
  * @author Benoit Lacelle
  *
  */
+@Slf4j
 public class ExecuteCleaningWebhooksLambdaFunction extends AWebhooksLambdaFunction {
 
 	@Override
 	protected Map<String, ?> unsafeProcessOneEvent(IWebhookEvent input) {
+		var eventToClean = input;
+
+		var optHeadToClean = optHeadToClean(input);
+		if (optHeadToClean.isPresent()) {
+			var eventCoalescer = makeEventCoalescer();
+
+			var optSupersedingSha = eventCoalescer.optSupersedingSha(optHeadToClean.get());
+			if (optSupersedingSha.isPresent()) {
+				LOGGER.info("Skip cleaning {} as superseded by sha={}", optHeadToClean.get(), optSupersedingSha.get());
+				return Map.of("status", "skipped as superseded", "supersedingSha", optSupersedingSha.get());
+			}
+
+			var optCoveredBaseSha = eventCoalescer.optCoveredBaseSha(optHeadToClean.get());
+			if (optCoveredBaseSha.isPresent()) {
+				eventToClean = widenPushBase(input, optCoveredBaseSha.get());
+			}
+		}
+
 		IGitWebhookHandler makeWithFreshJwt = CheckConfigWebhooksLambdaFunction.extracted(getAppContext());
 		ICodeCleanerFactory cleanerFactory = getAppContext().getBean(CompositeCodeCleanerFactory.class);
 
-		makeWithFreshJwt.doExecuteClean(cleanerFactory, input);
+		makeWithFreshJwt.doExecuteClean(cleanerFactory, eventToClean);
 
 		return Map.of("whatever", "done");
 	}
 
+	/**
+	 * 
+	 * @param input
+	 * @param baseSha
+	 *            the oldest base of the pushes superseded by given event
+	 * @return an event equivalent to given push event, but pushed from given base. The cleaning of a push is limited to
+	 *         the diff from `before`.
+	 */
+	protected IWebhookEvent widenPushBase(IWebhookEvent input, String baseSha) {
+		Map<String, Object> cleanthatBody = new LinkedHashMap<>(input.getBody());
+
+		// The payload may be wrapped in a legacy `github` entry (see GithubWebhookEvent.fromCleanThatEvent)
+		Map<String, Object> githubBodyAndHeaders;
+		if (cleanthatBody.containsKey(GithubWebhookEvent.KEY_GITHUB)) {
+			githubBodyAndHeaders =
+					new LinkedHashMap<>(PepperMapHelper.getRequiredMap(cleanthatBody, GithubWebhookEvent.KEY_GITHUB));
+			cleanthatBody.put(GithubWebhookEvent.KEY_GITHUB, githubBodyAndHeaders);
+		} else {
+			githubBodyAndHeaders = cleanthatBody;
+		}
+
+		Map<String, Object> githubBody =
+				new LinkedHashMap<>(PepperMapHelper.getRequiredMap(githubBodyAndHeaders, GithubWebhookEvent.KEY_BODY));
+		if (!githubBody.containsKey("before")) {
+			LOGGER.warn("Not a push event: the base can not be widened to {}", baseSha);
+			return input;
+		} else if (baseSha.equals(githubBody.get("before"))) {
+			return input;
+		}
+
+		LOGGER.info("The base of {} is widened from {} to {}",
+				githubBody.get("after"),
+				githubBody.get("before"),
+				baseSha);
+		githubBody.put("before", baseSha);
+		// The base is then given by `before`, even if it marks a whole-ref cleaning (see GithubNoApiWebhookHandler)
+		githubBody.put("created", false);
+		githubBody.put("forced", false);
+		githubBodyAndHeaders.put(GithubWebhookEvent.KEY_BODY, githubBody);
+
+		return new CleanThatWebhookEvent(input.getHeaders(), cleanthatBody);
+	}
+
+	/**
+	 * 
+	 * @param input
+	 * @return the head to clean, as registered by {@link CheckConfigWebhooksLambdaFunction}
+	 */
+	protected Optional<GitRepoBranchSha1> optHeadToClean(IWebhookEvent input) {
+		Optional<Map<String, ?>> optHeadToClean =
+				PepperMapHelper.getOptionalAs(input.getBody(), WebhookRelevancyResult.KEY_HEAD_TO_CLEAN);
+
+		return optHeadToClean.map(headToClean -> new GitRepoBranchSha1(
+				PepperMapHelper.getRequiredString(headToClean, "repoFullName"),
+				PepperMapHelper.getRequiredString(headToClean, "ref"),
+				PepperMapHelper.getRequiredString(headToClean, "sha")));
+	}
 }
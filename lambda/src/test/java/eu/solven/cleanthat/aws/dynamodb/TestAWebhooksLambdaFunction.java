@@ -16,6 +16,7 @@
 package eu.solven.cleanthat.aws.dynamodb;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +36,7 @@ import eu.solven.cleanthat.aws.dynamodb.TestAWebhooksLambdaFunction.ForTestsWebh
 import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
 import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
 import eu.solven.cleanthat.lambda.AWebhooksLambdaFunction;
+import eu.solven.cleanthat.lambda.LambdaBatchExecutor;
 import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
 
 @RunWith(SpringRunner.class)
@@ -61,7 +63,8 @@ public class TestAWebhooksLambdaFunction {
 
 		Map<String, ?> output = lambdaFunction.ingressRawWebhook().apply(rawEvent);
 
-		Assertions.assertThat(output).hasSize(1);
+		Assertions.assertThat(output).hasSize(2);
+		Assertions.assertThat((List<?>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES)).isEmpty();
 		List<?> events = (List<?>) output.get("sqs");
 		Assertions.assertThat(events).hasSize(1);
 
@@ -80,7 +83,8 @@ public class TestAWebhooksLambdaFunction {
 
 		Map<String, ?> output = lambdaFunction.ingressRawWebhook().apply(rawEvent);
 
-		Assertions.assertThat(output).hasSize(1);
+		Assertions.assertThat(output).hasSize(2);
+		Assertions.assertThat((List<?>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES)).isEmpty();
 		List<?> events = (List<?>) output.get("sqs");
 		Assertions.assertThat(events).hasSize(1);
 
@@ -101,7 +105,8 @@ public class TestAWebhooksLambdaFunction {
 
 		Map<String, ?> output = lambdaFunction.ingressRawWebhook().apply(rawEvent);
 
-		Assertions.assertThat(output).hasSize(1);
+		Assertions.assertThat(output).hasSize(2);
+		Assertions.assertThat((List<?>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES)).isEmpty();
 		List<?> events = (List<?>) output.get("sqs");
 		Assertions.assertThat(events).hasSize(1);
 
@@ -112,4 +117,22 @@ public class TestAWebhooksLambdaFunction {
 		GithubWebhookEvent githubEvent = GithubWebhookEvent.fromCleanThatEvent(inputEvent);
 		Assertions.assertThat(githubEvent.getxGithubDelivery()).startsWith("random-");
 	}
+
+	@Test
+	public void testOnSqsEvent_partialFailure() throws JsonParseException, JsonMappingException, IOException {
+		Map<String, ?> rawEvent = objectMapper
+				.readValue(new ClassPathResource("/examples/lambda/sqs_event.json").getInputStream(), Map.class);
+
+		Map<String, Object> okRecord = (Map<String, Object>) ((List<?>) rawEvent.get("Records")).get(0);
+		Map<String, Object> koRecord = new HashMap<>(okRecord);
+		koRecord.put("messageId", "someFailingMessageId");
+		koRecord.remove("body");
+
+		Map<String, ?> output =
+				lambdaFunction.ingressRawWebhook().apply(Map.of("Records", List.of(okRecord, koRecord)));
+
+		Assertions.assertThat((List<?>) output.get("sqs")).hasSize(1);
+		Assertions.assertThat((List<Object>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES))
+				.containsExactly(Map.of(LambdaBatchExecutor.KEY_ITEM_IDENTIFIER, "someFailingMessageId"));
+	}
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.aws.dynamodb;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+
+import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.lambda.dynamodb.DynamoDbEventWriter;
+
+public class TestDynamoDbEventWriter {
+	final AmazonDynamoDB client = Mockito.mock(AmazonDynamoDB.class);
+
+	final DynamoDbEventWriter writer = new DynamoDbEventWriter(() -> client) {
+		@Override
+		protected void sleepBeforeRetry(int attempt) {
+			// Do not slow the tests
+		}
+	};
+
+	private CleanThatWebhookEvent makeEvent(int i) {
+		return new CleanThatWebhookEvent(Map.of(GithubWebhookEvent.X_GIT_HUB_DELIVERY, "someKey-" + i), Map.of());
+	}
+
+	@Test
+	public void testWrite_notBuffering() {
+		Mockito.when(client.putItem(Mockito.any(PutItemRequest.class)))
+				.thenReturn(Mockito.mock(PutItemResult.class, Mockito.RETURNS_DEEP_STUBS));
+
+		Assertions.assertThat(writer.write("someTable", makeEvent(0))).isEqualTo("someKey-0");
+
+		Mockito.verify(client).putItem(Mockito.any(PutItemRequest.class));
+		Mockito.verify(client, Mockito.never()).batchWriteItem(Mockito.any(BatchWriteItemRequest.class));
+	}
+
+	@Test
+	public void testWriteAfter_batches() {
+		Mockito.when(client.batchWriteItem(Mockito.any(BatchWriteItemRequest.class)))
+				.thenReturn(new BatchWriteItemResult().withUnprocessedItems(Map.of()));
+
+		var output = writer.writeAfter(() -> {
+			IntStream.range(0, 30).forEach(i -> writer.write("someTable", makeEvent(i)));
+			return "someOutput";
+		});
+
+		Assertions.assertThat(output).isEqualTo("someOutput");
+		// 30 items: 25 + 5
+		Mockito.verify(client, Mockito.times(2)).batchWriteItem(Mockito.any(BatchWriteItemRequest.class));
+		Mockito.verify(client, Mockito.never()).putItem(Mockito.any(PutItemRequest.class));
+	}
+
+	@Test
+	public void testWriteAfter_duplicatedDelivery() {
+		Mockito.when(client.batchWriteItem(Mockito.any(BatchWriteItemRequest.class)))
+				.thenReturn(new BatchWriteItemResult().withUnprocessedItems(Map.of()));
+
+		writer.writeAfter(() -> {
+			writer.write("someTable", makeEvent(0));
+			writer.write("otherTable", makeEvent(0));
+			writer.write("someTable",
+					new CleanThatWebhookEvent(Map.of(GithubWebhookEvent.X_GIT_HUB_DELIVERY, "someKey-0"),
+							Map.of("someBodyKey", "someBodyValue")));
+			return "someOutput";
+		});
+
+		var captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+		Mockito.verify(client).batchWriteItem(captor.capture());
+
+		var tableToWrites = captor.getValue().getRequestItems();
+		Assertions.assertThat(tableToWrites).containsOnlyKeys("someTable", "otherTable");
+		Assertions.assertThat(tableToWrites.get("otherTable")).hasSize(1);
+
+		// The last write wins
+		var someTableWrites = tableToWrites.get("someTable");
+		Assertions.assertThat(someTableWrites).hasSize(1);
+		Assertions.assertThat(someTableWrites.get(0).getPutRequest().getItem().get(GithubWebhookEvent.KEY_BODY).getM())
+				.containsKey("someBodyKey");
+	}
+
+	@Test
+	public void testWriteAfter_retryUnprocessed() {
+		var unprocessed = Map.of("someTable", List.of(new WriteRequest(new PutRequest(Map.of()))));
+		Mockito.when(client.batchWriteItem(Mockito.any(BatchWriteItemRequest.class)))
+				.thenReturn(new BatchWriteItemResult().withUnprocessedItems(unprocessed))
+				.thenReturn(new BatchWriteItemResult().withUnprocessedItems(Map.of()));
+
+		writer.writeAfter(() -> writer.write("someTable", makeEvent(0)));
+
+		Mockito.verify(client, Mockito.times(2)).batchWriteItem(Mockito.any(BatchWriteItemRequest.class));
+	}
+
+	@Test
+	public void testWriteAfter_tooManyUnprocessed() {
+		var unprocessed = Map.of("someTable", List.of(new WriteRequest(new PutRequest(Map.of()))));
+		Mockito.when(client.batchWriteItem(Mockito.any(BatchWriteItemRequest.class)))
+				.thenReturn(new BatchWriteItemResult().withUnprocessedItems(unprocessed));
+
+		Assertions.assertThatThrownBy(() -> writer.writeAfter(() -> writer.write("someTable", makeEvent(0))))
+				.isInstanceOf(IllegalStateException.class);
+
+		Mockito.verify(client, Mockito.times(DynamoDbEventWriter.MAX_ATTEMPTS))
+				.batchWriteItem(Mockito.any(BatchWriteItemRequest.class));
+	}
+}
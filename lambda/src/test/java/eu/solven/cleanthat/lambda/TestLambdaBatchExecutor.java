@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import eu.solven.cleanthat.lambda.LambdaBatchExecutor.BatchRecord;
+
+public class TestLambdaBatchExecutor {
+	final LambdaBatchExecutor executor = new LambdaBatchExecutor(2);
+
+	final long farDeadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+
+	@Test
+	public void testPartialFailure() {
+		Map<String, ?> output = executor.execute(List.of(new BatchRecord("id1", "repoA", () -> Map.of("k", "v1")),
+				new BatchRecord("id2", "repoA", () -> {
+					throw new IllegalStateException("Some failure");
+				}),
+				// Not processed as a previous record of the same group failed
+				new BatchRecord("id3", "repoA", () -> Map.of("k", "v3")),
+				new BatchRecord("id4", "repoB", () -> Map.of("k", "v4"))), farDeadline);
+
+		Assertions.assertThat((List<Object>) output.get("sqs")).containsExactly(Map.of("k", "v1"), Map.of("k", "v4"));
+		Assertions.assertThat((List<Object>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES))
+				.containsExactly(Map.of(LambdaBatchExecutor.KEY_ITEM_IDENTIFIER, "id2"),
+						Map.of(LambdaBatchExecutor.KEY_ITEM_IDENTIFIER, "id3"));
+	}
+
+	@Test
+	public void testGroupsAreConcurrent() {
+		// Each group waits for the other one: this would never complete if groups were processed sequentially
+		CountDownLatch latch = new CountDownLatch(2);
+
+		Map<String, ?> output = executor.execute(List.of(new BatchRecord("id1", "repoA", () -> {
+			latch.countDown();
+			latch.await();
+			return Map.of("k", "v1");
+		}), new BatchRecord("id2", "repoB", () -> {
+			latch.countDown();
+			latch.await();
+			return Map.of("k", "v2");
+		})), farDeadline);
+
+		Assertions.assertThat((List<Object>) output.get("sqs")).hasSize(2);
+		Assertions.assertThat((List<Object>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES)).isEmpty();
+	}
+
+	@Test
+	public void testDeadline() {
+		var deadline = System.currentTimeMillis() + TimeUnit.MILLISECONDS.toMillis(200);
+
+		Map<String, ?> output = executor.execute(List.of(new BatchRecord("id1", "repoA", () -> {
+			// Still running at the deadline: it is awaited, as it may commit anyway
+			Thread.sleep(TimeUnit.MILLISECONDS.toMillis(400));
+			return Map.of("k", "v1");
+		}), new BatchRecord("id2", "repoA", () -> Map.of("k", "v2")), new BatchRecord("id3", "repoB", Map::of)),
+				deadline);
+
+		Assertions.assertThat((List<Object>) output.get("sqs")).containsExactly(Map.of("k", "v1"));
+		// Only the record not started before the deadline is redelivered
+		Assertions.assertThat((List<Object>) output.get(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES))
+				.containsExactly(Map.of(LambdaBatchExecutor.KEY_ITEM_IDENTIFIER, "id2"));
+	}
+}
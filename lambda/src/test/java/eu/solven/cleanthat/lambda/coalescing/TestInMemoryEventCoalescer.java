@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.coalescing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import eu.solven.cleanthat.codeprovider.git.GitRepoBranchSha1;
+
+public class TestInMemoryEventCoalescer {
+	final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+
+	final Clock clock = new Clock() {
+		@Override
+		public Instant instant() {
+			return now.get();
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+	};
+
+	final InMemoryEventCoalescer coalescer = new InMemoryEventCoalescer(clock, Duration.ofMinutes(10));
+
+	final GitRepoBranchSha1 base0 = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/someBranch", "sha0");
+	final GitRepoBranchSha1 head1 = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/someBranch", "sha1");
+	final GitRepoBranchSha1 head2 = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/someBranch", "sha2");
+	final GitRepoBranchSha1 otherRef = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/otherBranch", "sha1");
+
+	// Registers a push from given base
+	private void registerPush(GitRepoBranchSha1 base, GitRepoBranchSha1 head) {
+		coalescer.registerHead(head, Optional.of(base));
+	}
+
+	@Test
+	public void testNothingRegistered() {
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).isEmpty();
+	}
+
+	@Test
+	public void testSuperseded() {
+		registerPush(base0, head1);
+		registerPush(head1, head2);
+
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).contains("sha2");
+		Assertions.assertThat(coalescer.optSupersedingSha(head2)).isEmpty();
+
+		// The latest head covers the superseded push
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head2)).contains("sha0");
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head1)).isEmpty();
+
+		// Other refs are not impacted
+		Assertions.assertThat(coalescer.optSupersedingSha(otherRef)).isEmpty();
+	}
+
+	@Test
+	public void testForcePushBackToPreviousHead() {
+		registerPush(base0, head1);
+		registerPush(head1, head2);
+		registerPush(head2, head1);
+
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).isEmpty();
+		Assertions.assertThat(coalescer.optSupersedingSha(head2)).contains("sha1");
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head1)).contains("sha0");
+	}
+
+	@Test
+	public void testOutOfWindow() {
+		registerPush(head1, head2);
+
+		now.set(now.get().plus(Duration.ofMinutes(11)));
+
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).isEmpty();
+
+		// A new window starts from the base of the new head
+		var head3 = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/someBranch", "sha3");
+		registerPush(head2, head3);
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head3)).contains("sha2");
+	}
+
+	@Test
+	public void testOutOfOrder() {
+		// head1 is pushed from base0, then head2 from head1: their events are registered in reverse order
+		registerPush(head1, head2);
+		registerPush(base0, head1);
+
+		// head1 does not follow head2: none is superseded, and each is cleaned from its own base
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).isEmpty();
+		Assertions.assertThat(coalescer.optSupersedingSha(head2)).isEmpty();
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head2)).contains("sha1");
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head1)).isEmpty();
+	}
+
+	@Test
+	public void testOutOfOrder_afterSuperseding() {
+		var head3 = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/someBranch", "sha3");
+
+		// The push head2->head3 is registered before the push head1->head2
+		registerPush(base0, head1);
+		registerPush(head2, head3);
+		registerPush(head1, head2);
+
+		// head2 supersedes head1, while head3 does not follow the latest head when registered: it is cleaned alone
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).contains("sha2");
+		Assertions.assertThat(coalescer.optSupersedingSha(head2)).isEmpty();
+		Assertions.assertThat(coalescer.optSupersedingSha(head3)).isEmpty();
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head2)).contains("sha0");
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head3)).isEmpty();
+	}
+
+	@Test
+	public void testInterleavedRegistrations() {
+		var head3 = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/someBranch", "sha3");
+
+		AtomicReference<Runnable> onFirstLoad = new AtomicReference<>();
+		InMemoryEventCoalescer interleavedCoalescer = new InMemoryEventCoalescer(clock, Duration.ofMinutes(10)) {
+			@Override
+			protected Optional<LatestHead> loadLatestHead(String key) {
+				var loaded = super.loadLatestHead(key);
+				// Another registration happens between our load and our save
+				Optional.ofNullable(onFirstLoad.getAndSet(null)).ifPresent(Runnable::run);
+				return loaded;
+			}
+		};
+
+		interleavedCoalescer.registerHead(head1, Optional.of(base0));
+		// head3 is force-pushed over head2, and both are registered concurrently
+		onFirstLoad.set(() -> interleavedCoalescer.registerHead(head3, Optional.of(head1)));
+		interleavedCoalescer.registerHead(head2, Optional.of(head1));
+
+		// The registration of head2 is retried: it does not follow head3, which remains the latest head
+		Assertions.assertThat(interleavedCoalescer.optSupersedingSha(head1)).contains("sha3");
+		Assertions.assertThat(interleavedCoalescer.optSupersedingSha(head2)).isEmpty();
+		Assertions.assertThat(interleavedCoalescer.optSupersedingSha(head3)).isEmpty();
+		Assertions.assertThat(interleavedCoalescer.optCoveredBaseSha(head3)).contains("sha0");
+	}
+
+	@Test
+	public void testInterleavedRegistrations_noPrevious() {
+		AtomicReference<Runnable> onFirstLoad = new AtomicReference<>();
+		InMemoryEventCoalescer interleavedCoalescer = new InMemoryEventCoalescer(clock, Duration.ofMinutes(10)) {
+			@Override
+			protected Optional<LatestHead> loadLatestHead(String key) {
+				var loaded = super.loadLatestHead(key);
+				Optional.ofNullable(onFirstLoad.getAndSet(null)).ifPresent(Runnable::run);
+				return loaded;
+			}
+		};
+
+		// Both registrations read `no previous head`: the older base must not be dropped
+		onFirstLoad.set(() -> interleavedCoalescer.registerHead(head1, Optional.of(base0)));
+		interleavedCoalescer.registerHead(head2, Optional.of(head1));
+
+		Assertions.assertThat(interleavedCoalescer.optSupersedingSha(head1)).contains("sha2");
+		Assertions.assertThat(interleavedCoalescer.optCoveredBaseSha(head2)).contains("sha0");
+	}
+
+	@Test
+	public void testBaseInOtherRef_notSuperseded() {
+		// e.g. a PR event, whose base is the PR base
+		var prBase = new GitRepoBranchSha1("someOwner/someRepo", "refs/heads/master", "masterSha");
+		coalescer.registerHead(head1, Optional.of(prBase));
+		registerPush(head1, head2);
+
+		// The cleaning of head2 would not cover the PR diff
+		Assertions.assertThat(coalescer.optSupersedingSha(head1)).isEmpty();
+		Assertions.assertThat(coalescer.optCoveredBaseSha(head2)).isEmpty();
+	}
+}
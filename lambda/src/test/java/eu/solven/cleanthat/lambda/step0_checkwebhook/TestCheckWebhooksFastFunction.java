@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.step0_checkwebhook;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import eu.solven.cleanthat.code_provider.github.event.GithubNoApiWebhookHandler;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.lambda.LambdaBatchExecutor;
+import eu.solven.cleanthat.lambda.dynamodb.DynamoDbEventWriter;
+
+@SuppressWarnings("unchecked")
+public class TestCheckWebhooksFastFunction {
+	final ObjectMapper objectMapper = new ObjectMapper();
+	final AmazonDynamoDB client = Mockito.mock(AmazonDynamoDB.class);
+	final DynamoDbEventWriter eventWriter = new DynamoDbEventWriter(() -> client);
+	final AtomicReference<Map<String, ?>> marketplaceEvent = new AtomicReference<>();
+
+	final CheckWebhooksFastFunction function = new CheckWebhooksFastFunction(objectMapper,
+			new CheckWebhooksProcessor(new GithubNoApiWebhookHandler(List.of(objectMapper))::filterWebhookEventRelevant,
+					marketplaceEvent::set,
+					eventWriter,
+					"someTable"),
+			eventWriter,
+			new LambdaBatchExecutor(2),
+			60_000);
+
+	private Map<String, ?> makeRecord(String messageId, Map<String, ?> body) throws JsonProcessingException {
+		return Map.of("messageId", messageId, "body", objectMapper.writeValueAsString(body));
+	}
+
+	@Test
+	public void testApply_irrelevant() {
+		Map<String, Object> output =
+				(Map<String, Object>) function.apply(Map.of("installation", Map.of("id", 0), "action", "completed"));
+
+		Assertions.assertThat(output).containsEntry("status", "rejected as neither RR not push");
+		Mockito.verifyNoInteractions(client);
+	}
+
+	@Test
+	public void testApply_marketplace() {
+		Map<String, ?> input = Map.of("marketplace_purchase", Map.of("account", Map.of("login", "someLogin")));
+		Map<String, Object> output = (Map<String, Object>) function.apply(input);
+
+		Assertions.assertThat(output).containsEntry("event_type", "marketplace_purchase");
+		Assertions.assertThat(marketplaceEvent.get()).isEqualTo(input);
+		Mockito.verifyNoInteractions(client);
+	}
+
+	@Test
+	public void testApply_envelope() {
+		Map<String, ?> githubBody = Map.of("marketplace_purchase", Map.of("account", Map.of("login", "someLogin")));
+
+		// The envelope is completed with the delivery: its maps have to be mutable
+		Map<String, Object> rootBody = new LinkedHashMap<>();
+		rootBody.put(GithubWebhookEvent.KEY_HEADERS, new LinkedHashMap<>());
+		rootBody.put(GithubWebhookEvent.KEY_BODY, githubBody);
+
+		Map<String, Object> input = new LinkedHashMap<>();
+		input.put(GithubWebhookEvent.X_GIT_HUB_DELIVERY, "someDelivery");
+		input.put(GithubWebhookEvent.KEY_HEADERS, new LinkedHashMap<>());
+		input.put(GithubWebhookEvent.KEY_BODY, rootBody);
+
+		Map<String, Object> output = (Map<String, Object>) function.apply(input);
+
+		Assertions.assertThat(output).containsEntry("event_type", "marketplace_purchase");
+		Assertions.assertThat(marketplaceEvent.get()).isEqualTo(githubBody);
+	}
+
+	@Test
+	public void testApply_records() throws JsonProcessingException {
+		Mockito.when(client.batchWriteItem(Mockito.any(BatchWriteItemRequest.class)))
+				.thenReturn(new BatchWriteItemResult().withUnprocessedItems(Map.of()));
+
+		Map<String, ?> input = Map.of("Records",
+				List.of(makeRecord("id0", Map.of("installation", Map.of("id", 0), "action", "completed")),
+						makeRecord("id1", Map.of("installation", Map.of("id", 0), "action", "completed"))));
+		Map<String, Object> output = (Map<String, Object>) function.apply(input);
+
+		Assertions.assertThat(output)
+				.containsEntry(LambdaBatchExecutor.KEY_BATCH_ITEM_FAILURES, List.of())
+				.containsKey("sqs");
+		Assertions.assertThat((List<?>) output.get("sqs")).hasSize(2);
+		Mockito.verify(client, Mockito.never()).putItem(Mockito.any(PutItemRequest.class));
+	}
+}
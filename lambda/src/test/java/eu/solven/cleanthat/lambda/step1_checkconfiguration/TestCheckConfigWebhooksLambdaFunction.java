@@ -18,6 +18,7 @@ package eu.solven.cleanthat.lambda.step1_checkconfiguration;
 import java.io.IOException;
 import java.util.Optional;
 
+import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,6 +41,8 @@ import eu.solven.cleanthat.code_provider.github.event.IGitWebhookHandlerFactory;
 import eu.solven.cleanthat.code_provider.github.event.pojo.WebhookRelevancyResult;
 import eu.solven.cleanthat.codeprovider.git.GitRepoBranchSha1;
 import eu.solven.cleanthat.codeprovider.git.HeadAndOptionalBase;
+import eu.solven.cleanthat.lambda.coalescing.IEventCoalescer;
+import eu.solven.cleanthat.lambda.coalescing.InMemoryEventCoalescer;
 import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
 
 @RunWith(SpringRunner.class)
@@ -63,6 +66,8 @@ public class TestCheckConfigWebhooksLambdaFunction {
 		result.setSdkHttpMetadata(httpMetadata);
 	}
 
+	final InMemoryEventCoalescer eventCoalescer = new InMemoryEventCoalescer();
+
 	@Test
 	public void testPersistInDynamoDb() {
 		CheckConfigWebhooksLambdaFunction function = new CheckConfigWebhooksLambdaFunction() {
@@ -70,18 +75,35 @@ public class TestCheckConfigWebhooksLambdaFunction {
 			public AmazonDynamoDB makeDynamoDbClient() {
 				return dynamoDb;
 			}
+
+			@Override
+			public IEventCoalescer makeEventCoalescer() {
+				return eventCoalescer;
+			}
 		};
 		function.setApplicationContext(appContext);
 
 		IWebhookEvent input = Mockito.mock(IWebhookEvent.class);
 
+		// A previous push, from someBeforeSha1 to previousSha1, has been registered
+		var previousBase =
+				new GitRepoBranchSha1("someUser/someRepoName", "refs/heads/someBranchName", "someBeforeSha1");
+		var previousHead = new GitRepoBranchSha1("someUser/someRepoName", "refs/heads/someBranchName", "previousSha1");
+		eventCoalescer.registerHead(previousHead, Optional.of(previousBase));
+
+		// This push follows the previous push
 		var head = new GitRepoBranchSha1("someUser/someRepoName", "refs/heads/someBranchName", "someSha1");
+		var base = previousHead;
 		Mockito.when(webhookHandler
 				.filterWebhookEventTargetRelevantBranch(appContext.getBean(ICodeCleanerFactory.class), input))
-				.thenReturn(WebhookRelevancyResult.relevant(new HeadAndOptionalBase(head, Optional.empty())));
+				.thenReturn(WebhookRelevancyResult.relevant(new HeadAndOptionalBase(head, Optional.of(base))));
 
 		function.unsafeProcessOneEvent(input);
 
 		Mockito.verify(dynamoDb).putItem(Mockito.any(PutItemRequest.class));
+
+		// The head is registered as the latest head of its ref, covering the previous push
+		Assertions.assertThat(eventCoalescer.optSupersedingSha(previousHead)).contains("someSha1");
+		Assertions.assertThat(eventCoalescer.optCoveredBaseSha(head)).contains("someBeforeSha1");
 	}
 }
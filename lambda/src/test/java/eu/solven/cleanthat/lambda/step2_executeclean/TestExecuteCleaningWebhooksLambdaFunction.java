@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda.step2_executeclean;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import eu.solven.cleanthat.code_provider.github.event.CompositeCodeCleanerFactory;
+import eu.solven.cleanthat.code_provider.github.event.IGitWebhookHandler;
+import eu.solven.cleanthat.code_provider.github.event.IGitWebhookHandlerFactory;
+import eu.solven.cleanthat.code_provider.github.event.pojo.CleanThatWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.GithubWebhookEvent;
+import eu.solven.cleanthat.code_provider.github.event.pojo.WebhookRelevancyResult;
+import eu.solven.cleanthat.codeprovider.git.GitRepoBranchSha1;
+import eu.solven.cleanthat.lambda.coalescing.IEventCoalescer;
+import eu.solven.cleanthat.lambda.coalescing.InMemoryEventCoalescer;
+import eu.solven.cleanthat.lambda.step0_checkwebhook.IWebhookEvent;
+
+@RunWith(SpringRunner.class)
+@MockBean({ IGitWebhookHandlerFactory.class, CompositeCodeCleanerFactory.class })
+public class TestExecuteCleaningWebhooksLambdaFunction {
+
+	final InMemoryEventCoalescer eventCoalescer = new InMemoryEventCoalescer();
+
+	@Autowired
+	ApplicationContext appContext;
+
+	final String someRepo = "someUser/someRepoName";
+	final String someRef = "refs/heads/someBranch";
+
+	private ExecuteCleaningWebhooksLambdaFunction makeFunction() {
+		ExecuteCleaningWebhooksLambdaFunction function = new ExecuteCleaningWebhooksLambdaFunction() {
+			@Override
+			public IEventCoalescer makeEventCoalescer() {
+				return eventCoalescer;
+			}
+		};
+		function.setApplicationContext(appContext);
+		return function;
+	}
+
+	// Registers a push, as done by CheckConfigWebhooksLambdaFunction
+	private IWebhookEvent registerPush(String beforeSha, String afterSha) {
+		eventCoalescer.registerHead(new GitRepoBranchSha1(someRepo, someRef, afterSha),
+				Optional.of(new GitRepoBranchSha1(someRepo, someRef, beforeSha)));
+
+		Map<String, ?> githubBody = Map.of("ref",
+				someRef,
+				"before",
+				beforeSha,
+				"after",
+				afterSha,
+				"created",
+				false,
+				"forced",
+				false);
+		Map<String, ?> body = Map.of(GithubWebhookEvent.KEY_HEADERS,
+				Map.of(),
+				GithubWebhookEvent.KEY_BODY,
+				githubBody,
+				WebhookRelevancyResult.KEY_HEAD_TO_CLEAN,
+				Map.of("repoFullName", someRepo, "ref", someRef, "sha", afterSha));
+		return new CleanThatWebhookEvent(Map.of(), body);
+	}
+
+	@Test
+	public void testSkipSupersededHead() throws Exception {
+		var function = makeFunction();
+
+		var oldEvent = registerPush("someSha0", "oldSha1");
+		registerPush("oldSha1", "newSha1");
+
+		Map<String, ?> output = function.unsafeProcessOneEvent(oldEvent);
+
+		Assertions.assertThat(output.get("supersedingSha")).isEqualTo("newSha1");
+
+		// We did not even connect to Github
+		Mockito.verify(appContext.getBean(IGitWebhookHandlerFactory.class), Mockito.never()).makeWithFreshAuth();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testTwoPushes_differentFiles() throws Exception {
+		IGitWebhookHandler webhookHandler = Mockito.mock(IGitWebhookHandler.class);
+		Mockito.when(appContext.getBean(IGitWebhookHandlerFactory.class).makeWithFreshAuth())
+				.thenReturn(webhookHandler);
+
+		var function = makeFunction();
+
+		// The first push modifies `A.java`, the second push modifies `B.java`
+		var firstPush = registerPush("someSha0", "someSha1");
+		var secondPush = registerPush("someSha1", "someSha2");
+
+		function.unsafeProcessOneEvent(firstPush);
+		function.unsafeProcessOneEvent(secondPush);
+
+		// Only the second push is cleaned, but from the base of the first push: `A.java` is cleaned too
+		var captor = ArgumentCaptor.forClass(IWebhookEvent.class);
+		Mockito.verify(webhookHandler).doExecuteClean(Mockito.any(), captor.capture());
+
+		Map<String, Object> cleanedGithubBody =
+				(Map<String, Object>) GithubWebhookEvent.fromCleanThatEvent(captor.getValue()).getBody();
+		Assertions.assertThat(cleanedGithubBody)
+				.containsEntry("before", "someSha0")
+				.containsEntry("after", "someSha2")
+				.containsEntry("forced", false);
+	}
+}
@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
@@ -97,7 +98,8 @@ public class OpenrewriteRefactorer extends AAstRefactorer<SourceFile, JavaParser
 				javaParser.parseInputs(Collections.singleton(input), relativeTo, ctx).collect(Collectors.toList());
 
 		if (refFirstError.get() != null) {
-			LOGGER.warn("Issue while parsing the input", refFirstError.get());
+			// Not a WARN, as the callers report the unparseable input (or the invalid mutated code) with its context
+			LOGGER.debug("Issue while parsing the input", refFirstError.get());
 			return Optional.empty();
 		} else if (cus.isEmpty()) {
 			return Optional.empty();
@@ -107,14 +109,20 @@ public class OpenrewriteRefactorer extends AAstRefactorer<SourceFile, JavaParser
 		}
 	}
 
+	// OpenRewrite walks the AST through its own visitors: each recipe walks the AST independently
 	@Override
-	protected String toString(Result result) {
-		return result.getAfter().printAll();
+	protected boolean isFusable(OpenrewriteMutator mutator) {
+		return false;
 	}
 
 	@Override
-	protected boolean isValidResultString(JavaParser parser, String resultAsString) {
-		return parseSourceCode(parser, resultAsString).isPresent();
+	protected OptionalInt walkAstFused(SourceFile ast, List<OpenrewriteMutator> mutators) {
+		throw new IllegalStateException("OpenRewrite mutators are not fusable");
+	}
+
+	@Override
+	protected String toString(Result result) {
+		return result.getAfter().printAll();
 	}
 
 }
@@ -61,6 +61,12 @@ public class OpenrewriteFormattersFactory extends ASourceCodeFormatterFactory {
 		return Arrays.asList(new OpenrewriteEngineStep());
 	}
 
+	// The steps are configured only through the engine properties
+	@Override
+	public boolean isRepositoryIndependent() {
+		return true;
+	}
+
 	@SuppressWarnings("PMD.TooFewBranchesForASwitchStatement")
 	@Override
 	public ILintFixer makeLintFixer(CleanthatSession cleanthatSession,
@@ -17,8 +17,11 @@ package eu.solven.cleanthat.engine.java.refactorer;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -102,38 +105,187 @@ public abstract class AAstRefactorer<AST, P, R, M extends IWalkingMutator<AST, R
 
 		var path = pathAndContent.getPath();
 
+		// Consecutive fusable mutators are walked together, in order to walk the AST only once for all of them
+		List<M> fusableMutators = new ArrayList<>();
+
 		// TODO What if mutators are applied in order `A->B` but `A` could give good results after `B` being applied?
 		getRawMutators().forEach(ct -> {
-			int maxNbApply;
-			if (ct instanceof IReApplyUntilNoop) {
-				// Prevent any infinite loop
-				maxNbApply = MAX_REAPPLY;
+			if (isFusable(ct)) {
+				fusableMutators.add(ct);
 			} else {
-				maxNbApply = 1;
+				applyFusedMutators(fusableMutators,
+						parser,
+						refCleanCode,
+						refCompilationUnit,
+						firstMutator,
+						inputIsBroken,
+						path);
+				fusableMutators.clear();
+
+				applyMutatorUntilNoop(ct,
+						parser,
+						refCleanCode,
+						refCompilationUnit,
+						firstMutator,
+						inputIsBroken,
+						path);
+			}
+		});
+		applyFusedMutators(fusableMutators,
+				parser,
+				refCleanCode,
+				refCompilationUnit,
+				firstMutator,
+				inputIsBroken,
+				path);
+
+		return refCleanCode.get();
+	}
+
+	private void applyMutatorUntilNoop(M ct,
+			P parser,
+			AtomicReference<String> refCleanCode,
+			AtomicReference<AST> refCompilationUnit,
+			AtomicBoolean firstMutator,
+			AtomicBoolean inputIsBroken,
+			Path path) {
+		int maxNbApply;
+		if (ct instanceof IReApplyUntilNoop) {
+			// Prevent any infinite loop
+			maxNbApply = MAX_REAPPLY;
+		} else {
+			maxNbApply = 1;
+		}
+
+		AstRefactorerInstance<AST, P, R> instance = new AstRefactorerInstance<AST, P, R>(this,
+				parser,
+				ct,
+				refCompilationUnit,
+				firstMutator,
+				inputIsBroken);
+
+		for (var i = 0; i < maxNbApply; i++) {
+			boolean appliedWithChange =
+					instance.applyOneMutator(refCleanCode, refCompilationUnit, firstMutator, inputIsBroken, path);
+			if (appliedWithChange) {
+				LOGGER.debug("Effective change after iteration={}", i);
+			} else {
+				LOGGER.debug("No more change after iteration={}", i);
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Walk the AST once for a sequence of fusable mutators. As long as no mutator changes the AST, this is equivalent to
+	 * walking the AST once per mutator. On the first change, we fallback on the per-mutator walk up to the mutating
+	 * mutator (as it is the only way to preserve the mutators ordering), and then try again fusing the following
+	 * mutators.
+	 */
+	private void applyFusedMutators(List<M> mutators,
+			P parser,
+			AtomicReference<String> refCleanCode,
+			AtomicReference<AST> refCompilationUnit,
+			AtomicBoolean firstMutator,
+			AtomicBoolean inputIsBroken,
+			Path path) {
+		var nextIndex = 0;
+
+		while (nextIndex < mutators.size()) {
+			if (inputIsBroken.get()) {
+				LOGGER.trace("We skip {} as the input is broken", mutators);
+				return;
+			} else if (nextIndex == mutators.size() - 1) {
+				// A single mutator: there is nothing to fuse
+				applyMutatorUntilNoop(mutators.get(nextIndex),
+						parser,
+						refCleanCode,
+						refCompilationUnit,
+						firstMutator,
+						inputIsBroken,
+						path);
+				return;
 			}
 
-			AstRefactorerInstance<AST, P, R> instance = new AstRefactorerInstance<AST, P, R>(this,
+			AstRefactorerInstance.parseCompilationUnit(this,
 					parser,
-					ct,
 					refCompilationUnit,
 					firstMutator,
-					inputIsBroken);
+					inputIsBroken,
+					refCleanCode.get(),
+					path);
+			var compilationUnit = refCompilationUnit.get();
+			if (compilationUnit == null) {
+				// For any reason, we failed parsing the compilationUnit: do not apply the mutators
+				return;
+			}
 
-			for (var i = 0; i < maxNbApply; i++) {
-				boolean appliedWithChange =
-						instance.applyOneMutator(refCleanCode, refCompilationUnit, firstMutator, inputIsBroken, path);
-				if (appliedWithChange) {
-					LOGGER.debug("Effective change after iteration={}", i);
-				} else {
-					LOGGER.debug("No more change after iteration={}", i);
-					break;
-				}
+			List<M> remainingMutators = mutators.subList(nextIndex, mutators.size());
+
+			OptionalInt optMutatingIndex;
+			try {
+				optMutatingIndex = walkAstFused(compilationUnit, remainingMutators);
+			} catch (RuntimeException | StackOverflowError e) {
+				// StackOverflowError may come from Javaparser
+				// e.g. https://github.com/javaparser/javaparser/issues/3940
+				throw new IllegalArgumentException("Issue with mutators: " + remainingMutators, e);
 			}
-		});
-		return refCleanCode.get();
+
+			if (optMutatingIndex.isEmpty()) {
+				LOGGER.debug("{} mutators walked in a single pass with no change over {}",
+						remainingMutators.size(),
+						path);
+				return;
+			}
+
+			// The AST has been mutated while previous mutators did not walk the whole AST: the AST is discarded, and
+			// we fallback on the per-mutator walk up to the mutating one
+			refCompilationUnit.set(null);
+
+			var mutatingIndex = nextIndex + optMutatingIndex.getAsInt();
+			LOGGER.debug("Fallback on per-mutator walk as {} mutated {}", mutators.get(mutatingIndex), path);
+			for (var i = nextIndex; i <= mutatingIndex; i++) {
+				applyMutatorUntilNoop(mutators.get(i),
+						parser,
+						refCleanCode,
+						refCompilationUnit,
+						firstMutator,
+						inputIsBroken,
+						path);
+			}
+			nextIndex = mutatingIndex + 1;
+		}
 	}
 
-	protected abstract boolean isValidResultString(P parser, String resultAsString);
+	/**
+	 * 
+	 * @param mutator
+	 * @return true if this mutator can be walked in a single pass with other fusable mutators, through
+	 *         {@link #walkAstFused(Object, List)}
+	 */
+	protected abstract boolean isFusable(M mutator);
+
+	/**
+	 * Walk the AST once, submitting each node to each mutator, by order. The walk stops on the first effective change,
+	 * as following mutators would have seen an AST including this change.
+	 * 
+	 * @param ast
+	 * @param mutators
+	 *            some mutators, all validating {@link #isFusable(IWalkingMutator)}
+	 * @return the index of the first mutator which mutated the AST, or empty if no mutator mutated the AST.
+	 */
+	protected abstract OptionalInt walkAstFused(AST ast, List<M> mutators);
+
+	/**
+	 * 
+	 * @param parser
+	 * @param resultAsString
+	 * @return the AST of given mutated code, or empty if this code is not valid. This AST is used as input for the
+	 *         following mutators, which saves a parsing.
+	 */
+	protected Optional<AST> parseValidResultString(P parser, String resultAsString) {
+		return parseSourceCode(parser, resultAsString);
+	}
 
 	public static List<IMutator> filterRules(IEngineProperties engineProperties, JavaRefactorerProperties properties) {
 		var languageLevel = engineProperties.getEngineVersion();
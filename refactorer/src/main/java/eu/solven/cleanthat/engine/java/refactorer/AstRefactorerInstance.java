@@ -67,7 +67,13 @@ class AstRefactorerInstance<AST, P, R> {
 		}
 
 		LOGGER.debug("Applying {}", mutator);
-		parseCompilationUnit(refCompilationUnit, firstMutator, inputIsBroken, refCleanCode.get(), path);
+		parseCompilationUnit(astRefactorer,
+				parser,
+				refCompilationUnit,
+				firstMutator,
+				inputIsBroken,
+				refCleanCode.get(),
+				path);
 		return applyMutator(refCleanCode, refCompilationUnit, path, mutator);
 	}
 
@@ -100,7 +106,8 @@ class AstRefactorerInstance<AST, P, R> {
 
 			// One relevant change: building source-code from the AST
 			var resultAsString = astRefactorer.toString(walkNodeResult.get());
-			if (astRefactorer.isValidResultString(parser, resultAsString)) {
+			Optional<AST> optValidResult = astRefactorer.parseValidResultString(parser, resultAsString);
+			if (optValidResult.isPresent()) {
 				if (refCleanCode.get().equals(resultAsString)) {
 
 					appliedWithChange = false;
@@ -108,13 +115,17 @@ class AstRefactorerInstance<AST, P, R> {
 					refCleanCode.set(resultAsString);
 					appliedWithChange = true;
 				}
+
+				// The mutated compilationUnit is discarded, as it may lead to issues determining some types. The AST
+				// parsed for validation is a fresh AST for the result: it is the input of the next mutator.
+				optCompilationUnit.set(optValidResult.get());
 			} else {
 				LOGGER.warn("{} generated invalid code over {}", mutator, path);
 				appliedWithChange = false;
-			}
 
-			// Discard cache. It may be useful to prevent issues determining some types in mutated compilationUnits
-			optCompilationUnit.set(null);
+				// Discard cache, as the mutated compilationUnit does not match the clean code anymore
+				optCompilationUnit.set(null);
+			}
 		} else {
 			appliedWithChange = false;
 		}
@@ -122,7 +133,9 @@ class AstRefactorerInstance<AST, P, R> {
 		return appliedWithChange;
 	}
 
-	private void parseCompilationUnit(AtomicReference<AST> optCompilationUnit,
+	static <AST, P> void parseCompilationUnit(AAstRefactorer<AST, P, ?, ?> astRefactorer,
+			P parser,
+			AtomicReference<AST> optCompilationUnit,
 			AtomicBoolean firstMutator,
 			AtomicBoolean inputIsBroken,
 			String refCleanCode,
@@ -20,6 +20,7 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -47,6 +48,7 @@ public class TestAAstRefactorer {
 	final IWalkingMutator<String, String> otherValidMutator = Mockito.mock(IWalkingMutator.class);
 
 	final AtomicInteger nbFailedParsing = new AtomicInteger();
+	final AtomicInteger nbFusedWalks = new AtomicInteger();
 
 	@Test
 	public void testRejectInvalidTransformedCode_validValid() throws IOException {
@@ -107,6 +109,85 @@ public class TestAAstRefactorer {
 		Assertions.assertThat(nbFailedParsing).hasValue(1);
 	}
 
+	@Test
+	public void testFusedWalk_noChange() throws IOException {
+		List<IWalkingMutator<String, String>> mutators = Arrays.asList(someValidMutator, otherValidMutator);
+		AAstRefactorer<String, String, String, IWalkingMutator<String, String>> refactorer =
+				makeFusingRefactorer(mutators, OptionalInt.empty());
+
+		var outputCode = refactorer.applyTransformers(new PathAndContent(Paths.get("anything"), inputJavaCode));
+
+		Assertions.assertThat(outputCode).isEqualTo(inputJavaCode);
+
+		// The fused walk reported no change: there is no need for a per-mutator walk
+		Mockito.verify(someValidMutator, Mockito.never()).walkAst(Mockito.anyString());
+		Mockito.verify(otherValidMutator, Mockito.never()).walkAst(Mockito.anyString());
+		Assertions.assertThat(nbFusedWalks).hasValue(1);
+	}
+
+	@Test
+	public void testFusedWalk_fallbackOnChange() throws IOException {
+		List<IWalkingMutator<String, String>> mutators =
+				Arrays.asList(someValidMutator, someInvalidMutator, otherValidMutator);
+		// The second mutator mutated the AST in the fused walk
+		AAstRefactorer<String, String, String, IWalkingMutator<String, String>> refactorer =
+				makeFusingRefactorer(mutators, OptionalInt.of(1));
+
+		Mockito.when(someValidMutator.walkAst(inputJavaCode)).thenReturn(Optional.of(someResultAsString));
+		Mockito.when(someInvalidMutator.walkAst(someResultAsString)).thenReturn(Optional.of(someInvalidResultAsString));
+		Mockito.when(otherValidMutator.walkAst(someResultAsString)).thenReturn(Optional.of(otherResultAsString));
+
+		var outputCode = refactorer.applyTransformers(new PathAndContent(Paths.get("anything"), inputJavaCode));
+
+		// The mutators up to the mutating one are walked one by one
+		Mockito.verify(someValidMutator).walkAst(inputJavaCode);
+		Mockito.verify(someInvalidMutator).walkAst(someResultAsString);
+		// The last mutator is alone after the fallback: it is walked alone
+		Assertions.assertThat(outputCode).isEqualTo(otherResultAsString);
+		Assertions.assertThat(nbFusedWalks).hasValue(1);
+	}
+
+	private AAstRefactorer<String, String, String, IWalkingMutator<String, String>> makeFusingRefactorer(
+			List<IWalkingMutator<String, String>> mutators,
+			OptionalInt fusedResult) {
+		return new AAstRefactorer<String, String, String, IWalkingMutator<String, String>>(mutators) {
+
+			@Override
+			public String getId() {
+				return "mockito";
+			}
+
+			@Override
+			protected String makeAstParser() {
+				return someParser;
+			}
+
+			@Override
+			protected Optional<String> parseSourceCode(String parser, String sourceCode) {
+				if (someInvalidResultAsString.equals(sourceCode)) {
+					return Optional.empty();
+				}
+				return Optional.of(sourceCode);
+			}
+
+			@Override
+			protected String toString(String walkResult) {
+				return walkResult;
+			}
+
+			@Override
+			protected boolean isFusable(IWalkingMutator<String, String> mutator) {
+				return true;
+			}
+
+			@Override
+			protected OptionalInt walkAstFused(String ast, List<IWalkingMutator<String, String>> mutators) {
+				nbFusedWalks.incrementAndGet();
+				return fusedResult;
+			}
+		};
+	}
+
 	private AAstRefactorer<String, String, String, IWalkingMutator<String, String>> makeRefactorer(
 			List<IWalkingMutator<String, String>> mutators) {
 		AAstRefactorer<String, String, String, IWalkingMutator<String, String>> refactorer =
@@ -143,14 +224,13 @@ public class TestAAstRefactorer {
 					}
 
 					@Override
-					protected boolean isValidResultString(String parser, String resultAsString) {
-						boolean isValid = Set.of(someResultAsString, otherResultAsString).contains(resultAsString);
-
-						if (!isValid) {
-							nbFailedParsing.incrementAndGet();
-						}
+					protected boolean isFusable(IWalkingMutator<String, String> mutator) {
+						return false;
+					}
 
-						return isValid;
+					@Override
+					protected OptionalInt walkAstFused(String ast, List<IWalkingMutator<String, String>> mutators) {
+						throw new IllegalStateException("No mutator is fusable");
 					}
 				};
 		return refactorer;
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Benoit Lacelle - SOLVEN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package eu.solven.cleanthat.lambda;
+
+import java.util.Map;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+
+import eu.solven.cleanthat.formatter.CleanthatWarmup;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A training run, typically to record an AppCDS archive (see the `appcds` profile): it starts the same context as
+ * other applications, warms-up the engines over a synthetic repository (see {@link CleanthatWarmup}), then exits.
+ * 
+ * @author Benoit Lacelle
+ *
+ */
+@Slf4j
+public class CleanThatWarmupApplication extends ACleanThatXxxApplication {
+
+	public static void main(String[] args) {
+		var springApp = new SpringApplication(CleanThatWarmupApplication.class);
+
+		springApp.setWebApplicationType(WebApplicationType.NONE);
+		// The warmup is done while starting the context
+		springApp.setDefaultProperties(Map.of(CleanthatWarmup.KEY_WARMUP_ENABLED, "true"));
+
+		try (var appContext = springApp.run(args)) {
+			LOGGER.info("The warmup is done: closing {}", appContext);
+		}
+	}
+}
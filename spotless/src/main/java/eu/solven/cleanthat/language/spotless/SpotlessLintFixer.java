@@ -16,15 +16,21 @@
 package eu.solven.cleanthat.language.spotless;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import eu.solven.cleanthat.formatter.ILintFixer;
+import eu.solven.cleanthat.formatter.ILintFixerWithCleanCache;
 import eu.solven.cleanthat.formatter.ILintFixerWithId;
 import eu.solven.cleanthat.formatter.ILintFixerWithPath;
 import eu.solven.cleanthat.formatter.PathAndContent;
 import eu.solven.cleanthat.spotless.EnrichedFormatter;
 import eu.solven.cleanthat.spotless.SpotlessSession;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * {@link ILintFixer} for Spotless engine
@@ -32,11 +38,16 @@ import eu.solven.cleanthat.spotless.SpotlessSession;
  * @author Benoit Lacelle
  *
  */
-public class SpotlessLintFixer implements ILintFixerWithId, ILintFixerWithPath, AutoCloseable {
+@Slf4j
+public class SpotlessLintFixer
+		implements ILintFixerWithId, ILintFixerWithPath, ILintFixerWithCleanCache, AutoCloseable {
 
 	final SpotlessSession spotlessSession;
 	final List<EnrichedFormatter> formatters;
 
+	// Routes each file extension to the formatters which may accept it, as most formatters accepts a few extensions
+	final Map<String, List<EnrichedFormatter>> extensionToFormatters = new ConcurrentHashMap<>();
+
 	public SpotlessLintFixer(SpotlessSession spotlessSession, List<EnrichedFormatter> formatters) {
 		this.spotlessSession = spotlessSession;
 		this.formatters = formatters;
@@ -46,9 +57,8 @@ public class SpotlessLintFixer implements ILintFixerWithId, ILintFixerWithPath,
 	public String doFormat(PathAndContent pathAndContent) throws IOException {
 		AtomicReference<PathAndContent> output = new AtomicReference<>(pathAndContent);
 
-		formatters.stream().forEach(f -> {
-
-			var path = pathAndContent.getPath();
+		var path = pathAndContent.getPath();
+		getCandidateFormatters(path).forEach(f -> {
 			if (spotlessSession.acceptPath(f, path)) {
 				String spotlessContent;
 				try {
@@ -63,6 +73,21 @@ public class SpotlessLintFixer implements ILintFixerWithId, ILintFixerWithPath,
 		return output.get().getContent();
 	}
 
+	@Override
+	public void skippedAsCleanCache(PathAndContent pathAndContent) {
+		var path = pathAndContent.getPath();
+		getCandidateFormatters(path).stream()
+				.filter(f -> spotlessSession.acceptPath(f, path))
+				.forEach(f -> spotlessSession.getFilesTracker().skippedAsCleanCache());
+	}
+
+	protected List<EnrichedFormatter> getCandidateFormatters(Path path) {
+		return extensionToFormatters.computeIfAbsent(SpotlessSession.getExtension(path),
+				extension -> formatters.stream()
+						.filter(f -> spotlessSession.mayAcceptExtension(f, extension))
+						.collect(Collectors.toList()));
+	}
+
 	@Override
 	public String getId() {
 		return CleanthatSpotlessStepParametersProperties.ENGINE_ID;
@@ -75,6 +100,12 @@ public class SpotlessLintFixer implements ILintFixerWithId, ILintFixerWithPath,
 
 	@Override
 	public void close() {
+		var filesTracker = spotlessSession.getFilesTracker();
+		LOGGER.info("Spotless files: {} skipped as known clean, {} already clean, {} cleaned",
+				filesTracker.getSkippedAsCleanCache(),
+				filesTracker.getCheckedButAlreadyClean(),
+				filesTracker.getCleaned());
+
 		formatters.forEach(ef -> ef.getFormatter().close());
 	}
 
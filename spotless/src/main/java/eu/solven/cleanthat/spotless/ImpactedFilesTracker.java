@@ -15,6 +15,8 @@
  */
 package eu.solven.cleanthat.spotless;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Tracks the number of processed files, typically by a single Formatter for a whole repository
  * 
@@ -23,38 +25,39 @@ package eu.solven.cleanthat.spotless;
 // similar with
 // https://github.com/diffplug/spotless/blob/main/plugin-maven/src/main/java/com/diffplug/spotless/maven/ImpactedFilesTracker.java
 public class ImpactedFilesTracker {
-	protected int nbskippedAsCleanCache = 0;
-	protected int nbCheckedButAlreadyClean = 0;
-	protected int nbCleaned = 0;
+	// Files are processed concurrently
+	protected final AtomicInteger nbskippedAsCleanCache = new AtomicInteger();
+	protected final AtomicInteger nbCheckedButAlreadyClean = new AtomicInteger();
+	protected final AtomicInteger nbCleaned = new AtomicInteger();
 
 	/**
 	 * Some cache mechanism may indicate some content is clean, without having to execute the cleaning process
 	 */
 	public void skippedAsCleanCache() {
-		nbskippedAsCleanCache++;
+		nbskippedAsCleanCache.incrementAndGet();
 	}
 
 	public int getSkippedAsCleanCache() {
-		return nbskippedAsCleanCache;
+		return nbskippedAsCleanCache.get();
 	}
 
 	public void checkedButAlreadyClean() {
-		nbCheckedButAlreadyClean++;
+		nbCheckedButAlreadyClean.incrementAndGet();
 	}
 
 	public int getCheckedButAlreadyClean() {
-		return nbCheckedButAlreadyClean;
+		return nbCheckedButAlreadyClean.get();
 	}
 
 	public void cleaned() {
-		nbCleaned++;
+		nbCleaned.incrementAndGet();
 	}
 
 	public int getCleaned() {
-		return nbCleaned;
+		return nbCleaned.get();
 	}
 
 	public int getTotal() {
-		return nbskippedAsCleanCache + nbCheckedButAlreadyClean + nbCleaned;
+		return nbskippedAsCleanCache.get() + nbCheckedButAlreadyClean.get() + nbCleaned.get();
 	}
 }
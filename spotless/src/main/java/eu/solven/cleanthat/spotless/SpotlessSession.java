@@ -23,12 +23,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import org.codehaus.plexus.util.MatchPatterns;
+import org.codehaus.plexus.util.SelectorUtils;
 
 import com.diffplug.spotless.PaddedCell;
 
@@ -49,6 +52,27 @@ public class SpotlessSession {
 
 	final ImpactedFilesTracker filesTracker = new ImpactedFilesTracker();
 
+	// EnrichedFormatter relies on identity
+	final Map<EnrichedFormatter, CompiledPatterns> formatterToPatterns = new ConcurrentHashMap<>();
+
+	/**
+	 * The include and exclude patterns of a formatter, with the normalized file separators.
+	 */
+	protected static final class CompiledPatterns {
+		final MatchPatterns includePatterns;
+		final MatchPatterns excludePatterns;
+		// Empty if any extension may be accepted
+		final Optional<Set<String>> acceptedExtensions;
+
+		CompiledPatterns(MatchPatterns includePatterns,
+				MatchPatterns excludePatterns,
+				Optional<Set<String>> acceptedExtensions) {
+			this.includePatterns = includePatterns;
+			this.excludePatterns = excludePatterns;
+			this.acceptedExtensions = acceptedExtensions;
+		}
+	}
+
 	public ImpactedFilesTracker getFilesTracker() {
 		return filesTracker;
 	}
@@ -56,15 +80,12 @@ public class SpotlessSession {
 	public boolean acceptPath(EnrichedFormatter formatter, Path path) {
 		var rawPath = path.toString();
 
-		MatchPatterns includePatterns =
-				MatchPatterns.from(withNormalizedFileSeparators(getIncludes(formatter.formatterStepFactory)));
-		MatchPatterns excludePatterns =
-				MatchPatterns.from(withNormalizedFileSeparators(getExcludes(formatter.formatterStepFactory)));
+		var patterns = getPatterns(formatter);
 
-		if (!includePatterns.matches(rawPath, true)) {
+		if (!patterns.includePatterns.matches(rawPath, true)) {
 			LOGGER.debug("Discarded by include: {}", path);
 			return false;
-		} else if (excludePatterns.matches(rawPath, true)) {
+		} else if (patterns.excludePatterns.matches(rawPath, true)) {
 			LOGGER.debug("Discarded by exclude: {}", path);
 			return false;
 		} else {
@@ -72,6 +93,92 @@ public class SpotlessSession {
 		}
 	}
 
+	/**
+	 * 
+	 * @param formatter
+	 * @param extension
+	 *            a file extension, without the leading '.'. It is empty for files without extension.
+	 * @return false if no file with given extension can be accepted by given formatter. If true, the actual path has
+	 *         to be checked with {@link #acceptPath(EnrichedFormatter, Path)}.
+	 */
+	public boolean mayAcceptExtension(EnrichedFormatter formatter, String extension) {
+		var acceptedExtensions = getPatterns(formatter).acceptedExtensions;
+
+		return acceptedExtensions.isEmpty() || acceptedExtensions.get().contains(extension);
+	}
+
+	/**
+	 * 
+	 * @param path
+	 * @return the extension of given path, without the leading '.'. It is empty if the fileName has no '.'.
+	 */
+	public static String getExtension(Path path) {
+		var fileName = path.getFileName();
+		if (fileName == null) {
+			return "";
+		}
+		return getExtension(fileName.toString());
+	}
+
+	private static String getExtension(String fileName) {
+		var indexOfDot = fileName.lastIndexOf('.');
+		if (indexOfDot < 0) {
+			return "";
+		} else {
+			return fileName.substring(indexOfDot + 1);
+		}
+	}
+
+	// The patterns are compiled once per formatter, as they are checked for each file of the repository
+	protected CompiledPatterns getPatterns(EnrichedFormatter formatter) {
+		return formatterToPatterns.computeIfAbsent(formatter, f -> {
+			var includes = withNormalizedFileSeparators(getIncludes(f.formatterStepFactory));
+			var excludes = withNormalizedFileSeparators(getExcludes(f.formatterStepFactory));
+
+			return new CompiledPatterns(MatchPatterns.from(includes),
+					MatchPatterns.from(excludes),
+					computeAcceptedExtensions(includes));
+		});
+	}
+
+	/**
+	 * 
+	 * @param includes
+	 * @return the extensions which may be accepted by given includes. Empty if any extension may be accepted.
+	 */
+	protected Optional<Set<String>> computeAcceptedExtensions(Set<String> includes) {
+		Set<String> extensions = new HashSet<>();
+
+		for (String include : includes) {
+			if (include.startsWith(SelectorUtils.REGEX_HANDLER_PREFIX)
+					|| include.startsWith(SelectorUtils.ANT_HANDLER_PREFIX)) {
+				// Explicit handlers may be tricky: we do not try analyzing them
+				return Optional.empty();
+			}
+
+			var fileNamePattern = include.substring(include.lastIndexOf(File.separatorChar) + 1);
+			var extension = getExtension(fileNamePattern);
+			if (extension.isEmpty() && fileNamePattern.indexOf('.') < 0) {
+				if (hasWildcard(fileNamePattern)) {
+					// e.g. `src/**` or `*`
+					return Optional.empty();
+				}
+				// e.g. `README`
+			} else if (hasWildcard(extension)) {
+				// e.g. `*.ja?a`
+				return Optional.empty();
+			}
+
+			extensions.add(extension);
+		}
+
+		return Optional.of(extensions);
+	}
+
+	private static boolean hasWildcard(String pattern) {
+		return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0;
+	}
+
 	/**
 	 * 
 	 * @param pathAndContent
@@ -84,17 +191,8 @@ public class SpotlessSession {
 	public String doStuff(EnrichedFormatter formatter, PathAndContent pathAndContent) {
 		var path = pathAndContent.getPath();
 
-		var rawPath = path.toString();
-
-		MatchPatterns includePatterns =
-				MatchPatterns.from(withNormalizedFileSeparators(getIncludes(formatter.formatterStepFactory)));
-		MatchPatterns excludePatterns =
-				MatchPatterns.from(withNormalizedFileSeparators(getExcludes(formatter.formatterStepFactory)));
-
 		var rawBytes = pathAndContent.getContent();
-		if (!includePatterns.matches(rawPath, true)) {
-			return rawBytes;
-		} else if (excludePatterns.matches(rawPath, true)) {
+		if (!acceptPath(formatter, path)) {
 			return rawBytes;
 		}
 
@@ -195,8 +293,8 @@ public class SpotlessSession {
 	}
 
 	// com.diffplug.spotless.maven.AbstractSpotlessMojo#withNormalizedFileSeparators
-	private Iterable<String> withNormalizedFileSeparators(Iterable<String> patterns) {
-		return StreamSupport.stream(patterns.spliterator(), true)
+	private Set<String> withNormalizedFileSeparators(Set<String> patterns) {
+		return patterns.stream()
 				.map(pattern -> pattern.replace('/', File.separatorChar))
 				.map(pattern -> pattern.replace('\\', File.separatorChar))
 				.collect(Collectors.toSet());
@@ -17,6 +17,7 @@ package eu.solven.cleanthat.spotless;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.Set;
 
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
@@ -63,4 +64,21 @@ public class TestSpotlessSession {
 				.startsWith("/cleanthat_fake_root_for_spotless/")
 				.endsWith("/some/file");
 	}
+
+	@Test
+	public void testGetExtension() {
+		Assertions.assertThat(SpotlessSession.getExtension(Paths.get("src/main/java/Some.java"))).isEqualTo("java");
+		Assertions.assertThat(SpotlessSession.getExtension(Paths.get("some.dir/README"))).isEqualTo("");
+		Assertions.assertThat(SpotlessSession.getExtension(Paths.get(".gitignore"))).isEqualTo("gitignore");
+	}
+
+	@Test
+	public void testComputeAcceptedExtensions() {
+		Assertions.assertThat(ss.computeAcceptedExtensions(Set.of("src/main/java/**/*.java", "pom.xml", "README")))
+				.contains(Set.of("java", "xml", ""));
+
+		Assertions.assertThat(ss.computeAcceptedExtensions(Set.of("src/**/*.java", "src/**"))).isEmpty();
+		Assertions.assertThat(ss.computeAcceptedExtensions(Set.of("src/**/*.*"))).isEmpty();
+		Assertions.assertThat(ss.computeAcceptedExtensions(Set.of("%regex[.*\\.java]"))).isEmpty();
+	}
 }